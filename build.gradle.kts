@@ -96,7 +96,12 @@ tasks {
 
 spotless {
     java {
-        target(sourceSets.map { it.allJava }, fileTree("src/j2cl-test/java") { include("**/*.java") })
+        target(
+            sourceSets.map { it.allJava },
+            fileTree("src/j2cl-test/java") { include("**/*.java") },
+            fileTree("jvm/src") { include("**/*.java") },
+            fileTree("loadgen/src") { include("**/*.java") }
+        )
         googleJavaFormat(libs.versions.googleJavaFormat.get())
         licenseHeaderFile("LICENSE.header")
     }
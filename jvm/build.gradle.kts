@@ -0,0 +1,47 @@
+import net.ltgt.gradle.errorprone.errorprone
+
+plugins {
+    `java-library`
+    id("local.maven-publish")
+    // already on the classpath, with its version, from the root project
+    id("net.ltgt.errorprone")
+}
+
+dependencyLocking {
+    lockAllConfigurations()
+    lockMode.set(LockMode.STRICT)
+}
+
+group = "org.gwtproject.http"
+description = "A transport for gwt-http requests sent on the JVM, built on java.net.http.HttpClient"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    errorprone(libs.errorprone.core)
+
+    api(rootProject)
+    // for the signatures of the API of the root project
+    implementation(libs.elemental2.core)
+
+    testImplementation(libs.junit)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+}
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+    options.compilerArgs.addAll(arrayOf("-Werror", "-Xlint:all"))
+    options.release.set(11)
+    options.errorprone.disable("StringSplitter")
+}
+
+tasks {
+    javadoc {
+        (options as CoreJavadocOptions).addBooleanOption("Xdoclint:all,-missing", true)
+        (options as CoreJavadocOptions).addBooleanOption("html5", true)
+    }
+}
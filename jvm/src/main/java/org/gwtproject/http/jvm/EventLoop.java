@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.jvm;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.gwtproject.http.client.Scheduler;
+
+/**
+ * A single thread running tasks one at a time, in the order they are submitted, like the event loop
+ * of a browser. Requests must be sent, and are notified, from that thread.
+ *
+ * <p>The thread is a daemon thread: it doesn't keep the JVM from exiting.
+ */
+public final class EventLoop extends Scheduler implements Executor {
+
+  private final ScheduledThreadPoolExecutor executor;
+  private volatile Thread thread;
+
+  /** Creates an event loop, starting its thread. */
+  public EventLoop() {
+    executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            task -> {
+              Thread thread = new Thread(task, "gwt-http-event-loop");
+              thread.setDaemon(true);
+              this.thread = thread;
+              return thread;
+            });
+    // most request timeouts are canceled, don't keep them around until they're due
+    executor.setRemoveOnCancelPolicy(true);
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    // start the thread right away, so that isEventLoopThread() is reliable
+    executor.execute(() -> {});
+  }
+
+  /**
+   * Runs a task on the event loop, after the tasks already submitted.
+   *
+   * @param task the task to run
+   */
+  @Override
+  public void execute(Runnable task) {
+    executor.execute(task);
+  }
+
+  /** Returns true if the current thread is the thread of the event loop. */
+  public boolean isEventLoopThread() {
+    return Thread.currentThread() == thread;
+  }
+
+  @Override
+  public Timer schedule(Runnable task, int delayMillis) {
+    final ScheduledFuture<?> future = executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    return () -> future.cancel(false);
+  }
+
+  /**
+   * Stops the event loop once the tasks already submitted have run. Timers not due yet are dropped.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
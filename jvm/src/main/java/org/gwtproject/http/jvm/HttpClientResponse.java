@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.jvm;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.gwtproject.http.client.Header;
+import org.gwtproject.http.client.Response;
+
+/** A {@link Response} received by a {@link HttpClientTransport}. */
+final class HttpClientResponse extends Response {
+
+  private final HttpResponse<?> response;
+  private final String text;
+
+  /**
+   * Creates the response.
+   *
+   * @param response the response received by the client
+   * @param text the body of the response, or null if it was streamed
+   */
+  HttpClientResponse(HttpResponse<?> response, String text) {
+    this.response = response;
+    this.text = text;
+  }
+
+  @Override
+  public String getHeader(String header) {
+    if (header == null) {
+      throw new NullPointerException("header cannot be null");
+    }
+    if (header.trim().isEmpty()) {
+      throw new IllegalArgumentException("header cannot be empty");
+    }
+    List<String> values = response.headers().allValues(header);
+    // like XMLHttpRequest, combine the values of repeated headers
+    return values.isEmpty() ? null : String.join(", ", values);
+  }
+
+  @Override
+  public Header[] getHeaders() {
+    HttpHeaders headers = response.headers();
+    List<Header> parsedHeaders = new ArrayList<>();
+    for (Map.Entry<String, List<String>> header : headers.map().entrySet()) {
+      final String name = header.getKey();
+      final String value = String.join(", ", header.getValue());
+      parsedHeaders.add(
+          new Header() {
+            @Override
+            public String getName() {
+              return name;
+            }
+
+            @Override
+            public String getValue() {
+              return value;
+            }
+
+            @Override
+            public String toString() {
+              return name + " : " + value;
+            }
+          });
+    }
+    return parsedHeaders.toArray(new Header[0]);
+  }
+
+  @Override
+  public String getHeadersAsString() {
+    StringBuilder headers = new StringBuilder();
+    for (Header header : getHeaders()) {
+      headers.append(header.getName()).append(": ").append(header.getValue()).append("\r\n");
+    }
+    return headers.toString();
+  }
+
+  @Override
+  public int getStatusCode() {
+    return response.statusCode();
+  }
+
+  /** Returns an empty string: the client doesn't expose the reason phrase, if there's one. */
+  @Override
+  public String getStatusText() {
+    return "";
+  }
+
+  @Override
+  public String getText() {
+    return text;
+  }
+}
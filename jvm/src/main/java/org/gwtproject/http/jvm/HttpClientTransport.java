@@ -0,0 +1,411 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.jvm;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import org.gwtproject.http.client.Exchange;
+import org.gwtproject.http.client.RequestBuilder;
+import org.gwtproject.http.client.RequestException;
+import org.gwtproject.http.client.Transport;
+import org.gwtproject.http.client.TransportCallback;
+import org.gwtproject.http.client.TransportRequest;
+
+/**
+ * A {@link Transport} making calls with a <code>java.net.http.HttpClient</code>, for requests sent
+ * on the JVM. Calls are made asynchronously; the client reuses connections, and negotiates HTTP/2
+ * when the server supports it. Compared to a browser:
+ *
+ * <ul>
+ *   <li>URLs must be absolute;
+ *   <li>request bodies must be strings, and responses are only received as text (see {@link
+ *       RequestBuilder.ResponseType#TEXT});
+ *   <li>a user and password are sent upfront, with basic authentication;
+ *   <li>cookies are only sent if the client has a cookie handler, whether or not credentials are
+ *       included (see {@link RequestBuilder#setIncludeCredentials(boolean)});
+ *   <li>a {@link org.gwtproject.http.client.StreamingRequestCallback} is passed the body as it is
+ *       received, in constant memory: the body is not retained, so it is missing from the final
+ *       {@link org.gwtproject.http.client.Response};
+ *   <li>the status text of responses is always empty;
+ *   <li>there's no separate timeout for connecting: it counts towards the headers timeout (see
+ *       {@link RequestBuilder#setHeadersTimeoutMillis(int)}), unless the client has its own.
+ * </ul>
+ *
+ * <p>The transport notifies requests on the executor given at construction, which must run tasks
+ * one at a time on the thread the requests are sent from, such as an {@link EventLoop}.
+ *
+ * <p>Canceling a request cancels the future of its call, which aborts the call on JDK 16 and later.
+ * On JDK 11 to 15, canceling the future doesn't abort the call: the transport then also cancels its
+ * subscription to the response body, which closes the connection, or resets the HTTP/2 stream. A
+ * call canceled before its headers are received thus keeps going until they are, on those JDKs,
+ * though its outcome is ignored.
+ */
+public final class HttpClientTransport implements Transport {
+
+  /**
+   * The state of a call, only accessed from the callback executor but for the subscription to the
+   * body, which the client sets from its own threads.
+   */
+  private static final class HttpClientExchange implements Exchange {
+    private CompletableFuture<?> future;
+    private boolean done;
+    private volatile boolean aborted;
+    private Flow.Subscription subscription;
+
+    @Override
+    public boolean isPending() {
+      return !done && !aborted;
+    }
+
+    @Override
+    public void abort() {
+      if (isPending()) {
+        aborted = true;
+        // only aborts the call on JDK 16 and later
+        future.cancel(true);
+        cancelSubscription();
+      }
+    }
+
+    /** Keeps the subscription to the body, canceling it right away if the call was aborted. */
+    synchronized void setSubscription(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      if (aborted) {
+        subscription.cancel();
+      }
+    }
+
+    private synchronized void cancelSubscription() {
+      if (subscription != null) {
+        subscription.cancel();
+      }
+    }
+  }
+
+  /** Decodes the body as it is received, passing on text as soon as it is decoded. */
+  private final class StreamingSubscriber implements Flow.Subscriber<List<ByteBuffer>> {
+    private final HttpClientExchange exchange;
+    private final TransportCallback callback;
+    private final CharsetDecoder decoder;
+    private Flow.Subscription subscription;
+    private ByteBuffer remainder;
+
+    StreamingSubscriber(HttpClientExchange exchange, TransportCallback callback, Charset charset) {
+      this.exchange = exchange;
+      this.callback = callback;
+      this.decoder =
+          charset
+              .newDecoder()
+              .onMalformedInput(CodingErrorAction.REPLACE)
+              .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      exchange.setSubscription(subscription);
+      subscription.request(1);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+      StringBuilder chunk = new StringBuilder();
+      for (ByteBuffer buffer : buffers) {
+        decode(buffer, false, chunk);
+      }
+      // only ask for more once the callback is done with this piece
+      deliver(
+          exchange,
+          () -> {
+            if (chunk.length() > 0) {
+              callback.onChunk(chunk.toString());
+            }
+            subscription.request(1);
+          });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      // the outcome is reported when the response completes
+    }
+
+    @Override
+    public void onComplete() {
+      StringBuilder chunk = new StringBuilder();
+      decode(ByteBuffer.allocate(0), true, chunk);
+      if (chunk.length() > 0) {
+        deliver(exchange, () -> callback.onChunk(chunk.toString()));
+      }
+    }
+
+    private void decode(ByteBuffer buffer, boolean endOfInput, StringBuilder text) {
+      ByteBuffer in = buffer;
+      if (remainder != null) {
+        // the bytes of a character split across buffers
+        in = ByteBuffer.allocate(remainder.remaining() + buffer.remaining());
+        in.put(remainder).put(buffer).flip();
+        remainder = null;
+      }
+      CharBuffer out = CharBuffer.allocate((int) (in.remaining() * decoder.maxCharsPerByte()) + 1);
+      decoder.decode(in, out, endOfInput);
+      if (endOfInput) {
+        decoder.flush(out);
+      } else if (in.hasRemaining()) {
+        remainder = ByteBuffer.allocate(in.remaining()).put(in).flip();
+      }
+      text.append(out.flip());
+    }
+  }
+
+  /**
+   * Reports progress as the body is received, before passing it on to another subscriber, and hands
+   * the subscription to the exchange so that aborting it cancels the subscription.
+   */
+  private static final class ProgressSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+    private final HttpResponse.BodySubscriber<T> subscriber;
+    private final HttpClientExchange exchange;
+    private final Runnable onProgress;
+
+    ProgressSubscriber(
+        HttpResponse.BodySubscriber<T> subscriber,
+        HttpClientExchange exchange,
+        Runnable onProgress) {
+      this.subscriber = subscriber;
+      this.exchange = exchange;
+      this.onProgress = onProgress;
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+      return subscriber.getBody();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      subscriber.onSubscribe(subscription);
+      exchange.setSubscription(subscription);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+      onProgress.run();
+      subscriber.onNext(buffers);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      subscriber.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      subscriber.onComplete();
+    }
+  }
+
+  private final HttpClient client;
+  private final Executor callbackExecutor;
+
+  /**
+   * Creates a transport with a new client, following redirects like browsers do.
+   *
+   * @param eventLoop the event loop to notify requests on
+   */
+  public HttpClientTransport(EventLoop eventLoop) {
+    this(HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).build(), eventLoop);
+  }
+
+  /**
+   * Creates a transport.
+   *
+   * @param client the client making the calls, which can be shared with other transports
+   * @param callbackExecutor the executor to notify requests on, which must run tasks one at a time
+   *     on the thread the requests are sent from
+   * @throws NullPointerException if the client or the executor is null
+   */
+  public HttpClientTransport(HttpClient client, Executor callbackExecutor) {
+    if (client == null) {
+      throw new NullPointerException("client cannot be null");
+    }
+    if (callbackExecutor == null) {
+      throw new NullPointerException("callbackExecutor cannot be null");
+    }
+
+    this.client = client;
+    this.callbackExecutor = callbackExecutor;
+  }
+
+  @Override
+  public Exchange send(TransportRequest request, final TransportCallback callback)
+      throws RequestException {
+    if (request.getResponseType() != RequestBuilder.ResponseType.TEXT) {
+      throw new RequestException(
+          "Response type " + request.getResponseType() + " is not supported on the JVM");
+    }
+    Object requestData = request.getRequestData();
+    if (requestData != null && !(requestData instanceof String)) {
+      throw new RequestException("Only string request bodies are supported on the JVM");
+    }
+
+    final HttpClientExchange exchange = new HttpClientExchange();
+    HttpRequest httpRequest = createRequest(request, (String) requestData);
+    if (request.isStreaming()) {
+      CompletableFuture<HttpResponse<Void>> future =
+          client.sendAsync(
+              httpRequest,
+              responseInfo -> {
+                deliver(exchange, callback::onHeadersReceived);
+                return HttpResponse.BodySubscribers.fromSubscriber(
+                    new StreamingSubscriber(
+                        exchange, callback, getCharset(responseInfo.headers())));
+              });
+      exchange.future = future;
+      future.whenComplete(
+          (response, throwable) -> complete(exchange, callback, response, null, throwable));
+    } else {
+      CompletableFuture<HttpResponse<String>> future =
+          client.sendAsync(
+              httpRequest,
+              responseInfo -> {
+                deliver(exchange, callback::onHeadersReceived);
+                return new ProgressSubscriber<>(
+                    HttpResponse.BodySubscribers.ofString(getCharset(responseInfo.headers())),
+                    exchange,
+                    () -> deliver(exchange, callback::onProgress));
+              });
+      exchange.future = future;
+      future.whenComplete(
+          (response, throwable) ->
+              complete(
+                  exchange,
+                  callback,
+                  response,
+                  response == null ? null : response.body(),
+                  throwable));
+    }
+    return exchange;
+  }
+
+  /** Reports the outcome of a call. */
+  private void complete(
+      final HttpClientExchange exchange,
+      final TransportCallback callback,
+      final HttpResponse<?> response,
+      final String text,
+      Throwable throwable) {
+    if (throwable instanceof CompletionException && throwable.getCause() != null) {
+      throwable = throwable.getCause();
+    }
+    final Throwable failure = throwable;
+    deliver(
+        exchange,
+        () -> {
+          exchange.done = true;
+          if (failure != null) {
+            callback.onError(
+                new RequestException(
+                    failure.getMessage() != null ? failure.getMessage() : failure.toString(),
+                    failure));
+          } else {
+            callback.onResponse(new HttpClientResponse(response, text));
+          }
+        });
+  }
+
+  /** Runs a notification on the callback executor, unless the call is over by then. */
+  private void deliver(final HttpClientExchange exchange, final Runnable notification) {
+    callbackExecutor.execute(
+        () -> {
+          if (exchange.isPending()) {
+            notification.run();
+          }
+        });
+  }
+
+  private static HttpRequest createRequest(TransportRequest request, String requestData)
+      throws RequestException {
+    URI uri;
+    try {
+      uri = URI.create(request.getUrl());
+    } catch (IllegalArgumentException e) {
+      throw new RequestException(e.getMessage(), e);
+    }
+    if (!uri.isAbsolute()) {
+      throw new RequestException("Relative URLs are not supported on the JVM: " + uri);
+    }
+
+    String httpMethod = request.getHTTPMethod();
+    // like XMLHttpRequest, ignore the body of GET and HEAD requests
+    HttpRequest.BodyPublisher body =
+        requestData == null
+                || RequestBuilder.GET.toString().equals(httpMethod)
+                || RequestBuilder.HEAD.toString().equals(httpMethod)
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofString(requestData, StandardCharsets.UTF_8);
+
+    try {
+      HttpRequest.Builder builder = HttpRequest.newBuilder(uri).method(httpMethod, body);
+      for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+        builder.header(header.getKey(), header.getValue());
+      }
+      if (request.getUser() != null) {
+        String credentials =
+            request.getUser() + ":" + (request.getPassword() != null ? request.getPassword() : "");
+        builder.header(
+            "Authorization",
+            "Basic "
+                + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+      }
+      return builder.build();
+    } catch (IllegalArgumentException e) {
+      // e.g. an invalid method, or a restricted header
+      throw new RequestException(e.getMessage(), e);
+    }
+  }
+
+  /** Returns the charset of the body, as declared by the Content-Type, or UTF-8. */
+  private static Charset getCharset(HttpHeaders headers) {
+    String contentType = headers.firstValue("Content-Type").orElse("");
+    for (String parameter : contentType.split(";")) {
+      int equals = parameter.indexOf('=');
+      if (equals > 0 && parameter.substring(0, equals).trim().equalsIgnoreCase("charset")) {
+        try {
+          return Charset.forName(parameter.substring(equals + 1).trim().replace("\"", ""));
+        } catch (IllegalArgumentException e) {
+          break;
+        }
+      }
+    }
+    return StandardCharsets.UTF_8;
+  }
+}
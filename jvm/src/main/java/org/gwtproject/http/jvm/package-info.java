@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Runs {@link org.gwtproject.http.client.RequestBuilder} and the rest of the <code>
+ * org.gwtproject.http.client</code> package on the JVM.
+ *
+ * <p>Requests, their callbacks and their timers are not thread-safe: like in a browser, they must
+ * all be run from a single thread, an {@link EventLoop}, which must be set as the {@link
+ * org.gwtproject.http.client.Scheduler}. The {@link HttpClientTransport} makes the calls with
+ * <code>java.net.http.HttpClient</code>, and notifies the requests on the event loop.
+ *
+ * <pre>
+ * EventLoop eventLoop = new EventLoop();
+ * Scheduler.set(eventLoop);
+ * Transport transport = new HttpClientTransport(eventLoop);
+ * eventLoop.execute(() -&gt; {
+ *   RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, "https://example.com/");
+ *   builder.setTransport(transport);
+ *   builder.sendRequest(null, callback);
+ * });
+ * </pre>
+ */
+package org.gwtproject.http.jvm;
@@ -0,0 +1,410 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.jvm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gwtproject.http.client.CircuitBreaker;
+import org.gwtproject.http.client.CircuitOpenException;
+import org.gwtproject.http.client.HeadersTimeoutException;
+import org.gwtproject.http.client.IdleTimeoutException;
+import org.gwtproject.http.client.Request;
+import org.gwtproject.http.client.RequestBuilder;
+import org.gwtproject.http.client.RequestCallback;
+import org.gwtproject.http.client.RequestException;
+import org.gwtproject.http.client.RequestTimeoutException;
+import org.gwtproject.http.client.Response;
+import org.gwtproject.http.client.RetryPolicy;
+import org.gwtproject.http.client.Scheduler;
+import org.gwtproject.http.client.StreamingRequestCallback;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Test cases for the {@link HttpClientTransport} class. */
+public class HttpClientTransportTest {
+
+  private static final int STREAMING_CHUNKS = 5;
+
+  private HttpServer server;
+  private EventLoop eventLoop;
+  private HttpClientTransport transport;
+  private final CountDownLatch hang = new CountDownLatch(1);
+  private final CountDownLatch endlessStarted = new CountDownLatch(1);
+  private final CountDownLatch endlessDisconnected = new CountDownLatch(1);
+  private final AtomicInteger unavailableRequests = new AtomicInteger();
+
+  @Before
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/get",
+        exchange -> {
+          exchange.getResponseHeaders().add("X-Test", "a");
+          exchange.getResponseHeaders().add("X-Test", "b");
+          respond(exchange, "get");
+        });
+    server.createContext(
+        "/echo",
+        exchange -> {
+          String body;
+          try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+          }
+          respond(
+              exchange,
+              exchange.getRequestMethod()
+                  + " "
+                  + exchange.getRequestHeaders().getFirst("Content-Type")
+                  + " "
+                  + body);
+        });
+    server.createContext(
+        "/stream",
+        exchange -> {
+          exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=utf-8");
+          exchange.sendResponseHeaders(200, 0);
+          try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < STREAMING_CHUNKS; i++) {
+              out.write("\u00e9t\u00e9".getBytes(StandardCharsets.UTF_8));
+              out.flush();
+            }
+          }
+        });
+    server.createContext(
+        "/slow",
+        exchange -> {
+          exchange.sendResponseHeaders(200, 0);
+          try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < STREAMING_CHUNKS; i++) {
+              out.write("slow".getBytes(StandardCharsets.UTF_8));
+              out.flush();
+              sleep(100);
+            }
+          }
+        });
+    server.createContext(
+        "/stall",
+        exchange -> {
+          exchange.sendResponseHeaders(200, 0);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write("stall".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            awaitHang();
+          }
+        });
+    server.createContext(
+        "/endless",
+        exchange -> {
+          exchange.sendResponseHeaders(200, 0);
+          endlessStarted.countDown();
+          try (OutputStream out = exchange.getResponseBody()) {
+            while (true) {
+              out.write("endless".getBytes(StandardCharsets.UTF_8));
+              out.flush();
+              sleep(10);
+            }
+          } catch (IOException e) {
+            endlessDisconnected.countDown();
+          }
+        });
+    server.createContext(
+        "/hang",
+        exchange -> {
+          awaitHang();
+          respond(exchange, "late");
+        });
+    server.createContext(
+        "/unavailable",
+        exchange -> {
+          // the first two requests fail
+          if (unavailableRequests.incrementAndGet() <= 2) {
+            exchange.getResponseHeaders().add("Retry-After", "0");
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+          } else {
+            respond(exchange, "available");
+          }
+        });
+    server.start();
+
+    eventLoop = new EventLoop();
+    Scheduler.set(eventLoop);
+    transport = new HttpClientTransport(eventLoop);
+  }
+
+  @After
+  public void tearDown() {
+    hang.countDown();
+    server.stop(0);
+    eventLoop.shutdown();
+  }
+
+  @Test
+  public void testSend_GET() throws Exception {
+    Response response = send(newBuilder(RequestBuilder.GET, "/get"), null);
+    assertEquals(Response.SC_OK, response.getStatusCode());
+    assertEquals("get", response.getText());
+    assertEquals("a, b", response.getHeader("x-test"));
+    assertTrue(response.getHeadersAsString().contains("a, b\r\n"));
+  }
+
+  @Test
+  public void testSend_POST() throws Exception {
+    Response response = send(newBuilder(RequestBuilder.POST, "/echo"), "caf\u00e9");
+    assertEquals("POST text/plain; charset=utf-8 caf\u00e9", response.getText());
+  }
+
+  @Test
+  public void testSend_relativeUrl() throws Exception {
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, "/get");
+    builder.setTransport(transport);
+    CompletableFuture<Throwable> thrown = new CompletableFuture<>();
+    eventLoop.execute(
+        () -> {
+          try {
+            builder.sendRequest(null, newCallback(new CompletableFuture<>()));
+            thrown.complete(null);
+          } catch (Throwable e) {
+            thrown.complete(e);
+          }
+        });
+    assertTrue(thrown.get(5, TimeUnit.SECONDS) instanceof RequestException);
+  }
+
+  @Test
+  public void testSend_streaming() throws Exception {
+    final StringBuilder text = new StringBuilder();
+    final CompletableFuture<Response> result = new CompletableFuture<>();
+    final RequestBuilder builder = newBuilder(RequestBuilder.GET, "/stream");
+    eventLoop.execute(
+        () -> {
+          try {
+            builder.sendRequest(
+                null,
+                new StreamingRequestCallback() {
+                  @Override
+                  public void onChunk(Request request, String chunk) {
+                    assertTrue(eventLoop.isEventLoopThread());
+                    text.append(chunk);
+                  }
+
+                  @Override
+                  public void onResponseReceived(Request request, Response response) {
+                    result.complete(response);
+                  }
+
+                  @Override
+                  public void onError(Request request, Throwable exception) {
+                    result.completeExceptionally(exception);
+                  }
+                });
+          } catch (RequestException e) {
+            result.completeExceptionally(e);
+          }
+        });
+    Response response = result.get(5, TimeUnit.SECONDS);
+    // the streamed body is not retained
+    assertNull(response.getText());
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < STREAMING_CHUNKS; i++) {
+      expected.append("\u00e9t\u00e9");
+    }
+    assertEquals(expected.toString(), text.toString());
+  }
+
+  @Test
+  public void testSend_timeout() throws Exception {
+    RequestBuilder builder = newBuilder(RequestBuilder.GET, "/hang");
+    builder.setTimeoutMillis(100);
+    try {
+      send(builder, null);
+      fail("Expected RequestTimeoutException");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof RequestTimeoutException);
+    }
+  }
+
+  @Test
+  public void testSend_headersTimeout() throws Exception {
+    RequestBuilder builder = newBuilder(RequestBuilder.GET, "/hang");
+    builder.setHeadersTimeoutMillis(100);
+    try {
+      send(builder, null);
+      fail("Expected HeadersTimeoutException");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof HeadersTimeoutException);
+      assertEquals(100, ((HeadersTimeoutException) e.getCause()).getTimeoutMillis());
+    }
+  }
+
+  @Test
+  public void testSend_idleTimeout() throws Exception {
+    RequestBuilder builder = newBuilder(RequestBuilder.GET, "/stall");
+    builder.setHeadersTimeoutMillis(1000);
+    builder.setIdleTimeoutMillis(200);
+    try {
+      send(builder, null);
+      fail("Expected IdleTimeoutException");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IdleTimeoutException);
+    }
+  }
+
+  @Test
+  public void testSend_idleTimeoutNotExpired() throws Exception {
+    // the whole response takes longer than the idle timeout, but never stalls for that long
+    RequestBuilder builder = newBuilder(RequestBuilder.GET, "/slow");
+    builder.setHeadersTimeoutMillis(300);
+    builder.setIdleTimeoutMillis(300);
+    Response response = send(builder, null);
+    assertEquals("slowslowslowslowslow", response.getText());
+  }
+
+  @Test
+  public void testSend_retry() throws Exception {
+    RequestBuilder builder = newBuilder(RequestBuilder.GET, "/unavailable");
+    builder.setRetryPolicy(new RetryPolicy(3, 0, 0));
+    Response response = send(builder, null);
+    assertEquals("available", response.getText());
+    assertEquals(3, unavailableRequests.get());
+  }
+
+  @Test
+  public void testSend_retryNotIdempotent() throws Exception {
+    RequestBuilder builder = newBuilder(RequestBuilder.POST, "/unavailable");
+    builder.setRetryPolicy(new RetryPolicy(3, 0, 0));
+    Response response = send(builder, "body");
+    assertEquals(503, response.getStatusCode());
+    assertEquals(1, unavailableRequests.get());
+  }
+
+  @Test
+  public void testSend_circuitBreaker() throws Exception {
+    RequestBuilder builder = newBuilder(RequestBuilder.GET, "/unavailable");
+    builder.setCircuitBreaker(new CircuitBreaker(2, 60000));
+    assertEquals(503, send(builder, null).getStatusCode());
+    assertEquals(503, send(builder, null).getStatusCode());
+    try {
+      send(builder, null);
+      fail("Expected CircuitOpenException");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof CircuitOpenException);
+    }
+    assertEquals(2, unavailableRequests.get());
+  }
+
+  @Test
+  public void testSend_abort() throws Exception {
+    final RequestBuilder builder = newBuilder(RequestBuilder.GET, "/endless");
+    final CompletableFuture<Response> result = new CompletableFuture<>();
+    final CompletableFuture<Request> sent = new CompletableFuture<>();
+    eventLoop.execute(
+        () -> {
+          try {
+            sent.complete(builder.sendRequest(null, newCallback(result)));
+          } catch (RequestException e) {
+            sent.completeExceptionally(e);
+          }
+        });
+    Request request = sent.get(5, TimeUnit.SECONDS);
+    assertTrue(endlessStarted.await(5, TimeUnit.SECONDS));
+    eventLoop.execute(request::cancel);
+
+    // the connection is closed while the body is being received, whatever the JDK
+    assertTrue(endlessDisconnected.await(5, TimeUnit.SECONDS));
+    assertFalse(result.isDone());
+  }
+
+  private RequestBuilder newBuilder(RequestBuilder.Method method, String path) {
+    RequestBuilder builder =
+        new RequestBuilder(method, "http://127.0.0.1:" + server.getAddress().getPort() + path);
+    builder.setTransport(transport);
+    return builder;
+  }
+
+  /** Sends the request from the event loop, and waits for its response. */
+  private Response send(final RequestBuilder builder, final String requestData) throws Exception {
+    final CompletableFuture<Response> result = new CompletableFuture<>();
+    eventLoop.execute(
+        () -> {
+          try {
+            builder.sendRequest(requestData, newCallback(result));
+          } catch (RequestException e) {
+            result.completeExceptionally(e);
+          }
+        });
+    return result.get(5, TimeUnit.SECONDS);
+  }
+
+  private RequestCallback newCallback(final CompletableFuture<Response> result) {
+    return new RequestCallback() {
+      @Override
+      public void onResponseReceived(Request request, Response response) {
+        if (eventLoop.isEventLoopThread()) {
+          result.complete(response);
+        } else {
+          result.completeExceptionally(new AssertionError("Not called on the event loop"));
+        }
+      }
+
+      @Override
+      public void onError(Request request, Throwable exception) {
+        result.completeExceptionally(exception);
+      }
+    };
+  }
+
+  private void awaitHang() {
+    try {
+      hang.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void respond(HttpExchange exchange, String text) throws IOException {
+    byte[] body = text.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+import net.ltgt.gradle.errorprone.errorprone
+
+plugins {
+    application
+    // already on the classpath, with its version, from the root project
+    id("net.ltgt.errorprone")
+}
+
+dependencyLocking {
+    lockAllConfigurations()
+    lockMode.set(LockMode.STRICT)
+}
+
+description = "A load generator sending the requests of gwt-http client code from the JVM"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    errorprone(libs.errorprone.core)
+
+    implementation(project(":gwt-http-jvm"))
+    // for the signatures of the API of the root project
+    implementation(libs.elemental2.core)
+
+    testImplementation(libs.junit)
+}
+
+application {
+    mainClass.set("org.gwtproject.http.loadgen.LoadGenerator")
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+}
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+    options.compilerArgs.addAll(arrayOf("-Werror", "-Xlint:all"))
+    options.release.set(11)
+    options.errorprone.disable("StringSplitter")
+}
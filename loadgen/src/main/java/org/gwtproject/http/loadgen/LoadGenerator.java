@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.loadgen;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.gwtproject.http.client.Request;
+import org.gwtproject.http.client.RequestBuilder;
+import org.gwtproject.http.client.RequestCallback;
+import org.gwtproject.http.client.Response;
+import org.gwtproject.http.client.Scheduler;
+import org.gwtproject.http.jvm.EventLoop;
+import org.gwtproject.http.jvm.HttpClientTransport;
+
+/**
+ * Sends load made of the requests of a {@link Scenario}, keeping a fixed number of them in flight,
+ * and reports the throughput and latencies.
+ *
+ * <p>Requests are sent from an {@link EventLoop}, the way the client code sends them in a browser:
+ * the concurrency comes from the requests being asynchronous, not from threads, so thousands of
+ * requests can be in flight at once.
+ */
+public final class LoadGenerator {
+
+  /** The state of a run, only accessed from the event loop. */
+  private final class Run {
+    private final Scenario scenario;
+    private final long[] latencyNanos = new long[requestCount];
+    private final long[] startNanos = new long[requestCount];
+    private final CompletableFuture<Report> report = new CompletableFuture<>();
+    private long runStartNanos;
+    private int sent;
+    private int completed;
+    private int failed;
+
+    Run(Scenario scenario) {
+      this.scenario = scenario;
+    }
+
+    void start() {
+      runStartNanos = System.nanoTime();
+      for (int i = 0; i < concurrency && i < requestCount; i++) {
+        sendNext();
+      }
+      if (requestCount == 0) {
+        report.complete(new Report(0, latencyNanos, 0));
+      }
+    }
+
+    private void sendNext() {
+      final int index = sent++;
+      startNanos[index] = System.nanoTime();
+      try {
+        scenario.send(index, new IndexedCallback(index));
+      } catch (Throwable e) {
+        // don't recurse while the scenario fails synchronously
+        eventLoop.execute(() -> complete(index, false));
+      }
+    }
+
+    private void complete(int index, boolean success) {
+      latencyNanos[index] = System.nanoTime() - startNanos[index];
+      completed++;
+      if (!success) {
+        failed++;
+      }
+      if (sent < requestCount) {
+        sendNext();
+      } else if (completed == requestCount) {
+        report.complete(new Report(System.nanoTime() - runStartNanos, latencyNanos, failed));
+      }
+    }
+
+    /** Notifies the run of the outcome of one of its requests. */
+    private final class IndexedCallback implements RequestCallback {
+      private final int index;
+
+      IndexedCallback(int index) {
+        this.index = index;
+      }
+
+      @Override
+      public void onResponseReceived(Request request, Response response) {
+        int statusCode = response.getStatusCode();
+        complete(index, statusCode >= 200 && statusCode < 400);
+      }
+
+      @Override
+      public void onError(Request request, Throwable exception) {
+        complete(index, false);
+      }
+    }
+  }
+
+  private final EventLoop eventLoop;
+  private int concurrency = 100;
+  private int requestCount = 10_000;
+
+  /**
+   * Creates a load generator.
+   *
+   * @param eventLoop the event loop to send the requests from, which must be set as the {@link
+   *     Scheduler}
+   */
+  public LoadGenerator(EventLoop eventLoop) {
+    if (eventLoop == null) {
+      throw new NullPointerException("eventLoop cannot be null");
+    }
+
+    this.eventLoop = eventLoop;
+  }
+
+  /**
+   * Sets the number of requests kept in flight. Defaults to 100.
+   *
+   * @param concurrency the number of requests kept in flight
+   * @throws IllegalArgumentException if the concurrency is not positive
+   */
+  public void setConcurrency(int concurrency) {
+    if (concurrency <= 0) {
+      throw new IllegalArgumentException("concurrency must be positive");
+    }
+
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Sets the number of requests of a run. Defaults to 10000.
+   *
+   * @param requestCount the number of requests of a run
+   * @throws IllegalArgumentException if the number of requests is negative
+   */
+  public void setRequestCount(int requestCount) {
+    if (requestCount < 0) {
+      throw new IllegalArgumentException("requestCount cannot be negative");
+    }
+
+    this.requestCount = requestCount;
+  }
+
+  /**
+   * Sends the requests of the scenario, and waits for all of them to complete.
+   *
+   * @param scenario the requests to send
+   * @return the report of the run
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  public Report run(Scenario scenario) throws InterruptedException {
+    final Run run = new Run(scenario);
+    eventLoop.execute(run::start);
+    try {
+      return run.report.get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Sends GET requests to a URL, or to an {@link EmbeddedServer} if no URL is given, and prints the
+   * report. Arguments are <code>--requests=N</code>, <code>--concurrency=N</code>, <code>
+   * --response-size=BYTES</code> for the embedded server, and <code>--url=URL</code>.
+   *
+   * @param args the arguments
+   * @throws Exception if the load can't be sent
+   */
+  public static void main(String[] args) throws Exception {
+    int requests = 10_000;
+    int concurrency = 100;
+    int responseSize = 1024;
+    String url = null;
+    for (String arg : args) {
+      int equals = arg.indexOf('=');
+      String name = equals < 0 ? arg : arg.substring(0, equals);
+      String value = equals < 0 ? "" : arg.substring(equals + 1);
+      switch (name) {
+        case "--requests":
+          requests = Integer.parseInt(value);
+          break;
+        case "--concurrency":
+          concurrency = Integer.parseInt(value);
+          break;
+        case "--response-size":
+          responseSize = Integer.parseInt(value);
+          break;
+        case "--url":
+          url = value;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown argument: " + arg);
+      }
+    }
+
+    EventLoop eventLoop = new EventLoop();
+    Scheduler.set(eventLoop);
+    HttpClientTransport transport = new HttpClientTransport(eventLoop);
+    EmbeddedServer server = url == null ? new EmbeddedServer(responseSize) : null;
+    try {
+      final RequestBuilder builder =
+          new RequestBuilder(RequestBuilder.GET, server != null ? server.getUrl() : url);
+      builder.setTransport(transport);
+
+      LoadGenerator generator = new LoadGenerator(eventLoop);
+      generator.setRequestCount(requests);
+      generator.setConcurrency(concurrency);
+      System.out.println(generator.run((index, callback) -> builder.sendRequest(null, callback)));
+    } finally {
+      if (server != null) {
+        server.close();
+      }
+      eventLoop.shutdown();
+    }
+  }
+}
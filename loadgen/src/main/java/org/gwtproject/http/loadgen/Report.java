@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.loadgen;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/** The outcome of a run of a {@link LoadGenerator}. */
+public final class Report {
+
+  private final long elapsedNanos;
+  private final long[] latencyNanos;
+  private final int failureCount;
+
+  /**
+   * Creates a report.
+   *
+   * @param elapsedNanos the duration of the run
+   * @param latencyNanos the latencies of all the requests, which this report takes ownership of
+   * @param failureCount the number of requests that failed
+   */
+  Report(long elapsedNanos, long[] latencyNanos, int failureCount) {
+    this.elapsedNanos = elapsedNanos;
+    this.latencyNanos = latencyNanos;
+    this.failureCount = failureCount;
+    Arrays.sort(latencyNanos);
+  }
+
+  /** Returns the number of requests sent. */
+  public int getRequestCount() {
+    return latencyNanos.length;
+  }
+
+  /**
+   * Returns the number of requests that failed: requests that could not be sent, that timed out or
+   * errored, or that got a response with a status code other than 2xx or 3xx.
+   */
+  public int getFailureCount() {
+    return failureCount;
+  }
+
+  /** Returns the duration of the run, in milliseconds. */
+  public double getElapsedMillis() {
+    return elapsedNanos / 1e6;
+  }
+
+  /** Returns the number of requests completed per second. */
+  public double getThroughput() {
+    return elapsedNanos == 0 ? 0 : latencyNanos.length * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Returns a latency percentile, using the nearest-rank method.
+   *
+   * @param percentile the percentile, between 0 (the fastest request) and 100 (the slowest)
+   * @return the latency, in milliseconds, or 0 if no request was sent
+   * @throws IllegalArgumentException if the percentile is not between 0 and 100
+   */
+  public double getLatencyMillis(double percentile) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100");
+    }
+    if (latencyNanos.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100 * latencyNanos.length);
+    return latencyNanos[Math.max(rank - 1, 0)] / 1e6;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        Locale.ROOT,
+        "%d requests (%d failed) in %.0f ms: %.1f requests/s%n"
+            + "latency (ms): p50 %.2f, p90 %.2f, p99 %.2f, p99.9 %.2f, max %.2f",
+        getRequestCount(),
+        failureCount,
+        getElapsedMillis(),
+        getThroughput(),
+        getLatencyMillis(50),
+        getLatencyMillis(90),
+        getLatencyMillis(99),
+        getLatencyMillis(99.9),
+        getLatencyMillis(100));
+  }
+}
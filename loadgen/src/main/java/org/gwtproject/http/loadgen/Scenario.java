@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.loadgen;
+
+import org.gwtproject.http.client.Request;
+import org.gwtproject.http.client.RequestCallback;
+import org.gwtproject.http.client.RequestException;
+
+/** The requests a {@link LoadGenerator} sends, as the client code would send them. */
+public interface Scenario {
+
+  /**
+   * Sends a request, e.g. with {@link org.gwtproject.http.client.RequestBuilder#sendRequest(String,
+   * RequestCallback)}. Called on the event loop of the load generator.
+   *
+   * @param index the index of the request in the run, from 0
+   * @param callback the callback the request must notify
+   * @return the request
+   * @throws RequestException if the request could not be sent
+   */
+  Request send(int index, RequestCallback callback) throws RequestException;
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * A load generator sending the requests of client code built on {@link
+ * org.gwtproject.http.client.RequestBuilder} from the JVM, to capacity-plan backends against the
+ * requests the client actually makes. See {@link org.gwtproject.http.loadgen.LoadGenerator}.
+ */
+package org.gwtproject.http.loadgen;
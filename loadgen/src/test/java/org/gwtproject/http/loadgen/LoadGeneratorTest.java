@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.loadgen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.gwtproject.http.client.RequestBuilder;
+import org.gwtproject.http.client.RequestException;
+import org.gwtproject.http.client.Scheduler;
+import org.gwtproject.http.jvm.EventLoop;
+import org.gwtproject.http.jvm.HttpClientTransport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Test cases for the {@link LoadGenerator} class. */
+public class LoadGeneratorTest {
+
+  private EmbeddedServer server;
+  private EventLoop eventLoop;
+  private RequestBuilder builder;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new EmbeddedServer(100);
+    eventLoop = new EventLoop();
+    Scheduler.set(eventLoop);
+    builder = new RequestBuilder(RequestBuilder.GET, server.getUrl());
+    builder.setTransport(new HttpClientTransport(eventLoop));
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+    eventLoop.shutdown();
+  }
+
+  @Test
+  public void testRun() throws Exception {
+    LoadGenerator generator = new LoadGenerator(eventLoop);
+    generator.setRequestCount(200);
+    generator.setConcurrency(20);
+    Report report = generator.run((index, callback) -> builder.sendRequest(null, callback));
+
+    assertEquals(200, report.getRequestCount());
+    assertEquals(0, report.getFailureCount());
+    assertTrue(report.getThroughput() > 0);
+    assertTrue(report.getLatencyMillis(0) > 0);
+    assertTrue(report.getLatencyMillis(50) <= report.getLatencyMillis(99));
+    assertTrue(report.getLatencyMillis(99) <= report.getLatencyMillis(100));
+  }
+
+  @Test
+  public void testRun_failures() throws Exception {
+    LoadGenerator generator = new LoadGenerator(eventLoop);
+    generator.setRequestCount(10);
+    generator.setConcurrency(3);
+    Report report =
+        generator.run(
+            (index, callback) -> {
+              if (index % 2 == 0) {
+                throw new RequestException("failure");
+              }
+              return builder.sendRequest(null, callback);
+            });
+
+    assertEquals(10, report.getRequestCount());
+    assertEquals(5, report.getFailureCount());
+  }
+
+  @Test
+  public void testRun_noRequests() throws Exception {
+    LoadGenerator generator = new LoadGenerator(eventLoop);
+    generator.setRequestCount(0);
+    Report report = generator.run((index, callback) -> builder.sendRequest(null, callback));
+
+    assertEquals(0, report.getRequestCount());
+    assertEquals(0, report.getLatencyMillis(50), 0);
+  }
+
+  @Test
+  public void testGetLatencyMillis() {
+    long[] latencies = new long[100];
+    for (int i = 0; i < latencies.length; i++) {
+      // in reverse order, to check they get sorted
+      latencies[i] = (100 - i) * 1_000_000L;
+    }
+    Report report = new Report(1_000_000_000L, latencies, 0);
+
+    assertEquals(100, report.getThroughput(), 0);
+    assertEquals(1, report.getLatencyMillis(0), 0);
+    assertEquals(50, report.getLatencyMillis(50), 0);
+    assertEquals(99, report.getLatencyMillis(99), 0);
+    assertEquals(100, report.getLatencyMillis(100), 0);
+    try {
+      report.getLatencyMillis(101);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+}
@@ -10,3 +10,10 @@ buildscript {
         lockMode.set(LockMode.STRICT)
     }
 }
+
+// The JVM transport is built on java.net.http, which requires Java 11
+if (JavaVersion.current().isJava11Compatible) {
+    include("gwt-http-jvm")
+    project(":gwt-http-jvm").projectDir = file("jvm")
+    include("loadgen")
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.j2cl.junit.apt.J2clTestInput;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Test cases for the {@link RateLimiter} class. */
+@J2clTestInput(RateLimiterTest.class)
+public class RateLimiterTest {
+
+  private static final long NOW = 10000;
+
+  /** A scheduler recording the delays of its tasks, which never run. */
+  private static final class ManualScheduler extends Scheduler {
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<Integer> delays = new ArrayList<>();
+
+    @Override
+    public Timer schedule(final Runnable task, int delayMillis) {
+      tasks.add(task);
+      delays.add(delayMillis);
+      return () -> tasks.remove(task);
+    }
+  }
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final List<String> ran = new ArrayList<>();
+  private Scheduler previous;
+
+  private Runnable task(final String name) {
+    return () -> ran.add(name);
+  }
+
+  @Before
+  public void setUp() {
+    previous = Scheduler.get();
+    Scheduler.set(scheduler);
+  }
+
+  @After
+  public void tearDown() {
+    Scheduler.set(previous);
+  }
+
+  @Test
+  public void testRateLimiter() {
+    try {
+      new RateLimiter(0, 1);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new RateLimiter(Double.NaN, 1);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new RateLimiter(1, 0);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new RateLimiter(1, 1, -1);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    RateLimiter limiter = new RateLimiter(2.5, 5);
+    assertEquals(2.5, limiter.getRequestsPerSecond(), 0);
+    assertEquals(5, limiter.getBurst());
+    assertEquals(RateLimiter.DEFAULT_MAX_QUEUED, limiter.getMaxQueued());
+    assertEquals(0, limiter.getQueuedCount());
+  }
+
+  @Test
+  public void testTryAcquire() {
+    RateLimiter limiter = new RateLimiter(10, 2);
+    assertTrue(limiter.tryAcquire(NOW));
+    assertTrue(limiter.tryAcquire(NOW));
+    assertFalse(limiter.tryAcquire(NOW));
+
+    // a token every 100 milliseconds
+    assertFalse(limiter.tryAcquire(NOW + 99));
+    assertTrue(limiter.tryAcquire(NOW + 100));
+    assertFalse(limiter.tryAcquire(NOW + 100));
+
+    // no more than the burst after a long pause
+    assertTrue(limiter.tryAcquire(NOW + 10000));
+    assertTrue(limiter.tryAcquire(NOW + 10000));
+    assertFalse(limiter.tryAcquire(NOW + 10000));
+  }
+
+  @Test
+  public void testEnqueue() throws RateLimitExceededException {
+    RateLimiter limiter = new RateLimiter(10, 1);
+    assertTrue(limiter.tryAcquire(NOW));
+    limiter.enqueue(task("a"));
+    limiter.enqueue(task("b"));
+    assertEquals(2, limiter.getQueuedCount());
+    assertEquals(1, scheduler.tasks.size());
+    assertTrue(scheduler.delays.get(0) > 0);
+
+    // queued requests go first
+    assertFalse(limiter.tryAcquire(NOW + 1000));
+
+    limiter.drain(NOW + 100);
+    assertEquals(1, ran.size());
+    assertEquals("a", ran.get(0));
+    assertEquals(1, limiter.getQueuedCount());
+    // the next drain is scheduled for the next token
+    assertEquals(2, scheduler.tasks.size());
+    assertEquals(100, (int) scheduler.delays.get(1));
+
+    limiter.drain(NOW + 200);
+    assertEquals(2, ran.size());
+    assertEquals("b", ran.get(1));
+    assertEquals(0, limiter.getQueuedCount());
+    assertEquals(2, scheduler.tasks.size());
+    assertFalse(limiter.tryAcquire(NOW + 200));
+  }
+
+  @Test
+  public void testEnqueue_cancel() throws RateLimitExceededException {
+    RateLimiter limiter = new RateLimiter(10, 1);
+    assertTrue(limiter.tryAcquire(NOW));
+    Scheduler.Timer a = limiter.enqueue(task("a"));
+    Scheduler.Timer b = limiter.enqueue(task("b"));
+    a.cancel();
+    assertEquals(1, limiter.getQueuedCount());
+    assertEquals(1, scheduler.tasks.size());
+
+    // the last request leaving the queue cancels the drain
+    b.cancel();
+    assertEquals(0, limiter.getQueuedCount());
+    assertTrue(scheduler.tasks.isEmpty());
+    assertTrue(limiter.tryAcquire(NOW + 100));
+    assertTrue(ran.isEmpty());
+  }
+
+  @Test
+  public void testEnqueue_full() throws RateLimitExceededException {
+    RateLimiter limiter = new RateLimiter(10, 1, 1);
+    assertTrue(limiter.tryAcquire(NOW));
+    limiter.enqueue(task("a"));
+    try {
+      limiter.enqueue(task("b"));
+      fail("Expected RateLimitExceededException");
+    } catch (RateLimitExceededException expected) {
+      assertEquals(200, expected.getRetryAfterMillis());
+    }
+    assertEquals(1, limiter.getQueuedCount());
+
+    // without a queue, requests exceeding the budget are rejected
+    limiter = new RateLimiter(10, 1, 0);
+    assertTrue(limiter.tryAcquire(NOW));
+    try {
+      limiter.enqueue(task("c"));
+      fail("Expected RateLimitExceededException");
+    } catch (RateLimitExceededException expected) {
+      assertEquals(100, expected.getRetryAfterMillis());
+    }
+    assertTrue(ran.isEmpty());
+  }
+}
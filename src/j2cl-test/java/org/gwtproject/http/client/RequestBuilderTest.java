@@ -20,11 +20,19 @@ import static org.gwtproject.http.shared.RequestBuilderTestConstants.SERVLET_GET
 import static org.gwtproject.http.shared.RequestBuilderTestConstants.SERVLET_HEAD_RESPONSE;
 import static org.gwtproject.http.shared.RequestBuilderTestConstants.SERVLET_POST_RESPONSE;
 import static org.gwtproject.http.shared.RequestBuilderTestConstants.SERVLET_PUT_RESPONSE;
+import static org.gwtproject.http.shared.RequestBuilderTestConstants.SERVLET_STREAMING_CHUNKS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import com.google.j2cl.junit.apt.J2clTestInput;
+import elemental2.core.ArrayBufferView;
+import elemental2.core.Uint8Array;
 import elemental2.promise.Promise;
+import jsinterop.base.JsPropertyMap;
 import org.junit.Test;
 
 /** Test cases for the {@link RequestBuilder} class. */
@@ -154,6 +162,72 @@ public class RequestBuilderTest extends RequestTestBase {
     return testSendRequest(builder, "<html><body>Put Me</body></html>", SERVLET_PUT_RESPONSE);
   }
 
+  /** Test method for {@link RequestBuilder#sendBinaryRequest(ArrayBufferView, RequestCallback)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSendBinaryRequest() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.POST, getTestBaseURL() + "sendBinaryRequest");
+    builder.setResponseType(RequestBuilder.ResponseType.ARRAY_BUFFER);
+    Uint8Array requestData = new Uint8Array(4);
+    requestData.setAt(0, 0d);
+    requestData.setAt(1, 1d);
+    requestData.setAt(2, 128d);
+    requestData.setAt(3, 255d);
+    return withCallback(
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(200, response.getStatusCode());
+            assertNull(response.getText());
+            Uint8Array bytes = new Uint8Array(response.getArrayBuffer());
+            assertEquals(4, bytes.byteLength, 0);
+            assertEquals(0, bytes.getAt(0), 0);
+            assertEquals(1, bytes.getAt(1), 0);
+            assertEquals(128, bytes.getAt(2), 0);
+            assertEquals(255, bytes.getAt(3), 0);
+          }
+        },
+        cb -> builder.sendBinaryRequest(requestData, cb));
+  }
+
+  /** Test method for {@link StreamingRequestCallback}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSendRequest_streaming() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "sendRequest_streaming");
+    return withCallback(
+        new StreamingRequestCallback() {
+          private final StringBuilder text = new StringBuilder();
+
+          @Override
+          public void onChunk(Request request, String chunk) {
+            assertTrue(chunk.length() > 0);
+            text.append(chunk);
+          }
+
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(response.getText(), text.toString());
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < SERVLET_STREAMING_CHUNKS; i++) {
+              expected.append(SERVLET_GET_RESPONSE);
+            }
+            assertEquals(expected.toString(), text.toString());
+          }
+        },
+        cb -> builder.sendRequest(null, cb));
+  }
+
   @Test
   public void testSetCallback() {
     RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL());
@@ -164,6 +238,315 @@ public class RequestBuilderTest extends RequestTestBase {
     }
   }
 
+  /** Test method for {@link RequestBuilder#setCache(ResponseCache)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetCache() throws RequestException {
+    ResponseCache cache = new ResponseCache();
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setCache");
+    builder.setCache(cache);
+    assertSame(cache, builder.getCache());
+
+    final String[] text = new String[1];
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(200, response.getStatusCode());
+            assertEquals(1, cache.getEntryCount());
+            if (text[0] == null) {
+              text[0] = response.getText();
+            } else {
+              assertEquals(text[0], response.getText());
+            }
+          }
+        };
+    return sendRequest(builder, null, callback)
+        .then(ignored -> sendRequest(builder, null, callback));
+  }
+
+  /** Test method for {@link RequestBuilder#setCache(ResponseCache)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetCache_revalidate() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setCache/revalidate");
+    builder.setCache(new ResponseCache());
+
+    final int[] received = {0};
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            // the 304 response to the second request was turned into the cached one
+            assertEquals(200, response.getStatusCode());
+            assertEquals(SERVLET_GET_RESPONSE, response.getText());
+            if (received[0]++ == 0) {
+              assertNull(response.getHeader("header1"));
+            } else {
+              assertEquals("revalidated", response.getHeader("header1"));
+            }
+          }
+        };
+    return sendRequest(builder, null, callback)
+        .then(ignored -> sendRequest(builder, null, callback));
+  }
+
+  /** Test method for {@link RequestBuilder#setRefreshCallback(RequestCallback)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetRefreshCallback() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setCache/staleWhileRevalidate");
+    builder.setCache(new ResponseCache());
+
+    final String[] text = new String[1];
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            if (text[0] == null) {
+              text[0] = response.getText();
+            } else {
+              // the stale response is served right away
+              assertEquals(text[0], response.getText());
+            }
+          }
+        };
+    RequestCallback refreshCallback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertFalse(text[0].equals(response.getText()));
+          }
+        };
+    return sendRequest(builder, null, callback)
+        .then(
+            ignored ->
+                withCallback(
+                    refreshCallback,
+                    cb -> {
+                      builder.setRefreshCallback(cb);
+                      assertSame(cb, builder.getRefreshCallback());
+                      builder.sendRequest(null, callback);
+                    }));
+  }
+
+  /** Test method for {@link RequestBuilder#setCircuitBreaker(CircuitBreaker)}. */
+  @Test
+  public void testSetCircuitBreaker() throws RequestException {
+    String url = getTestBaseURL() + "send_GET";
+    CircuitBreaker breaker = new CircuitBreaker(1, 60000);
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, url);
+    builder.setCircuitBreaker(breaker);
+    assertSame(breaker, builder.getCircuitBreaker());
+
+    // once the endpoint failed, requests fail without being sent
+    breaker.onError(url);
+    try {
+      builder.sendRequest(
+          null,
+          new RequestCallback() {
+            @Override
+            public void onError(Request request, Throwable exception) {
+              fail(exception.getMessage());
+            }
+
+            @Override
+            public void onResponseReceived(Request request, Response response) {
+              fail("The request should not have been sent");
+            }
+          });
+      fail("Expected CircuitOpenException");
+    } catch (CircuitOpenException expected) {
+      assertTrue(expected.getRetryAfterMillis() > 0);
+    }
+  }
+
+  /** Test method for {@link RequestBuilder#setCoalescer(RequestCoalescer)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetCoalescer() throws RequestException {
+    RequestCoalescer coalescer = new RequestCoalescer();
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    builder.setCoalescer(coalescer);
+    assertSame(coalescer, builder.getCoalescer());
+
+    final Response[] responses = new Response[1];
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(SERVLET_GET_RESPONSE, response.getText());
+            if (responses[0] == null) {
+              responses[0] = response;
+            } else {
+              assertSame(responses[0], response);
+            }
+          }
+        };
+    Promise<Void> first = sendRequest(builder, null, callback);
+    Promise<Void> second = sendRequest(builder, null, callback);
+    assertEquals(1, coalescer.getInFlightCount());
+
+    // a request with another priority makes its own call
+    RequestBuilder critical = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    critical.setCoalescer(coalescer);
+    critical.setPriority(RequestBuilder.Priority.CRITICAL);
+    Request request = critical.sendRequest(null, callback);
+    assertEquals(2, coalescer.getInFlightCount());
+    request.cancel();
+    assertEquals(1, coalescer.getInFlightCount());
+    return first.then(ignored -> second);
+  }
+
+  /** Test method for {@link RequestBuilder#setDispatcher(RequestDispatcher)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetDispatcher() throws RequestException {
+    final String url = getTestBaseURL() + "send_GET";
+    final RequestDispatcher dispatcher = new RequestDispatcher(1);
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, url);
+    builder.setDispatcher(dispatcher);
+    assertSame(dispatcher, builder.getDispatcher());
+
+    final int[] remaining = {2};
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(SERVLET_GET_RESPONSE, response.getText());
+            // the slot has been handed to the next request, if any
+            remaining[0]--;
+            assertEquals(remaining[0], dispatcher.getInFlightCount(url));
+            assertEquals(0, dispatcher.getQueuedCount(url));
+          }
+        };
+    Promise<Void> first = sendRequest(builder, null, callback);
+    Promise<Void> second = sendRequest(builder, null, callback);
+    return first.then(ignored -> second);
+  }
+
+  /** Test method for {@link RequestBuilder#setGroup(RequestGroup)}. */
+  @Test
+  public void testSetGroup() throws RequestException {
+    RequestGroup group = new RequestGroup();
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    builder.setGroup(group);
+    assertSame(group, builder.getGroup());
+
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail("The request should have been canceled");
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            fail("The request should have been canceled");
+          }
+        };
+    Request first = builder.sendRequest(null, callback);
+    Request second = builder.sendRequest(null, callback);
+    assertEquals(2, group.getPendingCount());
+
+    group.cancelAll();
+    assertEquals(0, group.getPendingCount());
+    assertFalse(first.isPending());
+    assertFalse(second.isPending());
+  }
+
+  /** Test method for {@link RequestBuilder#setHeadersTimeoutMillis(int)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetHeadersTimeoutMillis() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setTimeout/noTimeout");
+    try {
+      builder.setHeadersTimeoutMillis(-1);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    builder.setHeadersTimeoutMillis(10000);
+    assertEquals(10000, builder.getHeadersTimeoutMillis());
+    return testSendRequest(builder, null, SERVLET_GET_RESPONSE);
+  }
+
+  /** Test method for {@link RequestBuilder#setHedgingPolicy(HedgingPolicy)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetHedgingPolicy() throws RequestException {
+    HedgingPolicy policy = new HedgingPolicy(0);
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    builder.setHedgingPolicy(policy);
+    assertSame(policy, builder.getHedgingPolicy());
+    // the request is duplicated right away, but only one response is passed to the callback
+    return sendRequest(
+        builder,
+        null,
+        new RequestCallback() {
+          private boolean received;
+
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertFalse(received);
+            received = true;
+            assertEquals(SERVLET_GET_RESPONSE, response.getText());
+          }
+        });
+  }
+
+  /** Test method for {@link RequestBuilder#setIdleTimeoutMillis(int)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetIdleTimeoutMillis() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "sendRequest_streaming");
+    try {
+      builder.setIdleTimeoutMillis(-1);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    // the servlet pauses between the pieces of the response, but never for that long
+    builder.setIdleTimeoutMillis(1000);
+    assertEquals(1000, builder.getIdleTimeoutMillis());
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < SERVLET_STREAMING_CHUNKS; i++) {
+      expected.append(SERVLET_GET_RESPONSE);
+    }
+    return testSendRequest(builder, null, expected.toString());
+  }
+
   @Test
   public void testSetPassword() {
     RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL());
@@ -180,6 +563,172 @@ public class RequestBuilderTest extends RequestTestBase {
     }
   }
 
+  @Test
+  public void testSetPriority() {
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL());
+    assertEquals(RequestBuilder.Priority.NORMAL, builder.getPriority());
+
+    try {
+      builder.setPriority(null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+
+    builder.setPriority(RequestBuilder.Priority.CRITICAL);
+    assertEquals(RequestBuilder.Priority.CRITICAL, builder.getPriority());
+  }
+
+  @Test
+  public void testSetResponseType() {
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL());
+    assertEquals(RequestBuilder.ResponseType.TEXT, builder.getResponseType());
+
+    try {
+      builder.setResponseType(null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+
+    builder.setResponseType(RequestBuilder.ResponseType.ARRAY_BUFFER);
+    assertEquals(RequestBuilder.ResponseType.ARRAY_BUFFER, builder.getResponseType());
+  }
+
+  /** Test method for {@link RequestBuilder#setRateLimiter(RateLimiter)}. */
+  @Test
+  public void testSetRateLimiter() throws RequestException {
+    RateLimiter limiter = new RateLimiter(0.001, 1, 1);
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    builder.setRateLimiter(limiter);
+    assertSame(limiter, builder.getRateLimiter());
+
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            fail("The request should not have been sent");
+          }
+        };
+
+    // once the budget is spent, requests wait in the queue without being sent
+    assertTrue(limiter.tryAcquire());
+    Request request = builder.sendRequest(null, callback);
+    assertTrue(request.isPending());
+    assertEquals(1, limiter.getQueuedCount());
+
+    // and are rejected once the queue is full
+    try {
+      builder.sendRequest(null, callback);
+      fail("Expected RateLimitExceededException");
+    } catch (RateLimitExceededException expected) {
+      assertTrue(expected.getRetryAfterMillis() > 0);
+    }
+
+    request.cancel();
+    assertFalse(request.isPending());
+    assertEquals(0, limiter.getQueuedCount());
+  }
+
+  /** Test method for {@link RequestBuilder#setRequestSwitch(RequestSwitch, String)}. */
+  @Test
+  public void testSetRequestSwitch() throws RequestException {
+    RequestSwitch requestSwitch = new RequestSwitch();
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET?q=a");
+    try {
+      builder.setRequestSwitch(requestSwitch, null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+    try {
+      builder.setRequestSwitch(requestSwitch, "");
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+    builder.setRequestSwitch(requestSwitch, "search");
+    assertSame(requestSwitch, builder.getRequestSwitch());
+    assertEquals("search", builder.getRequestSwitchKey());
+
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail("The request should have been canceled");
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            fail("The request should have been canceled");
+          }
+        };
+    Request first = builder.sendRequest(null, callback);
+    assertTrue(first.isPending());
+
+    // the request under the same key replaces the first one, whatever its URL
+    builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET/other?q=ab");
+    builder.setRequestSwitch(requestSwitch, "search");
+    Request second = builder.sendRequest(null, callback);
+    assertFalse(first.isPending());
+    assertTrue(second.isPending());
+    second.cancel();
+  }
+
+  /** Test method for {@link RequestBuilder#setResponseType(RequestBuilder.ResponseType)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetResponseType_json() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setResponseType/json");
+    builder.setResponseType(RequestBuilder.ResponseType.JSON);
+    return sendRequest(
+        builder,
+        null,
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(200, response.getStatusCode());
+            assertNull(response.getText());
+            JsPropertyMap<Object> json = response.getJson().asPropertyMap();
+            assertEquals("bar", json.getAsAny("foo").asString());
+            assertEquals(2, json.getAsAny("baz").asArray().length);
+          }
+        });
+  }
+
+  /** Test method for {@link RequestBuilder#setRetryPolicy(RetryPolicy)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetRetryPolicy() throws RequestException {
+    RetryPolicy policy = new RetryPolicy(2, 0, 0);
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setRetryPolicy");
+    builder.setRetryPolicy(policy);
+    assertSame(policy, builder.getRetryPolicy());
+    // every other response is an error, so one of two attempts succeeds
+    return sendRequest(
+        builder,
+        null,
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(200, response.getStatusCode());
+            assertEquals(SERVLET_GET_RESPONSE, response.getText());
+          }
+        });
+  }
+
   @Test
   public void testSetRequestData() {
     RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL());
@@ -335,6 +884,136 @@ public class RequestBuilderTest extends RequestTestBase {
     }
   }
 
+  /** Test method for {@link RequestBuilder#setTransport(Transport)}. */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetTransport() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.POST, getTestBaseURL() + "sendRequest_POST");
+    assertTrue(builder.getTransport() instanceof XhrTransport);
+    try {
+      builder.setTransport(null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+    Transport transport = new FetchTransport();
+    builder.setTransport(transport);
+    assertSame(transport, builder.getTransport());
+    builder.setHeader("Content-Type", "application/x-www-form-urlencoded");
+    return testSendRequest(builder, "data", SERVLET_POST_RESPONSE);
+  }
+
+  /**
+   * Test method for {@link RequestBuilder#setTransport(Transport)} with a {@link BatchTransport}.
+   */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetTransport_batch() throws RequestException {
+    final int[] calls = {0};
+    final Transport xhrTransport = new XhrTransport();
+    Transport transport =
+        new BatchTransport(
+            getTestBaseURL() + "batch",
+            0,
+            BatchTransport.DEFAULT_MAX_BATCH_SIZE,
+            (request, callback) -> {
+              calls[0]++;
+              return xhrTransport.send(request, callback);
+            });
+    RequestBuilder getBuilder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    getBuilder.setTransport(transport);
+    RequestBuilder postBuilder =
+        new RequestBuilder(RequestBuilder.POST, getTestBaseURL() + "sendRequest_POST");
+    postBuilder.setTransport(transport);
+
+    Promise<Void> first = testSendRequest(getBuilder, null, SERVLET_GET_RESPONSE);
+    Promise<Void> second = testSendRequest(postBuilder, "data", SERVLET_POST_RESPONSE);
+    return first
+        .then(ignored -> second)
+        .then(
+            ignored -> {
+              // both requests were sent in a single batch call
+              assertEquals(1, calls[0]);
+              return null;
+            });
+  }
+
+  /**
+   * Test method for {@link RequestBuilder#setTransport(Transport)} with a request failing with a
+   * network error, which both transports report as a response with the status code 0.
+   */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetTransport_networkError() throws RequestException {
+    Promise<Void> xhr = testNetworkError(new XhrTransport());
+    Promise<Void> fetch = testNetworkError(new FetchTransport());
+    return xhr.then(ignored -> fetch);
+  }
+
+  /**
+   * Helper method to test a request failing with a network error.
+   *
+   * @param transport the transport to send the request with
+   */
+  private Promise<Void> testNetworkError(Transport transport) throws RequestException {
+    // nothing listens on port 1
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, "http://localhost:1/");
+    builder.setTransport(transport);
+    return withCallback(
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(0, response.getStatusCode());
+          }
+        },
+        cb -> builder.sendRequest(null, cb));
+  }
+
+  /**
+   * Test method for {@link RequestBuilder#setTransport(Transport)} with a {@link FetchTransport}
+   * and a {@link StreamingRequestCallback}.
+   */
+  @Test(timeout = REQUEST_TIMEOUT)
+  public Promise<Void> testSetTransport_fetchStreaming() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "sendRequest_streaming");
+    builder.setTransport(new FetchTransport());
+    return withCallback(
+        new StreamingRequestCallback() {
+          private final StringBuilder text = new StringBuilder();
+
+          @Override
+          public void onChunk(Request request, String chunk) {
+            assertTrue(chunk.length() > 0);
+            text.append(chunk);
+          }
+
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            // the streamed body is not retained, unless the browser lacks the Fetch API
+            if (FetchTransport.isSupported()) {
+              assertNull(response.getText());
+            } else {
+              assertEquals(response.getText(), text.toString());
+            }
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < SERVLET_STREAMING_CHUNKS; i++) {
+              expected.append(SERVLET_GET_RESPONSE);
+            }
+            assertEquals(expected.toString(), text.toString());
+          }
+        },
+        cb -> builder.sendRequest(null, cb));
+  }
+
   /**
    * Helper method to test {@link RequestBuilder#send()}.
    *
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.j2cl.junit.apt.J2clTestInput;
+import elemental2.dom.AbortController;
+import org.junit.Test;
+
+/** Test cases for the {@link RequestGroup} class. */
+@J2clTestInput(RequestGroupTest.class)
+public class RequestGroupTest {
+
+  /** An exchange pending until it is aborted. */
+  private static final class PendingExchange implements Exchange {
+    private boolean aborted;
+
+    @Override
+    public boolean isPending() {
+      return !aborted;
+    }
+
+    @Override
+    public void abort() {
+      aborted = true;
+    }
+  }
+
+  private int calls;
+
+  private final RequestCallback callback =
+      new RequestCallback() {
+        @Override
+        public void onResponseReceived(Request request, Response response) {
+          calls++;
+        }
+
+        @Override
+        public void onError(Request request, Throwable exception) {
+          calls++;
+        }
+      };
+
+  @Test
+  public void testRequestGroup() {
+    try {
+      new RequestGroup(null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+
+    RequestGroup group = new RequestGroup();
+    assertEquals(0, group.getPendingCount());
+    assertFalse(group.isAborted());
+  }
+
+  @Test
+  public void testCancelAll() {
+    RequestGroup group = new RequestGroup();
+    PendingExchange first = new PendingExchange();
+    PendingExchange second = new PendingExchange();
+    PendingExchange third = new PendingExchange();
+    group.add(new Request(0, callback, first));
+    group.add(new Request(0, callback, second));
+    Request completed = new Request(0, callback, third);
+    group.add(completed);
+    assertEquals(3, group.getPendingCount());
+
+    // completed requests leave the group
+    completed.fireOnError(callback, new RequestException());
+    assertEquals(1, calls);
+    assertEquals(2, group.getPendingCount());
+
+    group.cancelAll();
+    assertEquals(0, group.getPendingCount());
+    assertTrue(first.aborted);
+    assertTrue(second.aborted);
+    assertFalse(third.aborted);
+    assertEquals(1, calls);
+
+    // the group can still be used
+    group.add(new Request(0, callback, new PendingExchange()));
+    assertEquals(1, group.getPendingCount());
+  }
+
+  @Test
+  public void testCancel() {
+    RequestGroup group = new RequestGroup();
+    Request request = new Request(0, callback, new PendingExchange());
+    group.add(request);
+    request.cancel();
+    assertEquals(0, group.getPendingCount());
+
+    // requests that already completed are not added
+    group.add(request);
+    assertEquals(0, group.getPendingCount());
+  }
+
+  @Test
+  public void testAbortSignal() {
+    // the AbortController API comes along with the Fetch API
+    if (!FetchTransport.isSupported()) {
+      return;
+    }
+
+    AbortController controller = new AbortController();
+    RequestGroup group = new RequestGroup(controller.signal);
+    PendingExchange exchange = new PendingExchange();
+    group.add(new Request(0, callback, exchange));
+    assertFalse(group.isAborted());
+
+    controller.abort();
+    assertTrue(group.isAborted());
+    assertEquals(0, group.getPendingCount());
+    assertTrue(exchange.aborted);
+    assertEquals(0, calls);
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.j2cl.junit.apt.J2clTestInput;
+import org.junit.Test;
+
+/** Test cases for the {@link RequestSwitch} class. */
+@J2clTestInput(RequestSwitchTest.class)
+public class RequestSwitchTest {
+
+  /** An exchange pending until it is aborted. */
+  private static final class PendingExchange implements Exchange {
+    private boolean aborted;
+
+    @Override
+    public boolean isPending() {
+      return !aborted;
+    }
+
+    @Override
+    public void abort() {
+      aborted = true;
+    }
+  }
+
+  private int calls;
+
+  private final RequestCallback callback =
+      new RequestCallback() {
+        @Override
+        public void onResponseReceived(Request request, Response response) {
+          calls++;
+        }
+
+        @Override
+        public void onError(Request request, Throwable exception) {
+          calls++;
+        }
+      };
+
+  @Test
+  public void testSwitchTo() {
+    RequestSwitch requestSwitch = new RequestSwitch();
+    PendingExchange first = new PendingExchange();
+    PendingExchange second = new PendingExchange();
+    PendingExchange other = new PendingExchange();
+    requestSwitch.switchTo("search", new Request(0, callback, first));
+    requestSwitch.switchTo("filter", new Request(0, callback, other));
+    Request latest = new Request(0, callback, second);
+    requestSwitch.switchTo("search", latest);
+
+    // only the previous request under the same key is canceled, without being answered
+    assertTrue(first.aborted);
+    assertFalse(second.aborted);
+    assertFalse(other.aborted);
+    assertEquals(0, calls);
+
+    // completed requests are left alone
+    latest.fireOnError(callback, new RequestException());
+    requestSwitch.switchTo("search", new Request(0, callback, new PendingExchange()));
+    assertEquals(1, calls);
+  }
+
+  @Test
+  public void testSwitchTo_completed() {
+    RequestSwitch requestSwitch = new RequestSwitch();
+    Request first = new Request(0, callback, new PendingExchange());
+    requestSwitch.switchTo("search", first);
+    Request second = new Request(0, callback, new PendingExchange());
+    requestSwitch.switchTo("search", second);
+
+    // canceling the previous request doesn't forget the latest one
+    assertEquals(1, requestSwitch.getPendingCount());
+    first.cancel();
+    assertEquals(1, requestSwitch.getPendingCount());
+
+    // completed requests are forgotten
+    second.fireOnResponseReceived(callback, new CachedResponse(200, "OK", "", ""));
+    assertEquals(0, requestSwitch.getPendingCount());
+    Request canceled = new Request(0, callback, new PendingExchange());
+    requestSwitch.switchTo("search", canceled);
+    canceled.cancel();
+    assertEquals(0, requestSwitch.getPendingCount());
+
+    // as are requests that completed before being switched to
+    Request failed = new Request(0, callback, new PendingExchange());
+    failed.fireOnError(callback, new RequestException());
+    requestSwitch.switchTo("search", failed);
+    assertEquals(0, requestSwitch.getPendingCount());
+  }
+
+  @Test
+  public void testCancelAll() {
+    RequestSwitch requestSwitch = new RequestSwitch();
+    PendingExchange first = new PendingExchange();
+    PendingExchange second = new PendingExchange();
+    requestSwitch.switchTo("search", new Request(0, callback, first));
+    requestSwitch.switchTo("filter", new Request(0, callback, second));
+    requestSwitch.cancelAll();
+    assertTrue(first.aborted);
+    assertTrue(second.aborted);
+    assertEquals(0, calls);
+    assertEquals(0, requestSwitch.getPendingCount());
+  }
+}
@@ -69,6 +69,73 @@ public class RequestTest extends RequestTestBase {
         });
   }
 
+  @Test
+  public void testCancel_coalesced() throws RequestException {
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "/cancel");
+    RequestCoalescer coalescer = new RequestCoalescer();
+    builder.setCoalescer(coalescer);
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            fail("Request was canceled - no response should be received");
+          }
+
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail("Request was canceled - no timeout should occur");
+          }
+        };
+
+    Request first = builder.sendRequest(null, callback);
+    Request second = builder.sendRequest(null, callback);
+    assertEquals(1, coalescer.getInFlightCount());
+
+    first.cancel();
+    assertFalse(first.isPending());
+    assertTrue(second.isPending());
+    assertEquals(1, coalescer.getInFlightCount());
+
+    second.cancel();
+    assertFalse(second.isPending());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  /** Test method for {@link StreamingRequestCallback}. */
+  @Test
+  public void testFireOnChunk() {
+    final StringBuilder received = new StringBuilder();
+    StreamingRequestCallback callback =
+        new StreamingRequestCallback() {
+          @Override
+          public void onChunk(Request request, String chunk) {
+            received.append(chunk).append('|');
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            received.append("done");
+          }
+
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+        };
+
+    Request request = new Request(0, callback, new DeferredExchange());
+    request.fireOnChunk(callback, "ab");
+    request.fireOnChunk(callback, "");
+    request.fireOnChunk(callback, "cd");
+    // the rest of the text is passed before the response
+    request.fireOnResponseReceived(callback, new CachedResponse(200, "OK", "", "abcde"));
+    assertEquals("ab|cd|e|done", received.toString());
+
+    // nothing after completion
+    request.fireOnChunk(callback, "f");
+    assertEquals("ab|cd|e|done", received.toString());
+  }
+
   /** Test method for {@link Request#Request(XMLHttpRequest, int, RequestCallback)}. */
   @Test
   public void testRequest() {
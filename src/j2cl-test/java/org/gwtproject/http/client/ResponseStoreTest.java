@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.j2cl.junit.apt.J2clTestInput;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Test cases for the {@link ResponseStore} class. */
+@J2clTestInput(ResponseStoreTest.class)
+public class ResponseStoreTest {
+
+  private static final String URL = "http://example.com/foo";
+
+  private static final String NAMESPACE = "ResponseStoreTest";
+
+  private static final long NOW = 10000;
+
+  private static Response response(String headers) {
+    return new CachedResponse(200, "OK", headers, "body");
+  }
+
+  private final Map<String, String> requestHeaders = new HashMap<>();
+
+  /** Returns the response cached for a request if it is fresh, as {@link RequestBuilder} does. */
+  private Response getFresh(ResponseCache cache, String url, long now) {
+    ResponseCache.Entry entry = cache.getEntry(url, requestHeaders);
+    return entry != null && entry.isFresh(now) ? entry.response : null;
+  }
+
+  @Before
+  public void setUp() {
+    new ResponseStore(NAMESPACE, "1").clear();
+  }
+
+  @Test
+  public void testEncode() {
+    ResponseCache.Entry entry =
+        new ResponseCache.Entry(
+            new CachedResponse(200, "OK", "ETag: \"1\"\r\nVary: Accept", "1:2:-:"),
+            Collections.singletonMap("accept", "text/plain"),
+            NOW,
+            1000,
+            60000,
+            0);
+    ResponseCache.Entry decoded = ResponseStore.decode(ResponseStore.encode(entry));
+    assertEquals(200, decoded.response.getStatusCode());
+    assertEquals("OK", decoded.response.getStatusText());
+    assertEquals("\"1\"", decoded.response.getHeader("ETag"));
+    assertEquals("1:2:-:", decoded.response.getText());
+    assertEquals(entry.varyHeaders, decoded.varyHeaders);
+    assertEquals(NOW, decoded.responseTime);
+    assertEquals(1000, decoded.initialAge);
+    assertEquals(60000, decoded.freshnessLifetime);
+    assertEquals(0, decoded.staleWhileRevalidate);
+
+    assertNull(ResponseStore.decode(""));
+    assertNull(ResponseStore.decode("1:1"));
+    assertNull(ResponseStore.decode("1:2:99:OK"));
+  }
+
+  @Test
+  public void testResponseStore() {
+    try {
+      new ResponseStore("a:b", "1");
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new ResponseStore(NAMESPACE, "");
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new ResponseStore(NAMESPACE, "1", 0);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  @Test
+  public void testPersistence() {
+    assertTrue(ResponseStore.isSupported());
+
+    ResponseStore store = new ResponseStore(NAMESPACE, "1");
+    ResponseCache cache = new ResponseCache(1, ResponseCache.DEFAULT_MAX_SIZE, store);
+    assertSame(store, cache.getStore());
+    cache.put(URL, requestHeaders, NOW, NOW, response("Cache-Control: max-age=60"));
+    assertEquals(1, store.getEntryCount());
+    // evicted from memory, but not from the store
+    cache.put(URL + 2, requestHeaders, NOW, NOW, response("Cache-Control: max-age=60"));
+    assertEquals(1, cache.getEntryCount());
+    assertEquals(2, store.getEntryCount());
+    assertNotNull(getFresh(cache, URL, NOW));
+
+    // as if the page had been reloaded
+    cache = new ResponseCache(1, ResponseCache.DEFAULT_MAX_SIZE, new ResponseStore(NAMESPACE, "1"));
+    assertEquals(0, cache.getEntryCount());
+    Response cached = getFresh(cache, URL, NOW + 59999);
+    assertNotNull(cached);
+    assertEquals("body", cached.getText());
+    assertEquals("max-age=60", cached.getHeader("Cache-Control"));
+    assertNull(getFresh(cache, URL, NOW + 60000));
+
+    cache.invalidate(URL);
+    assertEquals(1, cache.getStore().getEntryCount());
+    cache.clear();
+    assertEquals(0, cache.getStore().getEntryCount());
+    assertEquals(0, cache.getStore().getSize());
+  }
+
+  @Test
+  public void testVersion() {
+    ResponseStore store = new ResponseStore(NAMESPACE, "1");
+    new ResponseCache(1, 1, store)
+        .put(URL, requestHeaders, NOW, NOW, response("Cache-Control: max-age=60"));
+    assertEquals(1, store.getEntryCount());
+
+    assertEquals(0, new ResponseStore(NAMESPACE, "2").getEntryCount());
+    // the previous version was deleted
+    assertEquals(0, new ResponseStore(NAMESPACE, "1").getEntryCount());
+  }
+
+  @Test
+  public void testEviction() {
+    ResponseCache.Entry entry =
+        new ResponseCache.Entry(
+            new CachedResponse(response("Cache-Control: max-age=60")),
+            requestHeaders,
+            NOW,
+            0,
+            60000,
+            0);
+    new ResponseStore(NAMESPACE, "1").put(URL + 1, entry);
+    ResponseStore store = new ResponseStore(NAMESPACE, "1");
+    int size = store.getSize();
+    assertTrue(size > 0);
+
+    store = new ResponseStore(NAMESPACE, "1", 2 * size);
+    store.put(URL + 2, entry);
+    // makes the first entry the most recently used
+    assertNotNull(store.get(URL + 1));
+    store.put(URL + 3, entry);
+    assertEquals(2, store.getEntryCount());
+    assertEquals(2 * size, store.getSize());
+    assertNotNull(store.get(URL + 1));
+    assertNull(store.get(URL + 2));
+    assertNotNull(store.get(URL + 3));
+  }
+
+  @Test
+  public void testRecency() {
+    ResponseCache.Entry entry =
+        new ResponseCache.Entry(
+            new CachedResponse(response("Cache-Control: max-age=60")),
+            requestHeaders,
+            NOW,
+            0,
+            60000,
+            0);
+    ResponseStore store = new ResponseStore(NAMESPACE, "1");
+    store.put(URL + 1, entry);
+    store.put(URL + 2, entry);
+    int size = store.getSize() / 2;
+
+    // reads don't write to the storage
+    WebStorage storage = WebStorage.getLocalStorage();
+    String indexKey = "gwt-http:" + NAMESPACE + ":1:index";
+    String index = storage.getItem(indexKey);
+    assertNotNull(store.get(URL + 1));
+    assertEquals(index, storage.getItem(indexKey));
+
+    // the order of the reads is saved with the next change
+    store.put(URL + 3, entry);
+    store = new ResponseStore(NAMESPACE, "1", 3 * size);
+    store.put(URL + 4, entry);
+    assertEquals(3, store.getEntryCount());
+    assertNotNull(store.get(URL + 1));
+    assertNull(store.get(URL + 2));
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.j2cl.junit.apt.J2clTestInput;
+import org.junit.Test;
+
+/** Test cases for the {@link RetryPolicy} class. */
+@J2clTestInput(RetryPolicyTest.class)
+public class RetryPolicyTest {
+
+  private static Response response(int statusCode, String headers) {
+    return new CachedResponse(statusCode, "", headers, "");
+  }
+
+  @Test
+  public void testRetryPolicy() {
+    try {
+      new RetryPolicy(0, 100, 1000);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new RetryPolicy(3, -1, 1000);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new RetryPolicy(3, 1000, 100);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    RetryPolicy policy = new RetryPolicy();
+    assertEquals(RetryPolicy.DEFAULT_MAX_ATTEMPTS, policy.getMaxAttempts());
+    assertEquals(RetryPolicy.DEFAULT_BASE_DELAY_MILLIS, policy.getBaseDelayMillis());
+    assertEquals(RetryPolicy.DEFAULT_MAX_DELAY_MILLIS, policy.getMaxDelayMillis());
+  }
+
+  @Test
+  public void testIsRetryable() {
+    RetryPolicy policy = new RetryPolicy();
+    assertTrue(policy.isRetryable("GET"));
+    assertTrue(policy.isRetryable("HEAD"));
+    assertTrue(policy.isRetryable("PUT"));
+    assertTrue(policy.isRetryable("DELETE"));
+    assertFalse(policy.isRetryable("POST"));
+  }
+
+  @Test
+  public void testOnResponse() {
+    RetryPolicy policy = new RetryPolicy(10, 100, 1000);
+    assertEquals(-1, policy.onResponse(1, response(Response.SC_OK, "")));
+    assertEquals(-1, policy.onResponse(1, response(Response.SC_INTERNAL_SERVER_ERROR, "")));
+    assertEquals(-1, policy.onResponse(1, response(Response.SC_NOT_FOUND, "")));
+
+    int[] statusCodes = {
+      0, Response.SC_BAD_GATEWAY, Response.SC_SERVICE_UNAVAILABLE, Response.SC_GATEWAY_TIMEOUT
+    };
+    for (int statusCode : statusCodes) {
+      int delayMillis = policy.onResponse(1, response(statusCode, ""));
+      assertTrue(delayMillis >= 0 && delayMillis < 100);
+    }
+  }
+
+  @Test
+  public void testOnResponse_retryAfter() {
+    RetryPolicy policy = new RetryPolicy(10, 100, 10000);
+    Response response = response(Response.SC_SERVICE_UNAVAILABLE, "Retry-After: 2");
+    assertEquals(2000, policy.onResponse(1, response));
+
+    response =
+        response(
+            Response.SC_SERVICE_UNAVAILABLE,
+            "Date: Thu, 01 Jan 1970 00:00:10 GMT\r\nRetry-After: Thu, 01 Jan 1970 00:00:15 GMT");
+    assertEquals(5000, policy.onResponse(1, response));
+
+    // too long a wait
+    response = response(Response.SC_SERVICE_UNAVAILABLE, "Retry-After: 11");
+    assertEquals(-1, policy.onResponse(1, response));
+
+    // invalid, hence ignored
+    response = response(Response.SC_SERVICE_UNAVAILABLE, "Retry-After: soon");
+    int delayMillis = policy.onResponse(1, response);
+    assertTrue(delayMillis >= 0 && delayMillis < 100);
+  }
+
+  @Test
+  public void testOnError() {
+    RetryPolicy policy = new RetryPolicy(4, 100, 300);
+    for (int attempts = 1; attempts < 4; attempts++) {
+      // full jitter, doubling the bound on every attempt up to the maximum delay
+      int delayMillis = policy.onError(attempts);
+      assertTrue(delayMillis >= 0 && delayMillis < Math.min(100 << (attempts - 1), 300));
+    }
+    assertEquals(-1, policy.onError(4));
+  }
+
+  @Test
+  public void testBudget() {
+    RetryPolicy policy = new RetryPolicy();
+    assertEquals(RetryPolicy.MAX_TOKENS, policy.getTokens(), 0);
+
+    // the budget allows retrying until half of the tokens are spent
+    for (int i = 1; i < RetryPolicy.MAX_TOKENS / 2; i++) {
+      assertTrue(policy.onError(1) >= 0);
+    }
+    assertEquals(-1, policy.onError(1));
+    assertEquals(-1, policy.onResponse(1, response(Response.SC_SERVICE_UNAVAILABLE, "")));
+
+    // successful responses give tokens back
+    policy.onResponse(1, response(Response.SC_OK, ""));
+    double tokens = RetryPolicy.MAX_TOKENS / 2 - 1 + RetryPolicy.TOKEN_RATIO;
+    assertEquals(tokens, policy.getTokens(), 1e-9);
+    for (int i = 0; i < 20; i++) {
+      policy.onResponse(1, response(Response.SC_OK, ""));
+    }
+    assertTrue(policy.onError(1) >= 0);
+  }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads values by key from an endpoint taking many keys at once, e.g. <code>
+ * GET /items?id=a&amp;id=b</code>, so that the many lookups a page makes, such as one per row of a
+ * grid, cost a single request.
+ *
+ * <p>The keys passed to {@link #load(String, Callback)} in the same event loop turn are collected,
+ * without duplicates, and requested together: the loader sets them as the values of its query
+ * parameter on its own copy of the given {@link UrlBuilder} (see {@link
+ * UrlBuilder#setParameter(String, String...)}), sends a <code>GET</code> request to the resulting
+ * URL, and passes the response to {@link #parse(Response)}, which subclasses implement to return
+ * the value of each key. Each callback then gets the value of its key, or null if the response has
+ * none.
+ *
+ * <p>Loaded values are cached, so that later lookups of the same keys are answered without a
+ * request. The cache is never evicted: a loader is meant to live for the scope of a page or view,
+ * and to be cleared (see {@link #clear()} and {@link #clear(String)}) when the data may have
+ * changed. Keys missing from a response are not cached, nor are errors: if the request fails, is
+ * answered with any status but <code>200 OK</code>, or the response can't be parsed, the callbacks
+ * of all the keys of the request get the error, and the keys are requested again on their next
+ * lookup.
+ *
+ * <pre>
+ * BatchLoader&lt;Item&gt; loader =
+ *     new BatchLoader&lt;Item&gt;(new UrlBuilder().setHost("example.com").setPath("items"), "id") {
+ *       protected Map&lt;String, Item&gt; parse(Response response) { ... }
+ *     };
+ * </pre>
+ *
+ * @param <V> the type of the loaded values
+ */
+public abstract class BatchLoader<V> {
+
+  /**
+   * The interface a {@link BatchLoader} notifies with the outcome of a lookup. Callbacks are always
+   * called asynchronously, even for cached values. An exception thrown by a callback doesn't keep
+   * the other callbacks from being called: it is rethrown asynchronously, like an exception thrown
+   * from an event handler.
+   *
+   * @param <V> the type of the loaded values
+   */
+  public interface Callback<V> {
+
+    /**
+     * Called with the value of a key.
+     *
+     * @param key the key
+     * @param value the value of the key, or null if the response has none
+     */
+    void onLoaded(String key, V value);
+
+    /**
+     * Called if the value of a key could not be loaded.
+     *
+     * @param key the key
+     * @param exception the error
+     */
+    void onError(String key, Throwable exception);
+  }
+
+  /** The default maximum number of keys per request, which keeps URLs reasonably short. */
+  public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+  private final UrlBuilder urlBuilder;
+  private final String parameter;
+  private final int maxBatchSize;
+  private final Map<String, V> cache = new HashMap<>();
+  /** The callbacks of the keys waiting to be requested, or for their response. */
+  private final Map<String, List<Callback<V>>> waiting = new HashMap<>();
+
+  private final List<String> queued = new ArrayList<>();
+  private Scheduler.Timer timer;
+
+  /**
+   * Creates a loader requesting at most {@link #DEFAULT_MAX_BATCH_SIZE} keys at once.
+   *
+   * @param urlBuilder the builder of the URL of the endpoint, which the loader copies, setting the
+   *     parameter of the copy to the requested keys before each request
+   * @param parameter the name of the query parameter taking the keys
+   * @throws NullPointerException if urlBuilder or parameter is null
+   * @throws IllegalArgumentException if parameter is empty
+   */
+  protected BatchLoader(UrlBuilder urlBuilder, String parameter) {
+    this(urlBuilder, parameter, DEFAULT_MAX_BATCH_SIZE);
+  }
+
+  /**
+   * Creates a loader.
+   *
+   * @param urlBuilder the builder of the URL of the endpoint, which the loader copies, setting the
+   *     parameter of the copy to the requested keys before each request
+   * @param parameter the name of the query parameter taking the keys
+   * @param maxBatchSize the maximum number of keys per request; once that many keys have been
+   *     collected, they are requested right away
+   * @throws NullPointerException if urlBuilder or parameter is null
+   * @throws IllegalArgumentException if parameter is empty, or maxBatchSize is less than 1
+   */
+  protected BatchLoader(UrlBuilder urlBuilder, String parameter, int maxBatchSize) {
+    StringValidator.throwIfNull("urlBuilder", urlBuilder);
+    StringValidator.throwIfEmptyOrNull("parameter", parameter);
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("maxBatchSize must be at least 1");
+    }
+
+    this.urlBuilder = urlBuilder.copy();
+    this.parameter = parameter;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /** Forgets all the cached values. */
+  public void clear() {
+    cache.clear();
+  }
+
+  /** Forgets the cached value of a key, which will be requested again on its next lookup. */
+  public void clear(String key) {
+    cache.remove(key);
+  }
+
+  /** Returns the maximum number of keys per request. */
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /** Returns the name of the query parameter taking the keys. */
+  public String getParameter() {
+    return parameter;
+  }
+
+  /**
+   * Looks up the value of a key. The key is requested with the other keys looked up in the same
+   * event loop turn, unless its value is cached or it is already being requested.
+   *
+   * @param key the key
+   * @param callback the callback to notify with the value of the key
+   * @throws NullPointerException if key or callback is null
+   * @throws IllegalArgumentException if key is empty
+   */
+  public void load(final String key, final Callback<V> callback) {
+    StringValidator.throwIfEmptyOrNull("key", key);
+    StringValidator.throwIfNull("callback", callback);
+
+    if (cache.containsKey(key)) {
+      final V value = cache.get(key);
+      Scheduler.get().schedule(() -> callback.onLoaded(key, value), 0);
+      return;
+    }
+    List<Callback<V>> callbacks = waiting.get(key);
+    if (callbacks != null) {
+      callbacks.add(callback);
+      return;
+    }
+
+    callbacks = new ArrayList<>();
+    callbacks.add(callback);
+    waiting.put(key, callbacks);
+    queued.add(key);
+    if (queued.size() >= maxBatchSize) {
+      flush();
+    } else if (timer == null) {
+      timer = Scheduler.get().schedule(this::flush, 0);
+    }
+  }
+
+  /**
+   * Returns the builder of the request for the given URL. The default implementation returns a
+   * plain <code>GET</code> request builder; subclasses can override this method to set headers, a
+   * timeout, a {@link Transport}, etc.
+   *
+   * @param url the URL with the requested keys
+   * @return the request builder
+   */
+  protected RequestBuilder createRequestBuilder(String url) {
+    return new RequestBuilder(RequestBuilder.GET, url);
+  }
+
+  /**
+   * Returns the values held in a response, by key. Keys missing from the returned map get a null
+   * value, and are requested again on their next lookup.
+   *
+   * @param response a response with the <code>200 OK</code> status
+   * @return the values of the requested keys
+   * @throws RuntimeException if the response can't be parsed, which the callbacks get as their
+   *     error
+   */
+  protected abstract Map<String, V> parse(Response response);
+
+  /** Requests the queued keys. */
+  private void flush() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+    final List<String> keys = new ArrayList<>(queued);
+    queued.clear();
+    if (keys.isEmpty()) {
+      return;
+    }
+
+    urlBuilder.setParameter(parameter, keys.toArray(new String[0]));
+    final String url = urlBuilder.buildString();
+    try {
+      createRequestBuilder(url)
+          .sendRequest(
+              null,
+              new RequestCallback() {
+                @Override
+                public void onResponseReceived(Request request, Response response) {
+                  if (response.getStatusCode() != Response.SC_OK) {
+                    fail(
+                        keys,
+                        new RequestException(
+                            "Loading "
+                                + url
+                                + " failed with status "
+                                + response.getStatusCode()
+                                + " "
+                                + response.getStatusText()));
+                    return;
+                  }
+                  Map<String, V> values;
+                  try {
+                    values = parse(response);
+                  } catch (RuntimeException e) {
+                    fail(keys, e);
+                    return;
+                  }
+                  for (String key : keys) {
+                    if (values != null && values.containsKey(key)) {
+                      cache.put(key, values.get(key));
+                    }
+                  }
+                  for (Map.Entry<String, List<Callback<V>>> entry : take(keys).entrySet()) {
+                    final String key = entry.getKey();
+                    final V value = cache.get(key);
+                    for (final Callback<V> callback : entry.getValue()) {
+                      callSafely(() -> callback.onLoaded(key, value));
+                    }
+                  }
+                }
+
+                @Override
+                public void onError(Request request, Throwable exception) {
+                  fail(keys, exception);
+                }
+              });
+    } catch (final RequestException e) {
+      // flush() may be called by load(), whose callbacks must not be called synchronously
+      Scheduler.get().schedule(() -> fail(keys, e), 0);
+    }
+  }
+
+  private void fail(List<String> keys, final Throwable exception) {
+    for (Map.Entry<String, List<Callback<V>>> entry : take(keys).entrySet()) {
+      final String key = entry.getKey();
+      for (final Callback<V> callback : entry.getValue()) {
+        callSafely(() -> callback.onError(key, exception));
+      }
+    }
+  }
+
+  /**
+   * Removes the callbacks of the given keys all at once, before any is called, so that a throwing
+   * callback can't leave keys waiting for a request that already completed.
+   */
+  private Map<String, List<Callback<V>>> take(List<String> keys) {
+    Map<String, List<Callback<V>>> callbacks = new LinkedHashMap<>();
+    for (String key : keys) {
+      callbacks.put(key, waiting.remove(key));
+    }
+    return callbacks;
+  }
+
+  /**
+   * Calls a callback, reporting what it throws like an exception thrown from an event handler, so
+   * that the other callbacks still get called.
+   */
+  private static void callSafely(Runnable call) {
+    try {
+      call.run();
+    } catch (Throwable e) {
+      final RuntimeException rethrown =
+          e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+      Scheduler.get()
+          .schedule(
+              () -> {
+                throw rethrown;
+              },
+              0);
+    }
+  }
+}
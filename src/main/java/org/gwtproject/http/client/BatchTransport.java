@@ -0,0 +1,512 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.core.Uint8Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.gwtproject.http.client.RequestBuilder.Priority;
+import org.gwtproject.http.client.RequestBuilder.ResponseType;
+
+/**
+ * A {@link Transport} packing the requests sent within a short window into a single <code>
+ * multipart/mixed</code> <code>POST</code> to a batch endpoint, which removes a round trip per
+ * request on high-latency links.
+ *
+ * <p>Each part of a batch is an <code>application/http</code> message holding one request, with its
+ * method, path, query, headers and text body, and a <code>Content-ID</code> numbering the parts
+ * from 0. The server answers with a <code>multipart/mixed</code> response holding an <code>
+ * application/http</code> response per part, with the <code>Content-ID</code> of its request,
+ * optionally prefixed with <code>response-</code>. Each request then gets its own {@link Response},
+ * with its own status, headers and text. If the batch call itself fails, or is answered with any
+ * status but <code>200 OK</code>, every request of the batch gets that outcome.
+ *
+ * <p>Only the requests with a text or empty body and the {@link ResponseType#TEXT} response type,
+ * that are neither streaming nor sent with a user, are batched, provided their URL has the same
+ * origin as the batch URL as written: root-relative URLs are only batched with a root-relative
+ * batch URL, and URLs relative to the current document never are. The other requests are sent right
+ * away by the underlying transport. A request alone in its window is sent as is too. The batch call
+ * includes credentials if any of its requests does, and has the highest priority of its requests.
+ *
+ * <p>Each request keeps its own {@link Request}, timeouts and retries; canceling all the requests
+ * of a batch aborts the batch call. A {@link RequestDispatcher} counts each request rather than
+ * each batch, so it may keep requests from joining a batch.
+ */
+public final class BatchTransport implements Transport {
+
+  /** The default maximum number of requests in a batch. */
+  public static final int DEFAULT_MAX_BATCH_SIZE = 20;
+
+  private static final String CRLF = "\r\n";
+
+  private static int boundaries;
+
+  /** A request waiting for its batch to be sent, or for the response to its batch. */
+  private final class Part implements Exchange {
+    private final TransportRequest request;
+    private final TransportCallback callback;
+    private Batch batch;
+    private Exchange exchange;
+    private boolean done;
+
+    Part(TransportRequest request, TransportCallback callback) {
+      this.request = request;
+      this.callback = callback;
+    }
+
+    @Override
+    public boolean isPending() {
+      return exchange != null ? exchange.isPending() : !done;
+    }
+
+    @Override
+    public void abort() {
+      if (done) {
+        return;
+      }
+      done = true;
+      if (exchange != null) {
+        exchange.abort();
+      } else if (batch != null) {
+        batch.onAborted();
+      } else {
+        pending.remove(this);
+        if (pending.isEmpty() && timer != null) {
+          timer.cancel();
+          timer = null;
+        }
+      }
+    }
+  }
+
+  /** The callback of a batch call, passing the outcome to the callbacks of its requests. */
+  private static final class Batch implements TransportCallback {
+    private final List<Part> parts;
+    private Exchange exchange;
+
+    Batch(List<Part> parts) {
+      this.parts = parts;
+    }
+
+    /** Aborts the batch call once all its requests have been aborted. */
+    void onAborted() {
+      for (Part part : parts) {
+        if (!part.done) {
+          return;
+        }
+      }
+      if (exchange != null) {
+        exchange.abort();
+      }
+    }
+
+    @Override
+    public void onHeadersReceived() {
+      for (Part part : parts) {
+        if (!part.done) {
+          part.callback.onHeadersReceived();
+        }
+      }
+    }
+
+    @Override
+    public void onProgress() {
+      for (Part part : parts) {
+        if (!part.done) {
+          part.callback.onProgress();
+        }
+      }
+    }
+
+    @Override
+    public void onChunk(String chunk) {}
+
+    @Override
+    public void onChunk(Uint8Array chunk) {}
+
+    @Override
+    public void onResponse(Response response) {
+      if (response.getStatusCode() != Response.SC_OK) {
+        for (Part part : parts) {
+          if (!part.done) {
+            part.done = true;
+            part.callback.onResponse(response);
+          }
+        }
+        return;
+      }
+
+      String boundary = getBoundary(response.getHeader("Content-Type"));
+      Map<Integer, Response> responses =
+          boundary != null && response.getText() != null
+              ? parse(response.getText(), boundary)
+              : new HashMap<Integer, Response>();
+      for (int i = 0; i < parts.size(); i++) {
+        Part part = parts.get(i);
+        if (part.done) {
+          continue;
+        }
+        part.done = true;
+        Response received = responses.get(i);
+        if (received != null) {
+          part.callback.onResponse(received);
+        } else {
+          part.callback.onError(
+              new RequestException(
+                  "The batch response lacks the response to " + part.request.getUrl()));
+        }
+      }
+    }
+
+    @Override
+    public void onError(Throwable exception) {
+      for (Part part : parts) {
+        if (!part.done) {
+          part.done = true;
+          part.callback.onError(exception);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the boundary of a multipart content type, or null if the content type isn't multipart.
+   */
+  static String getBoundary(String contentType) {
+    if (contentType == null || !contentType.trim().toLowerCase().startsWith("multipart/")) {
+      return null;
+    }
+    for (String parameter : contentType.split(";")) {
+      int equals = parameter.indexOf('=');
+      if (equals > 0 && "boundary".equalsIgnoreCase(parameter.substring(0, equals).trim())) {
+        String boundary = parameter.substring(equals + 1).trim();
+        if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+          boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        return boundary.isEmpty() ? null : boundary;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the path and query of an absolute or root-relative URL, or null for a URL relative to
+   * the current document.
+   */
+  static String getTarget(String url) {
+    int fragment = url.indexOf('#');
+    if (fragment >= 0) {
+      url = url.substring(0, fragment);
+    }
+    if (RequestDispatcher.getOrigin(url).isEmpty()) {
+      return url.startsWith("/") && !url.startsWith("//") ? url : null;
+    }
+    int start = url.indexOf("://") + 3;
+    while (start < url.length() && "/?".indexOf(url.charAt(start)) < 0) {
+      start++;
+    }
+    String target = url.substring(start);
+    return target.startsWith("/") ? target : "/" + target;
+  }
+
+  /**
+   * Parses the text of a batch response into the responses it holds, keyed by the <code>
+   * Content-ID</code> of their request, or by their position if they have none. Malformed parts are
+   * skipped.
+   */
+  static Map<Integer, Response> parse(String text, String boundary) {
+    Map<Integer, Response> responses = new HashMap<>();
+    String delimiter = "--" + boundary;
+    int start = text.indexOf(delimiter);
+    for (int index = 0; start >= 0; index++) {
+      start += delimiter.length();
+      int end = text.indexOf(CRLF + delimiter, start);
+      if (text.startsWith("--", start) || end < 0) {
+        break;
+      }
+      // skip the rest of the delimiter line
+      int partStart = text.indexOf(CRLF, start);
+      if (partStart >= 0 && partStart < end) {
+        parsePart(text.substring(partStart + CRLF.length(), end), index, responses);
+      }
+      start = end + CRLF.length();
+    }
+    return responses;
+  }
+
+  private static void parsePart(String part, int index, Map<Integer, Response> responses) {
+    int mimeEnd = part.indexOf(CRLF + CRLF);
+    if (mimeEnd < 0) {
+      return;
+    }
+    int id = index;
+    for (Header header : ResponseImpl.parseHeaders(part.substring(0, mimeEnd))) {
+      if (header.getName().equalsIgnoreCase("Content-ID")) {
+        id = parseContentId(header.getValue(), index);
+      }
+    }
+
+    String message = part.substring(mimeEnd + 2 * CRLF.length());
+    int headEnd = message.indexOf(CRLF + CRLF);
+    if (headEnd < 0) {
+      return;
+    }
+    String head = message.substring(0, headEnd);
+    int statusLineEnd = head.indexOf(CRLF);
+    String statusLine = statusLineEnd >= 0 ? head.substring(0, statusLineEnd) : head;
+    String headers = statusLineEnd >= 0 ? head.substring(statusLineEnd + CRLF.length()) : "";
+
+    // HTTP/1.1 200 OK
+    int codeStart = statusLine.indexOf(' ') + 1;
+    int codeEnd = statusLine.indexOf(' ', codeStart);
+    if (codeEnd < 0) {
+      codeEnd = statusLine.length();
+    }
+    int statusCode;
+    try {
+      statusCode = Integer.parseInt(statusLine.substring(codeStart, codeEnd));
+    } catch (NumberFormatException e) {
+      return;
+    }
+    String statusText = codeEnd < statusLine.length() ? statusLine.substring(codeEnd + 1) : "";
+    String body = message.substring(headEnd + 2 * CRLF.length());
+    responses.put(id, new CachedResponse(statusCode, statusText, headers, body));
+  }
+
+  /** Returns the number in a Content-ID such as <code>&lt;response-3&gt;</code>. */
+  private static int parseContentId(String contentId, int index) {
+    String id = contentId.trim();
+    if (id.startsWith("<") && id.endsWith(">")) {
+      id = id.substring(1, id.length() - 1);
+    }
+    try {
+      return Integer.parseInt(id.substring(id.lastIndexOf('-') + 1));
+    } catch (NumberFormatException e) {
+      return index;
+    }
+  }
+
+  private final String batchUrl;
+  private final String origin;
+  private final int windowMillis;
+  private final int maxBatchSize;
+  private final Transport transport;
+  private final List<Part> pending = new ArrayList<>();
+  private Scheduler.Timer timer;
+
+  /**
+   * Creates a transport batching the requests sent in the same event loop turn, making its calls
+   * with an {@link XhrTransport}.
+   *
+   * @param batchUrl the URL of the batch endpoint
+   * @throws NullPointerException if batchUrl is null
+   * @throws IllegalArgumentException if batchUrl is empty
+   */
+  public BatchTransport(String batchUrl) {
+    this(batchUrl, 0, DEFAULT_MAX_BATCH_SIZE, new XhrTransport());
+  }
+
+  /**
+   * Creates a transport.
+   *
+   * @param batchUrl the URL of the batch endpoint
+   * @param windowMillis the time, in milliseconds, requests are collected for once the first one is
+   *     sent; 0 collects the requests sent in the same event loop turn
+   * @param maxBatchSize the maximum number of requests in a batch, which is sent right away once
+   *     full
+   * @param transport the transport making the batch calls, and sending the requests that are not
+   *     batched
+   * @throws NullPointerException if batchUrl or transport is null
+   * @throws IllegalArgumentException if batchUrl is empty, windowMillis is negative, or
+   *     maxBatchSize is less than 1
+   */
+  public BatchTransport(String batchUrl, int windowMillis, int maxBatchSize, Transport transport) {
+    StringValidator.throwIfEmptyOrNull("batchUrl", batchUrl);
+    StringValidator.throwIfNull("transport", transport);
+    if (windowMillis < 0) {
+      throw new IllegalArgumentException("windowMillis cannot be negative");
+    }
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("maxBatchSize must be at least 1");
+    }
+
+    this.batchUrl = batchUrl;
+    this.origin = RequestDispatcher.getOrigin(batchUrl);
+    this.windowMillis = windowMillis;
+    this.maxBatchSize = maxBatchSize;
+    this.transport = transport;
+  }
+
+  /** Returns the URL of the batch endpoint. */
+  public String getBatchUrl() {
+    return batchUrl;
+  }
+
+  /** Returns the maximum number of requests in a batch. */
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /** Returns the time, in milliseconds, requests are collected for. */
+  public int getWindowMillis() {
+    return windowMillis;
+  }
+
+  @Override
+  public Exchange send(TransportRequest request, TransportCallback callback)
+      throws RequestException {
+    if (!isBatchable(request)) {
+      return transport.send(request, callback);
+    }
+
+    Part part = new Part(request, callback);
+    pending.add(part);
+    if (pending.size() >= maxBatchSize) {
+      flush();
+    } else if (timer == null) {
+      timer = Scheduler.get().schedule(this::flush, windowMillis);
+    }
+    return part;
+  }
+
+  private boolean isBatchable(TransportRequest request) {
+    Object requestData = request.getRequestData();
+    return request.getUser() == null
+        && !request.isStreaming()
+        && request.getResponseType() == ResponseType.TEXT
+        && (requestData == null || requestData instanceof String)
+        && RequestDispatcher.getOrigin(request.getUrl()).equals(origin)
+        && getTarget(request.getUrl()) != null
+        && !hasLineBreaks(request.getHeaders());
+  }
+
+  /**
+   * Returns true if a header has a line break, which would corrupt the batch; the underlying
+   * transport is left to reject such a header.
+   */
+  private static boolean hasLineBreaks(Map<String, String> headers) {
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      String line = header.getKey() + header.getValue();
+      if (line.indexOf('\r') >= 0 || line.indexOf('\n') >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Sends the pending requests. */
+  private void flush() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+    List<Part> parts = new ArrayList<>(pending);
+    pending.clear();
+
+    if (parts.isEmpty()) {
+      return;
+    }
+    if (parts.size() == 1) {
+      Part part = parts.get(0);
+      try {
+        part.exchange = transport.send(part.request, part.callback);
+      } catch (RequestException e) {
+        part.done = true;
+        part.callback.onError(e);
+      }
+      return;
+    }
+
+    Batch batch = new Batch(parts);
+    boolean includeCredentials = false;
+    Priority priority = Priority.BACKGROUND;
+    for (Part part : parts) {
+      part.batch = batch;
+      includeCredentials |= part.request.isIncludeCredentials();
+      if (part.request.getPriority().compareTo(priority) < 0) {
+        priority = part.request.getPriority();
+      }
+    }
+
+    String boundary = createBoundary(parts);
+    Map<String, String> headers = new HashMap<>();
+    headers.put("Content-Type", "multipart/mixed; boundary=" + boundary);
+    TransportRequest request =
+        new TransportRequest(
+            RequestBuilder.POST.toString(),
+            batchUrl,
+            null,
+            null,
+            headers,
+            encode(parts, boundary),
+            includeCredentials,
+            priority,
+            ResponseType.TEXT,
+            false);
+    try {
+      batch.exchange = transport.send(request, batch);
+    } catch (RequestException e) {
+      batch.onError(e);
+    }
+  }
+
+  /** Returns a boundary that appears in none of the requests. */
+  private static String createBoundary(List<Part> parts) {
+    while (true) {
+      String boundary =
+          "batch_" + (++boundaries) + "_" + Integer.toString((int) (Math.random() * 1e9), 36);
+      boolean unique = true;
+      for (Part part : parts) {
+        Object requestData = part.request.getRequestData();
+        if (requestData != null && ((String) requestData).contains(boundary)) {
+          unique = false;
+          break;
+        }
+      }
+      if (unique) {
+        return boundary;
+      }
+    }
+  }
+
+  private static String encode(List<Part> parts, String boundary) {
+    StringBuilder body = new StringBuilder();
+    for (int i = 0; i < parts.size(); i++) {
+      TransportRequest request = parts.get(i).request;
+      body.append("--").append(boundary).append(CRLF);
+      body.append("Content-Type: application/http").append(CRLF);
+      body.append("Content-ID: <").append(i).append('>').append(CRLF);
+      body.append(CRLF);
+      body.append(request.getHTTPMethod())
+          .append(' ')
+          .append(getTarget(request.getUrl()))
+          .append(" HTTP/1.1")
+          .append(CRLF);
+      for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+        body.append(header.getKey()).append(": ").append(header.getValue()).append(CRLF);
+      }
+      body.append(CRLF);
+      if (request.getRequestData() != null) {
+        body.append((String) request.getRequestData());
+      }
+      body.append(CRLF);
+    }
+    body.append("--").append(boundary).append("--").append(CRLF);
+    return body.toString();
+  }
+}
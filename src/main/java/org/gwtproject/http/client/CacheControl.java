@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** The directives of a <code>Cache-Control</code> header. */
+final class CacheControl {
+
+  /**
+   * Parses the value of a <code>Cache-Control</code> header. Directive names are case-insensitive;
+   * quoted values are unquoted.
+   *
+   * @param header the header value, may be null
+   * @return the parsed directives
+   */
+  static CacheControl parse(String header) {
+    CacheControl cacheControl = new CacheControl();
+    if (header == null) {
+      return cacheControl;
+    }
+
+    int pos = 0;
+    while (pos < header.length()) {
+      int end = pos;
+      while (end < header.length() && header.charAt(end) != ',' && header.charAt(end) != '=') {
+        end++;
+      }
+      String name = header.substring(pos, end).trim().toLowerCase();
+      String value = null;
+      if (end < header.length() && header.charAt(end) == '=') {
+        pos = end + 1;
+        if (pos < header.length() && header.charAt(pos) == '"') {
+          end = header.indexOf('"', pos + 1);
+          if (end < 0) {
+            end = header.length();
+          }
+          value = header.substring(pos + 1, end);
+          end = header.indexOf(',', end);
+          if (end < 0) {
+            end = header.length();
+          }
+        } else {
+          end = header.indexOf(',', pos);
+          if (end < 0) {
+            end = header.length();
+          }
+          value = header.substring(pos, end).trim();
+        }
+      }
+      if (!name.isEmpty()) {
+        cacheControl.directives.put(name, value);
+      }
+      pos = end + 1;
+    }
+    return cacheControl;
+  }
+
+  /**
+   * Parses a delta-seconds value, as found in the <code>Age</code> header or in directives such as
+   * <code>max-age</code>.
+   *
+   * @param value the value to parse, may be null
+   * @return the number of seconds, or -1 if the value is null or invalid
+   */
+  static long parseDeltaSeconds(String value) {
+    if (value == null || value.isEmpty()) {
+      return -1;
+    }
+    long seconds = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      // saturate rather than overflow, as RFC 9111 recommends
+      seconds = Math.min(seconds * 10 + (c - '0'), Integer.MAX_VALUE);
+    }
+    return seconds;
+  }
+
+  private final Map<String, String> directives = new HashMap<>();
+
+  private CacheControl() {}
+
+  /**
+   * Returns true if the given directive is present.
+   *
+   * @param directive the lower-case directive name
+   */
+  boolean has(String directive) {
+    return directives.containsKey(directive);
+  }
+
+  /**
+   * Returns the value of a delta-seconds directive (such as <code>max-age</code>) in seconds, or -1
+   * if the directive is missing or its value is invalid.
+   *
+   * @param directive the lower-case directive name
+   */
+  long getSeconds(String directive) {
+    return parseDeltaSeconds(directives.get(directive));
+  }
+}
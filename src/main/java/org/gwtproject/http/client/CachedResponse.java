@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/** An immutable snapshot of a {@link Response}, as kept in a {@link ResponseCache}. */
+final class CachedResponse extends Response {
+
+  private final int statusCode;
+  private final String statusText;
+  private final String headers;
+  private final String text;
+
+  /**
+   * Takes a snapshot of the given response.
+   *
+   * @param response the response to copy
+   */
+  CachedResponse(Response response) {
+    this(
+        response.getStatusCode(),
+        response.getStatusText(),
+        response.getHeadersAsString(),
+        response.getText());
+  }
+
+  CachedResponse(int statusCode, String statusText, String headers, String text) {
+    this.statusCode = statusCode;
+    this.statusText = statusText;
+    this.headers = headers;
+    this.text = text;
+  }
+
+  @Override
+  public String getHeader(String header) {
+    StringValidator.throwIfEmptyOrNull("header", header);
+
+    // Same as XmlHttpRequest.getResponseHeader: case-insensitive, and combining repeated headers
+    String value = null;
+    for (Header h : getHeaders()) {
+      if (h.getName().equalsIgnoreCase(header)) {
+        value = value == null ? h.getValue() : value + ", " + h.getValue();
+      }
+    }
+    return value;
+  }
+
+  @Override
+  public Header[] getHeaders() {
+    return ResponseImpl.parseHeaders(headers);
+  }
+
+  @Override
+  public String getHeadersAsString() {
+    return headers;
+  }
+
+  @Override
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  @Override
+  public String getStatusText() {
+    return statusText;
+  }
+
+  @Override
+  public String getText() {
+    return text;
+  }
+
+  /** Returns the approximate number of bytes this response occupies in memory. */
+  int getSize() {
+    int length = headers.length() + (statusText == null ? 0 : statusText.length());
+    if (text != null) {
+      length += text.length();
+    }
+    // JavaScript strings are UTF-16
+    return 2 * length;
+  }
+}
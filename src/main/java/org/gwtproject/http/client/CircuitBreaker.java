@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stops sending requests to an endpoint that keeps failing, so that clients fail fast rather than
+ * waiting on a dead server, and let it recover.
+ *
+ * <p>Requests sent through a {@link RequestBuilder} configured with a circuit breaker (see {@link
+ * RequestBuilder#setCircuitBreaker(CircuitBreaker)}) are tracked per key, by default the origin of
+ * their URL. A call fails when it is reported to {@link RequestCallback#onError(Request,
+ * Throwable)}, including timeouts, or when its response has a 5xx status code, or the status code 0
+ * of a network error. Once a key has seen the failure threshold of consecutive failures, its
+ * circuit opens: requests to that key are no longer sent, and {@link RequestBuilder#send()} throws
+ * a {@link CircuitOpenException} right away, without any HTTP call.
+ *
+ * <p>When the circuit has been open for the open duration, a single trial request is let through.
+ * If it succeeds, the circuit closes; if it fails, the circuit stays open for another open
+ * duration, after which another trial request is let through.
+ *
+ * <p>A single circuit breaker is meant to be shared by all the builders of an application.
+ * Subclasses may override {@link #getKey(String)} to track finer grained endpoints, e.g. URL
+ * patterns.
+ */
+public class CircuitBreaker {
+
+  /** The default number of consecutive failures opening a circuit. */
+  public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+  /** The default time in milliseconds a circuit stays open before letting a request through. */
+  public static final int DEFAULT_OPEN_MILLIS = 30000;
+
+  /** The state of the circuit of a key that has seen failures. */
+  private static final class Circuit {
+    int failures;
+    /** The time a trial request may be sent, if the circuit is open. */
+    long retryTime;
+  }
+
+  private final int failureThreshold;
+  private final int openMillis;
+
+  /** Circuits keyed by {@link #getKey(String)}, for the keys whose last call failed. */
+  private final Map<String, Circuit> circuits = new HashMap<>();
+
+  /**
+   * Creates a circuit breaker opening after {@link #DEFAULT_FAILURE_THRESHOLD} consecutive
+   * failures, for {@link #DEFAULT_OPEN_MILLIS}.
+   */
+  public CircuitBreaker() {
+    this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_MILLIS);
+  }
+
+  /**
+   * Creates a circuit breaker with the given failure threshold and open duration.
+   *
+   * @param failureThreshold the number of consecutive failures opening a circuit
+   * @param openMillis the time in milliseconds a circuit stays open before letting a trial request
+   *     through
+   * @throws IllegalArgumentException if failureThreshold is less than 1, or openMillis is negative
+   */
+  public CircuitBreaker(int failureThreshold, int openMillis) {
+    if (failureThreshold < 1) {
+      throw new IllegalArgumentException("failureThreshold must be at least 1");
+    }
+    if (openMillis < 0) {
+      throw new IllegalArgumentException("openMillis cannot be negative");
+    }
+
+    this.failureThreshold = failureThreshold;
+    this.openMillis = openMillis;
+  }
+
+  /** Returns the number of consecutive failures opening a circuit. */
+  public int getFailureThreshold() {
+    return failureThreshold;
+  }
+
+  /** Returns the time in milliseconds a circuit stays open before letting a request through. */
+  public int getOpenMillis() {
+    return openMillis;
+  }
+
+  /**
+   * Returns whether the circuit of the given URL is open. An open circuit may still let a trial
+   * request through, if it has been open long enough.
+   *
+   * @param url an URL, only its key is taken into account
+   */
+  public boolean isOpen(String url) {
+    Circuit circuit = circuits.get(getKey(url));
+    return circuit != null && circuit.failures >= failureThreshold;
+  }
+
+  /**
+   * Returns the key whose circuit tracks requests to the given URL. The default implementation
+   * returns the origin (scheme, host and port) of the URL, or the empty string if the URL is
+   * relative to the current document.
+   *
+   * @param url the URL of a request
+   * @return the key of the circuit
+   */
+  protected String getKey(String url) {
+    return RequestDispatcher.getOrigin(url);
+  }
+
+  /**
+   * Lets a request to the given URL through, unless its circuit is open. Once the open duration has
+   * elapsed, a single request is let through, and the circuit stays open for another open duration
+   * unless that request succeeds.
+   *
+   * @throws CircuitOpenException if the circuit is open
+   */
+  void acquire(String url) throws CircuitOpenException {
+    acquire(url, System.currentTimeMillis());
+  }
+
+  void acquire(String url, long nowMillis) throws CircuitOpenException {
+    String key = getKey(url);
+    Circuit circuit = circuits.get(key);
+    if (circuit == null || circuit.failures < failureThreshold) {
+      return;
+    }
+    if (nowMillis < circuit.retryTime) {
+      throw new CircuitOpenException(key, (int) (circuit.retryTime - nowMillis));
+    }
+    // the trial request
+    circuit.retryTime = nowMillis + openMillis;
+  }
+
+  /** Records the response to a call, a 5xx status code counting as a failure. */
+  void onResponse(String url, int statusCode) {
+    onResponse(url, statusCode, System.currentTimeMillis());
+  }
+
+  void onResponse(String url, int statusCode, long nowMillis) {
+    if (statusCode == 0 || statusCode >= 500) {
+      onError(url, nowMillis);
+    } else {
+      circuits.remove(getKey(url));
+    }
+  }
+
+  /** Records a failed call. */
+  void onError(String url) {
+    onError(url, System.currentTimeMillis());
+  }
+
+  void onError(String url, long nowMillis) {
+    String key = getKey(url);
+    Circuit circuit = circuits.get(key);
+    if (circuit == null) {
+      circuit = new Circuit();
+      circuits.put(key, circuit);
+    }
+    circuit.failures++;
+    if (circuit.failures >= failureThreshold) {
+      // opens the circuit, or keeps it open after a failed trial request
+      circuit.retryTime = nowMillis + openMillis;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/** Thrown when a request is not sent because the {@link CircuitBreaker} of its endpoint is open. */
+@SuppressWarnings("serial")
+public class CircuitOpenException extends RequestException {
+  private static String formatMessage(String key, int retryAfterMillis) {
+    return "The circuit of " + key + " is open, retry after " + retryAfterMillis + " ms";
+  }
+
+  /** Key of the open circuit. */
+  private final String key;
+
+  /** Time, in milliseconds, before the circuit lets a request through again. */
+  private final int retryAfterMillis;
+
+  /**
+   * Constructs an exception for the given circuit.
+   *
+   * @param key the key of the open circuit, as returned by {@link CircuitBreaker#getKey(String)}
+   * @param retryAfterMillis the number of milliseconds before a request may be sent again
+   */
+  public CircuitOpenException(String key, int retryAfterMillis) {
+    super(formatMessage(key, retryAfterMillis));
+    this.key = key;
+    this.retryAfterMillis = retryAfterMillis;
+  }
+
+  /**
+   * Returns the key of the open circuit, e.g. the origin of the request.
+   *
+   * @return the key of the open circuit
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Returns the number of milliseconds before the circuit lets a request through again.
+   *
+   * @return the number of milliseconds before a request may be sent again
+   */
+  public int getRetryAfterMillis() {
+    return retryAfterMillis;
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/**
+ * An {@link Exchange} that runs a task asynchronously, as soon as possible. This is used to notify
+ * a request with a response that is already available, e.g. from a cache, without calling back
+ * before the caller even got the {@link Request}.
+ */
+final class DeferredExchange implements Exchange {
+
+  private Scheduler.Timer timer;
+  private boolean pending;
+
+  /**
+   * Schedules the task.
+   *
+   * @param task the task to run, unless the exchange is aborted first
+   */
+  void schedule(Runnable task) {
+    pending = true;
+    timer =
+        Scheduler.get()
+            .schedule(
+                () -> {
+                  pending = false;
+                  task.run();
+                },
+                0);
+  }
+
+  @Override
+  public boolean isPending() {
+    return pending;
+  }
+
+  @Override
+  public void abort() {
+    if (pending) {
+      pending = false;
+      timer.cancel();
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/**
+ * The operation a {@link Request} is waiting on: usually an HTTP call made by a {@link Transport},
+ * but possibly the delivery of a cached response, or a call shared with other requests.
+ *
+ * <p>This is the transport-neutral handle a {@link Transport} returns for each call it makes.
+ */
+public interface Exchange {
+
+  /** Returns true if the operation is still in progress. */
+  boolean isPending();
+
+  /**
+   * Aborts the operation. The {@link TransportCallback} of the call must not be notified
+   * afterwards. Calling this method on an operation that is over has no effect.
+   */
+  void abort();
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.core.Uint8Array;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
+import jsinterop.base.JsPropertyMap;
+
+/**
+ * The detection of the <a href="https://fetch.spec.whatwg.org/">Fetch</a>, <a
+ * href="https://streams.spec.whatwg.org/">Streams</a> and <a
+ * href="https://encoding.spec.whatwg.org/">Encoding</a> APIs used by {@link FetchExchange}.
+ *
+ * <p>The Fetch and Streams APIs are used through their elemental2 bindings, but elemental2 1.1.0
+ * has no binding for the Encoding API, hence the {@link TextDecoder} declared here.
+ */
+final class Fetch {
+
+  /** Returns true if all the APIs used by {@link FetchExchange} are available. */
+  static boolean isSupported() {
+    JsPropertyMap<Object> global = Js.global();
+    return global.has("fetch")
+        && global.has("AbortController")
+        && global.has("ReadableStream")
+        && global.has("TextDecoder");
+  }
+
+  @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "TextDecoder")
+  static class TextDecoder {
+    /** Decodes a chunk of a stream, keeping incomplete characters for the next call. */
+    public native String decode(Uint8Array input, JsPropertyMap<Object> options);
+
+    /** Decodes the incomplete characters left at the end of a stream. */
+    public native String decode();
+  }
+
+  private Fetch() {}
+}
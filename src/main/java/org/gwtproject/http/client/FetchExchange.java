@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.core.Uint8Array;
+import elemental2.dom.AbortController;
+import elemental2.dom.DomGlobal;
+import elemental2.dom.ReadableStream;
+import elemental2.dom.ReadableStreamDefaultReader;
+import elemental2.dom.RequestInit;
+import elemental2.promise.IThenable;
+import elemental2.promise.IThenable.ThenOnFulfilledCallbackFn;
+import elemental2.promise.IThenable.ThenOnRejectedCallbackFn;
+import jsinterop.base.Js;
+import jsinterop.base.JsPropertyMap;
+import org.gwtproject.http.client.RequestBuilder.ResponseType;
+
+/**
+ * An {@link Exchange} making an HTTP call with the Fetch API. Canceling the request aborts the call
+ * through an <code>AbortController</code>.
+ *
+ * <p>Like <code>XMLHttpRequest</code>, a call failing once started, e.g. because of a network error
+ * or a CORS failure, completes with a response with the status code 0 rather than an error.
+ *
+ * <p>When streaming, the body is read from the <code>ReadableStream</code> of the response and
+ * passed on chunk by chunk, without being retained: the final {@link Response} then has no body.
+ */
+final class FetchExchange implements Exchange {
+
+  /** The options passed to <code>TextDecoder.decode()</code> for all the chunks but the last. */
+  private static final JsPropertyMap<Object> STREAM = JsPropertyMap.<Object>of("stream", true);
+
+  private final ResponseType responseType;
+  private final boolean streaming;
+  private final AbortController abortController = new AbortController();
+  private TransportCallback callback;
+  private boolean pending = true;
+
+  /**
+   * Constructs an exchange. It is pending until it completes or is aborted, even before it is
+   * started.
+   *
+   * @param responseType the type the response body is received as
+   * @param streaming whether to stream the body, only possible for the {@link ResponseType#TEXT}
+   *     and {@link ResponseType#ARRAY_BUFFER} response types
+   */
+  FetchExchange(ResponseType responseType, boolean streaming) {
+    this.responseType = responseType;
+    this.streaming = streaming;
+  }
+
+  /**
+   * Makes the call, unless the exchange has already been aborted.
+   *
+   * @param url the URL of the request
+   * @param init the options of the call, as expected by <code>fetch()</code>
+   * @param callback the callback to notify with the outcome of the call
+   * @throws RequestException if the URL or the options are invalid, e.g. hold a forbidden header
+   */
+  void start(String url, JsPropertyMap<Object> init, TransportCallback callback)
+      throws RequestException {
+    if (!pending) {
+      return;
+    }
+
+    RequestInit requestInit = Js.uncheckedCast(init);
+    requestInit.setSignal(abortController.signal);
+    // fetch() would only reject its promise, as it does for network errors: building the request
+    // first tells invalid requests apart, which XMLHttpRequest reports by throwing too
+    elemental2.dom.Request fetchRequest;
+    try {
+      fetchRequest = new elemental2.dom.Request(url, requestInit);
+    } catch (Throwable e) {
+      pending = false;
+      throw new RequestException(e.getMessage());
+    }
+
+    this.callback = callback;
+    DomGlobal.fetch(fetchRequest).then(onFulfilled(this::onHeaders), onRejected(this::onFailure));
+  }
+
+  @Override
+  public boolean isPending() {
+    return pending;
+  }
+
+  @Override
+  public void abort() {
+    if (pending) {
+      pending = false;
+      // also rejects the pending reads of the body
+      abortController.abort();
+    }
+  }
+
+  private void onHeaders(elemental2.dom.Response response) {
+    if (!pending) {
+      return;
+    }
+    callback.onHeadersReceived();
+    if (!pending) {
+      // aborted by the callback
+      return;
+    }
+
+    ReadableStream<Uint8Array> body = Js.uncheckedCast(response.body);
+    if (streaming && body != null) {
+      Fetch.TextDecoder decoder =
+          responseType == ResponseType.TEXT ? new Fetch.TextDecoder() : null;
+      read(response, body.getReader().asReadableStreamDefaultReader(), decoder);
+      return;
+    }
+
+    switch (responseType) {
+      case ARRAY_BUFFER:
+        response
+            .arrayBuffer()
+            .then(onFulfilled(value -> complete(response, value)), onRejected(this::onFailure));
+        break;
+      case BLOB:
+        response
+            .blob()
+            .then(onFulfilled(value -> complete(response, value)), onRejected(this::onFailure));
+        break;
+      case JSON:
+        // like XMLHttpRequest, an invalid JSON body yields a null value rather than an error
+        response
+            .json()
+            .then(
+                onFulfilled(value -> complete(response, value)),
+                onRejected(
+                    error -> {
+                      if ("SyntaxError".equals(Js.asPropertyMap(error).get("name"))) {
+                        complete(response, null);
+                      } else {
+                        onFailure(error);
+                      }
+                    }));
+        break;
+      default:
+        response
+            .text()
+            .then(onFulfilled(value -> complete(response, value)), onRejected(this::onFailure));
+    }
+  }
+
+  /** Reads the next chunk of the body, or completes the exchange if the body is over. */
+  private void read(
+      elemental2.dom.Response response,
+      ReadableStreamDefaultReader<Uint8Array> reader,
+      Fetch.TextDecoder decoder) {
+    reader
+        .read()
+        .then(
+            onFulfilled(
+                result -> {
+                  if (!pending) {
+                    return;
+                  }
+                  if (result.isDone()) {
+                    if (decoder != null) {
+                      onChunk(decoder.decode());
+                    }
+                    complete(response, null);
+                    return;
+                  }
+                  if (decoder != null) {
+                    onChunk(decoder.decode(result.getValue(), STREAM));
+                  } else {
+                    callback.onChunk(result.getValue());
+                  }
+                  // the callback may have aborted the exchange
+                  if (pending) {
+                    read(response, reader, decoder);
+                  }
+                }),
+            onRejected(this::onFailure));
+  }
+
+  private void onChunk(String chunk) {
+    if (!chunk.isEmpty()) {
+      callback.onChunk(chunk);
+    }
+  }
+
+  private void complete(elemental2.dom.Response response, Object body) {
+    if (!pending) {
+      return;
+    }
+
+    pending = false;
+    callback.onResponse(new FetchResponse(response, responseType, body));
+  }
+
+  /** Completes the exchange like an <code>XMLHttpRequest</code> failing with a network error. */
+  private void onFailure(Object error) {
+    if (!pending) {
+      return;
+    }
+
+    pending = false;
+    callback.onResponse(
+        new CachedResponse(0, "", "", responseType == ResponseType.TEXT ? "" : null));
+  }
+
+  /** A function called with the outcome of a promise. */
+  private interface Callback<T> {
+    void accept(T value);
+  }
+
+  /** Wraps a callback for the fulfillment of a promise, see {@link #guard(Callback, Object)}. */
+  private static <T> ThenOnFulfilledCallbackFn<T, Void> onFulfilled(Callback<T> callback) {
+    return value -> guard(callback, value);
+  }
+
+  /** Wraps a callback for the rejection of a promise, see {@link #guard(Callback, Object)}. */
+  private static ThenOnRejectedCallbackFn<Void> onRejected(Callback<Object> callback) {
+    return error -> guard(callback, error);
+  }
+
+  /**
+   * Calls a promise callback so that the exceptions it throws, e.g. from a {@link RequestCallback},
+   * are reported like those thrown from an event handler rather than rejecting a promise nobody
+   * listens to.
+   */
+  private static <T> IThenable<Void> guard(Callback<T> callback, T value) {
+    try {
+      callback.accept(value);
+    } catch (Throwable e) {
+      DomGlobal.setTimeout(
+          args -> {
+            throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+          },
+          0);
+    }
+    return null;
+  }
+}
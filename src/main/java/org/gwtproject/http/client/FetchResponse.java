@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.core.ArrayBuffer;
+import elemental2.core.JsArray;
+import elemental2.core.JsIIterableResult;
+import elemental2.core.JsIteratorIterable;
+import elemental2.dom.Blob;
+import jsinterop.base.Any;
+import jsinterop.base.Js;
+import org.gwtproject.http.client.RequestBuilder.ResponseType;
+
+/** A {@link Response} implementation based on the response to a <code>fetch()</code> call. */
+class FetchResponse extends Response {
+
+  private final elemental2.dom.Response response;
+  private final ResponseType responseType;
+  private final Object body;
+
+  /**
+   * Constructs a response.
+   *
+   * @param response the response to the <code>fetch()</code> call
+   * @param responseType the type the body was received as
+   * @param body the body, or null if it was streamed
+   */
+  FetchResponse(elemental2.dom.Response response, ResponseType responseType, Object body) {
+    this.response = response;
+    this.responseType = responseType;
+    this.body = body;
+  }
+
+  @Override
+  public ArrayBuffer getArrayBuffer() {
+    return responseType == ResponseType.ARRAY_BUFFER ? Js.uncheckedCast(body) : null;
+  }
+
+  @Override
+  public Blob getBlob() {
+    return responseType == ResponseType.BLOB ? Js.uncheckedCast(body) : null;
+  }
+
+  @Override
+  public String getHeader(String header) {
+    StringValidator.throwIfEmptyOrNull("header", header);
+
+    return response.headers.get(header);
+  }
+
+  @Override
+  public Header[] getHeaders() {
+    return ResponseImpl.parseHeaders(getHeadersAsString());
+  }
+
+  @Override
+  public String getHeadersAsString() {
+    // same format as XMLHttpRequest.getAllResponseHeaders()
+    StringBuilder headers = new StringBuilder();
+    JsIteratorIterable<JsArray<String>> entries = response.headers.entries();
+    for (JsIIterableResult<JsArray<String>> entry = entries.next();
+        !entry.isDone();
+        entry = entries.next()) {
+      JsArray<String> header = entry.getValue();
+      headers.append(header.getAt(0)).append(": ").append(header.getAt(1)).append("\r\n");
+    }
+    return headers.toString();
+  }
+
+  @Override
+  public Any getJson() {
+    return responseType == ResponseType.JSON ? Js.asAny(body) : null;
+  }
+
+  @Override
+  public int getStatusCode() {
+    return response.status;
+  }
+
+  @Override
+  public String getStatusText() {
+    return response.statusText;
+  }
+
+  @Override
+  public String getText() {
+    return responseType == ResponseType.TEXT ? Js.uncheckedCast(body) : null;
+  }
+}
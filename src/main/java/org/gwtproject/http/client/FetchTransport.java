@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import java.util.Map;
+import jsinterop.base.JsPropertyMap;
+import org.gwtproject.http.client.RequestBuilder.ResponseType;
+
+/**
+ * A {@link Transport} making calls with the Fetch API. Compared to {@link XhrTransport}:
+ *
+ * <ul>
+ *   <li>a {@link StreamingRequestCallback} is passed the body as it is read from a stream, in
+ *       constant memory: the body is not retained, so it is missing from the final {@link
+ *       Response}, which is then not cached either;
+ *   <li>with the {@link ResponseType#ARRAY_BUFFER} response type, a {@link
+ *       StreamingRequestCallback} is passed the body as bytes;
+ *   <li>the {@link RequestBuilder.Priority} of the request is passed to the browser as a fetch
+ *       priority hint;
+ *   <li>progress is only reported while a body is streamed, so the idle timeout (see {@link
+ *       RequestBuilder#setIdleTimeoutMillis(int)}) only applies to streaming requests.
+ * </ul>
+ *
+ * <p>As with {@link XhrTransport}, an invalid request, e.g. with a forbidden header, is rejected
+ * with a {@link RequestException} when sent, and a call failing once started, e.g. because of a
+ * network error, completes with a {@link Response} with the status code 0.
+ *
+ * <p>Requests for which a user has been set (see {@link RequestBuilder#setUser(String)}), and
+ * requests sent from browsers lacking the Fetch, Streams or Encoding APIs (see {@link
+ * #isSupported()}), are sent with <code>XMLHttpRequest</code> instead.
+ */
+public final class FetchTransport implements Transport {
+
+  /**
+   * Returns true if the browser supports everything this transport needs: the Fetch API, <code>
+   * AbortController</code>, <code>ReadableStream</code> and <code>TextDecoder</code>.
+   */
+  public static boolean isSupported() {
+    return Fetch.isSupported();
+  }
+
+  private final Transport fallback = new XhrTransport();
+
+  @Override
+  public Exchange send(TransportRequest request, TransportCallback callback)
+      throws RequestException {
+    // fetch() has no equivalent to the user and password of XMLHttpRequest.open()
+    if (request.getUser() != null || !isSupported()) {
+      return fallback.send(request, callback);
+    }
+
+    ResponseType responseType = request.getResponseType();
+    boolean streaming =
+        request.isStreaming()
+            && (responseType == ResponseType.TEXT || responseType == ResponseType.ARRAY_BUFFER);
+    FetchExchange exchange = new FetchExchange(responseType, streaming);
+    exchange.start(request.getUrl(), createInit(request), callback);
+    return exchange;
+  }
+
+  /**
+   * Returns the options of the <code>fetch()</code> call, but for its abort signal. They are built
+   * as a map rather than a <code>RequestInit</code>, which has no <code>priority</code> in
+   * elemental2 1.1.0.
+   */
+  private static JsPropertyMap<Object> createInit(TransportRequest request) {
+    JsPropertyMap<Object> headers = JsPropertyMap.of();
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      headers.set(header.getKey(), header.getValue());
+    }
+
+    JsPropertyMap<Object> init = JsPropertyMap.of();
+    init.set("method", request.getHTTPMethod());
+    init.set("headers", headers);
+    // unlike XMLHttpRequest, which ignores it, fetch() rejects a body for GET and HEAD requests
+    String httpMethod = request.getHTTPMethod();
+    if (request.getRequestData() != null
+        && !RequestBuilder.GET.toString().equals(httpMethod)
+        && !RequestBuilder.HEAD.toString().equals(httpMethod)) {
+      init.set("body", request.getRequestData());
+    }
+    if (request.isIncludeCredentials()) {
+      init.set("credentials", "include");
+    }
+    init.set("priority", request.getPriority().getFetchPriority());
+    return init;
+  }
+}
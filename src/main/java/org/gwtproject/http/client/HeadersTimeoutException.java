@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/**
+ * Thrown to indicate that the status and headers of the response to an HTTP request were not
+ * received in time (see {@link RequestBuilder#setHeadersTimeoutMillis(int)}).
+ */
+@SuppressWarnings("serial")
+public class HeadersTimeoutException extends RequestTimeoutException {
+
+  /**
+   * Constructs a headers timeout exception for the given {@link Request}.
+   *
+   * @param request the request which timed out
+   * @param timeoutMillis the number of milliseconds which expired
+   */
+  public HeadersTimeoutException(Request request, int timeoutMillis) {
+    super(
+        "No response headers were received after " + timeoutMillis + " ms", request, timeoutMillis);
+  }
+}
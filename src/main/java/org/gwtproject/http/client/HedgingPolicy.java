@@ -0,0 +1,357 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.core.Uint8Array;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Cuts the tail latency of idempotent reads by sending a duplicate of a request that takes too
+ * long, and keeping whichever response arrives first.
+ *
+ * <p>When a <code>GET</code> or <code>HEAD</code> request sent through a {@link RequestBuilder}
+ * configured with a hedging policy (see {@link RequestBuilder#setHedgingPolicy(HedgingPolicy)}) has
+ * not completed after the hedging delay, the same call is made a second time. The first response to
+ * arrive is passed to the callback, and the other call is aborted. A failed call is only reported
+ * once the other call has failed too. Streaming requests are never hedged.
+ *
+ * <p>The hedging delay is either fixed, or follows the latency observed for the endpoint (the URL
+ * without its query) of the request: with a percentile of 95, about one request in twenty is
+ * duplicated. The latency of a request is that of its first call; when the duplicate wins, the time
+ * the first call had been waiting is recorded instead. The observed latency is only used once
+ * {@link #MIN_SAMPLES} responses have been received from the endpoint, and never makes the delay
+ * shorter than the delay given to the policy.
+ *
+ * <p>The duplicate call does not take a {@link RequestDispatcher} slot, and when requests are
+ * retried (see {@link RetryPolicy}), every attempt may be hedged. Builders calling the same
+ * endpoints should share one policy.
+ */
+public class HedgingPolicy {
+
+  /** The percentile of the observed latency used as the hedging delay by default. */
+  public static final int DEFAULT_PERCENTILE = 95;
+
+  /** The number of responses from an endpoint needed before its observed latency is used. */
+  public static final int MIN_SAMPLES = 20;
+
+  /** The number of most recent latencies kept per endpoint. */
+  static final int MAX_SAMPLES = 100;
+
+  /** The number of endpoints whose latency is tracked. */
+  static final int MAX_ENDPOINTS = 100;
+
+  /** The most recent latencies observed for an endpoint. */
+  private static final class Latencies {
+    final int[] samples = new int[MAX_SAMPLES];
+    int count;
+    int next;
+
+    void add(int latencyMillis) {
+      samples[next] = latencyMillis;
+      next = (next + 1) % MAX_SAMPLES;
+      count = Math.min(count + 1, MAX_SAMPLES);
+    }
+
+    /** Returns the given percentile of the latencies, with the nearest-rank method. */
+    int getPercentile(int percentile) {
+      int[] sorted = Arrays.copyOf(samples, count);
+      Arrays.sort(sorted);
+      int rank = (percentile * count + 99) / 100;
+      return sorted[Math.max(rank, 1) - 1];
+    }
+  }
+
+  /** A call, possibly made twice. */
+  private final class HedgedExchange implements Exchange {
+    private final Transport transport;
+    private final TransportRequest request;
+    private final TransportCallback callback;
+    private Attempt first;
+    private Attempt second;
+    private Scheduler.Timer timer;
+    private boolean done;
+    private long startMillis;
+
+    HedgedExchange(Transport transport, TransportRequest request, TransportCallback callback) {
+      this.transport = transport;
+      this.request = request;
+      this.callback = callback;
+    }
+
+    void start() throws RequestException {
+      startMillis = currentTimeMillis();
+      first = new Attempt(this);
+      first.start();
+      timer = Scheduler.get().schedule(this::hedge, getDelayMillis(request.getUrl()));
+    }
+
+    private void hedge() {
+      timer = null;
+      if (done) {
+        return;
+      }
+      second = new Attempt(this);
+      try {
+        second.start();
+      } catch (Throwable e) {
+        // keep waiting for the first call
+        second = null;
+      }
+    }
+
+    /**
+     * Ends the exchange with the outcome of the given call, aborting the other one.
+     *
+     * @return whether the exchange was still pending
+     */
+    boolean finish(Attempt attempt) {
+      if (done) {
+        return false;
+      }
+      done = true;
+      if (timer != null) {
+        timer.cancel();
+        timer = null;
+      }
+      // aborting a completed XMLHttpRequest would discard its response
+      Attempt other = getOther(attempt);
+      if (other != null) {
+        other.abort();
+      }
+      return true;
+    }
+
+    /** Returns the other call, or null if it has not been started. */
+    Attempt getOther(Attempt attempt) {
+      return attempt == first ? second : first;
+    }
+
+    @Override
+    public boolean isPending() {
+      return !done;
+    }
+
+    @Override
+    public void abort() {
+      done = true;
+      if (timer != null) {
+        timer.cancel();
+        timer = null;
+      }
+      first.abort();
+      if (second != null) {
+        second.abort();
+      }
+    }
+  }
+
+  /** One of the calls of a {@link HedgedExchange}. */
+  private final class Attempt implements TransportCallback {
+    private final HedgedExchange hedged;
+    private Exchange exchange;
+    private boolean failed;
+
+    Attempt(HedgedExchange hedged) {
+      this.hedged = hedged;
+    }
+
+    void start() throws RequestException {
+      exchange = hedged.transport.send(hedged.request, this);
+    }
+
+    void abort() {
+      if (exchange != null) {
+        exchange.abort();
+      }
+    }
+
+    @Override
+    public void onHeadersReceived() {
+      if (!hedged.done) {
+        hedged.callback.onHeadersReceived();
+      }
+    }
+
+    @Override
+    public void onProgress() {
+      if (!hedged.done) {
+        hedged.callback.onProgress();
+      }
+    }
+
+    @Override
+    public void onChunk(String chunk) {
+      // streaming requests are never hedged
+      if (!hedged.done) {
+        hedged.callback.onChunk(chunk);
+      }
+    }
+
+    @Override
+    public void onChunk(Uint8Array chunk) {
+      if (!hedged.done) {
+        hedged.callback.onChunk(chunk);
+      }
+    }
+
+    @Override
+    public void onResponse(Response response) {
+      if (hedged.finish(this)) {
+        // measured from the first call, which has waited at least that long if the duplicate wins:
+        // the shorter time of the duplicate would shrink the delay, and hedge ever more requests
+        if (!hedged.first.failed) {
+          addLatency(hedged.request.getUrl(), (int) (currentTimeMillis() - hedged.startMillis));
+        }
+        hedged.callback.onResponse(response);
+      }
+    }
+
+    @Override
+    public void onError(Throwable exception) {
+      failed = true;
+      Attempt other = hedged.getOther(this);
+      // a failure before the request is hedged is reported right away
+      if ((other == null || other.failed) && hedged.finish(this)) {
+        hedged.callback.onError(exception);
+      }
+    }
+  }
+
+  /** A transport hedging the calls of another one. */
+  private final class HedgingTransport implements Transport {
+    private final Transport transport;
+
+    HedgingTransport(Transport transport) {
+      this.transport = transport;
+    }
+
+    @Override
+    public Exchange send(TransportRequest request, TransportCallback callback)
+        throws RequestException {
+      HedgedExchange exchange = new HedgedExchange(transport, request, callback);
+      exchange.start();
+      return exchange;
+    }
+  }
+
+  /** Returns the URL without its query or fragment. */
+  static String getEndpoint(String url) {
+    int end = url.length();
+    int query = url.indexOf('?');
+    if (query >= 0) {
+      end = query;
+    }
+    int fragment = url.indexOf('#');
+    if (fragment >= 0 && fragment < end) {
+      end = fragment;
+    }
+    return url.substring(0, end);
+  }
+
+  private final int delayMillis;
+  private final int percentile;
+
+  /** Latencies keyed by endpoint, in least recently used order. */
+  private final LinkedHashMap<String, Latencies> endpoints = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Creates a policy hedging requests after a fixed delay.
+   *
+   * @param delayMillis the delay in milliseconds
+   * @throws IllegalArgumentException if delayMillis is negative
+   */
+  public HedgingPolicy(int delayMillis) {
+    this(delayMillis, 0);
+  }
+
+  /**
+   * Creates a policy hedging requests after the given percentile of the latency observed for their
+   * endpoint, or after the given delay if it is longer, or if too few responses have been received
+   * from the endpoint.
+   *
+   * @param minDelayMillis the minimum delay in milliseconds
+   * @param percentile the percentile of the observed latency, e.g. {@link #DEFAULT_PERCENTILE}, or
+   *     0 to always use the minimum delay
+   * @throws IllegalArgumentException if minDelayMillis is negative, or percentile is not between 0
+   *     and 100
+   */
+  public HedgingPolicy(int minDelayMillis, int percentile) {
+    if (minDelayMillis < 0) {
+      throw new IllegalArgumentException("The delay cannot be negative");
+    }
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100");
+    }
+
+    this.delayMillis = minDelayMillis;
+    this.percentile = percentile;
+  }
+
+  /** Returns the fixed or minimum hedging delay, in milliseconds. */
+  public int getDelayMillis() {
+    return delayMillis;
+  }
+
+  /** Returns the percentile of the observed latency used as hedging delay, or 0 if none. */
+  public int getPercentile() {
+    return percentile;
+  }
+
+  /**
+   * Returns the delay after which a request to the given URL is hedged.
+   *
+   * @param url an URL, only its endpoint is taken into account
+   * @return the delay in milliseconds
+   */
+  public int getDelayMillis(String url) {
+    Latencies latencies = percentile > 0 ? endpoints.get(getEndpoint(url)) : null;
+    if (latencies == null || latencies.count < MIN_SAMPLES) {
+      return delayMillis;
+    }
+    return Math.max(delayMillis, latencies.getPercentile(percentile));
+  }
+
+  /** Returns a transport making the calls of the given one, hedging them. */
+  Transport wrap(Transport transport) {
+    return new HedgingTransport(transport);
+  }
+
+  /** Returns the current time in milliseconds. */
+  long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  /** Records the latency of a response, if the delay follows the observed latency. */
+  void addLatency(String url, int latencyMillis) {
+    if (percentile == 0) {
+      return;
+    }
+    String endpoint = getEndpoint(url);
+    Latencies latencies = endpoints.get(endpoint);
+    if (latencies == null) {
+      latencies = new Latencies();
+      endpoints.put(endpoint, latencies);
+      if (endpoints.size() > MAX_ENDPOINTS) {
+        Iterator<String> eldest = endpoints.keySet().iterator();
+        eldest.next();
+        eldest.remove();
+      }
+    }
+    latencies.add(latencyMillis);
+  }
+}
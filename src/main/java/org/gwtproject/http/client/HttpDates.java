@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/**
+ * Utility class for parsing HTTP dates, as found in the <code>Date</code>, <code>Expires</code> or
+ * <code>Last-Modified</code> headers.
+ *
+ * <p>All three formats allowed by <a
+ * href="https://www.rfc-editor.org/rfc/rfc9110#section-5.6.7">RFC 9110</a> are recognized:
+ * IMF-fixdate (<code>Sun, 06 Nov 1994 08:49:37 GMT</code>), the obsolete RFC 850 format (<code>
+ * Sunday, 06-Nov-94 08:49:37 GMT</code>) and ANSI C's asctime() format (<code>
+ * Sun Nov  6 08:49:37 1994</code>).
+ */
+final class HttpDates {
+
+  private static final String MONTHS = "janfebmaraprmayjunjulaugsepoctnovdec";
+
+  /**
+   * Parses an HTTP date.
+   *
+   * @param date the date to parse, may be null
+   * @return the number of milliseconds since the epoch, or -1 if the date is null or invalid
+   */
+  static long parse(String date) {
+    if (date == null) {
+      return -1;
+    }
+
+    int day = -1;
+    int month = -1;
+    int year = -1;
+    int seconds = -1;
+    for (String token : date.trim().split("[\\s,-]+")) {
+      if (token.indexOf(':') >= 0) {
+        seconds = parseTime(token);
+      } else if (token.length() == 3 && month < 0 && MONTHS.indexOf(token.toLowerCase()) % 3 == 0) {
+        month = MONTHS.indexOf(token.toLowerCase()) / 3;
+      } else if (isDigits(token)) {
+        int value = Integer.parseInt(token);
+        if (day < 0 && token.length() <= 2) {
+          day = value;
+        } else if (year < 0) {
+          year = token.length() == 2 ? (value < 70 ? 2000 + value : 1900 + value) : value;
+        } else {
+          return -1;
+        }
+      }
+    }
+
+    if (day < 1 || day > 31 || month < 0 || year < 1970 || seconds < 0) {
+      return -1;
+    }
+    return (daysFromEpoch(year, month + 1, day) * 86400L + seconds) * 1000L;
+  }
+
+  /** Parses <code>HH:MM:SS</code> into a number of seconds, or returns -1. */
+  private static int parseTime(String time) {
+    String[] parts = time.split(":");
+    if (parts.length != 3) {
+      return -1;
+    }
+    int seconds = 0;
+    for (int i = 0; i < parts.length; i++) {
+      if (parts[i].length() != 2 || !isDigits(parts[i])) {
+        return -1;
+      }
+      seconds = seconds * 60 + Integer.parseInt(parts[i]);
+    }
+    return seconds;
+  }
+
+  private static boolean isDigits(String token) {
+    if (token.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < token.length(); i++) {
+      if (token.charAt(i) < '0' || token.charAt(i) > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns the number of days between 1970-01-01 and the given Gregorian calendar date. */
+  private static long daysFromEpoch(int year, int month, int day) {
+    int y = month <= 2 ? year - 1 : year;
+    int era = y / 400;
+    int yearOfEra = y - era * 400;
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097L + dayOfEra - 719468;
+  }
+
+  private HttpDates() {}
+}
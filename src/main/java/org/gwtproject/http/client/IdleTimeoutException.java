@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/**
+ * Thrown to indicate that the body of the response to an HTTP request stopped being received for
+ * too long (see {@link RequestBuilder#setIdleTimeoutMillis(int)}).
+ */
+@SuppressWarnings("serial")
+public class IdleTimeoutException extends RequestTimeoutException {
+
+  /**
+   * Constructs an idle timeout exception for the given {@link Request}.
+   *
+   * @param request the request which timed out
+   * @param timeoutMillis the number of milliseconds which expired
+   */
+  public IdleTimeoutException(Request request, int timeoutMillis) {
+    super("No response data was received for " + timeoutMillis + " ms", request, timeoutMillis);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/**
+ * An {@link Exchange} standing for a call that a {@link Transport} may only be asked to make later,
+ * e.g. once a {@link RequestDispatcher} has a slot for it or a {@link RateLimiter} a token, and
+ * possibly more than once, e.g. when it is retried. The exchange is pending until the last call
+ * completes; if it is aborted before a call is started, the call is never made.
+ */
+final class LazyExchange implements Exchange {
+
+  private Exchange started;
+  private Scheduler.Timer startTimer;
+  private boolean aborted;
+
+  /**
+   * Starts the call, unless the exchange has been aborted.
+   *
+   * @param transport the transport making the call
+   * @param request the call to make
+   * @param callback the callback to notify with the outcome of the call
+   * @throws RequestException if the call fails to start
+   */
+  void start(Transport transport, TransportRequest request, TransportCallback callback)
+      throws RequestException {
+    if (!aborted) {
+      started = transport.send(request, callback);
+    }
+  }
+
+  /**
+   * Runs the given task after a delay, unless the exchange is aborted in the meantime. The exchange
+   * is pending until then, so that the task can start the call again.
+   *
+   * @param task the task starting the call again
+   * @param delayMillis the delay in milliseconds
+   */
+  void restartLater(final Runnable task, int delayMillis) {
+    if (aborted) {
+      return;
+    }
+    started = null;
+    startTimer =
+        Scheduler.get()
+            .schedule(
+                () -> {
+                  startTimer = null;
+                  task.run();
+                },
+                delayMillis);
+  }
+
+  /**
+   * Sets the timer of a task that will start the call, to cancel it if the exchange is aborted
+   * before it runs.
+   *
+   * @param timer the timer of the task starting the call
+   */
+  void startLater(Scheduler.Timer timer) {
+    if (aborted) {
+      timer.cancel();
+      return;
+    }
+    started = null;
+    startTimer = timer;
+  }
+
+  /** Aborts the call in progress, without preventing it from being started again. */
+  void abortCall() {
+    if (started != null) {
+      started.abort();
+    }
+  }
+
+  @Override
+  public boolean isPending() {
+    return started != null ? started.isPending() : !aborted;
+  }
+
+  @Override
+  public void abort() {
+    aborted = true;
+    if (startTimer != null) {
+      startTimer.cancel();
+      startTimer = null;
+    }
+    abortCall();
+  }
+}
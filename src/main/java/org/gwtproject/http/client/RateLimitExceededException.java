@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/**
+ * Thrown when a request is not sent because it exceeds the budget of its {@link RateLimiter}, and
+ * the queue of the rate limiter is full.
+ */
+@SuppressWarnings("serial")
+public class RateLimitExceededException extends RequestException {
+  private static String formatMessage(double requestsPerSecond) {
+    return "The rate limit of " + requestsPerSecond + " requests per second has been exceeded";
+  }
+
+  /** Time, in milliseconds, before the rate limiter lets a request through again. */
+  private final int retryAfterMillis;
+
+  /**
+   * Constructs an exception for a rate limiter.
+   *
+   * @param requestsPerSecond the rate of the rate limiter
+   * @param retryAfterMillis the number of milliseconds before a request may be sent again
+   */
+  public RateLimitExceededException(double requestsPerSecond, int retryAfterMillis) {
+    super(formatMessage(requestsPerSecond));
+    this.retryAfterMillis = retryAfterMillis;
+  }
+
+  /**
+   * Returns the number of milliseconds before the rate limiter lets a request through again.
+   *
+   * @return the number of milliseconds before a request may be sent again
+   */
+  public int getRetryAfterMillis() {
+    return retryAfterMillis;
+  }
+}
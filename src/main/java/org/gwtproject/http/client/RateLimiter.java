@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import java.util.ArrayDeque;
+
+/**
+ * Limits the rate at which requests are sent, so that APIs throttling their clients are not sent
+ * requests they would reject anyway.
+ *
+ * <p>A rate limiter is a token bucket: it holds at most <code>burst</code> tokens, refilled at
+ * <code>requestsPerSecond</code>, and every HTTP call made by a {@link RequestBuilder} bound to it
+ * (see {@link RequestBuilder#setRateLimiter(RateLimiter)}) takes one token. Calls that find the
+ * bucket empty are queued, in the order they were sent, until tokens are available, before any HTTP
+ * call is made or any {@link RequestDispatcher} slot is taken. When the queue is full, {@link
+ * RequestBuilder#send()} throws a {@link RateLimitExceededException} instead; a rate limiter
+ * created with a <code>maxQueued</code> of 0 thus rejects the requests exceeding its budget.
+ *
+ * <p>The timeout set by {@link RequestBuilder#setTimeoutMillis(int)} includes the time spent in the
+ * queue, and canceling a queued request removes it from the queue. Requests answered from a {@link
+ * ResponseCache} or sharing a call through a {@link RequestCoalescer} take no token, while every
+ * retry (see {@link RetryPolicy}) takes one.
+ *
+ * <p>A rate limiter stands for a group of endpoints sharing a budget, e.g. the endpoints of a
+ * third-party API: all the builders sending requests to that group must be bound to the same rate
+ * limiter.
+ */
+public class RateLimiter {
+
+  /** The default maximum number of requests waiting for a token. */
+  public static final int DEFAULT_MAX_QUEUED = 100;
+
+  /** A request waiting for a token. */
+  private final class Ticket implements Scheduler.Timer {
+    private final Runnable task;
+
+    Ticket(Runnable task) {
+      this.task = task;
+    }
+
+    @Override
+    public void cancel() {
+      if (queue.remove(this) && queue.isEmpty() && timer != null) {
+        timer.cancel();
+        timer = null;
+      }
+    }
+  }
+
+  private final double requestsPerSecond;
+  private final int burst;
+  private final int maxQueued;
+  private final ArrayDeque<Ticket> queue = new ArrayDeque<>();
+  private double tokens;
+  private long refillMillis = -1;
+  private Scheduler.Timer timer;
+
+  /**
+   * Creates a rate limiter queuing up to {@link #DEFAULT_MAX_QUEUED} requests.
+   *
+   * @param requestsPerSecond the sustained rate of requests
+   * @param burst the maximum number of requests that can be sent at once
+   * @throws IllegalArgumentException if requestsPerSecond is not positive, or burst is less than 1
+   */
+  public RateLimiter(double requestsPerSecond, int burst) {
+    this(requestsPerSecond, burst, DEFAULT_MAX_QUEUED);
+  }
+
+  /**
+   * Creates a rate limiter.
+   *
+   * @param requestsPerSecond the sustained rate of requests
+   * @param burst the maximum number of requests that can be sent at once
+   * @param maxQueued the maximum number of requests waiting for a token, or 0 to reject the
+   *     requests exceeding the budget right away
+   * @throws IllegalArgumentException if requestsPerSecond is not positive, or burst is less than 1,
+   *     or maxQueued is negative
+   */
+  public RateLimiter(double requestsPerSecond, int burst, int maxQueued) {
+    if (!(requestsPerSecond > 0)) {
+      throw new IllegalArgumentException("requestsPerSecond must be positive");
+    }
+    if (burst < 1) {
+      throw new IllegalArgumentException("burst must be at least 1");
+    }
+    if (maxQueued < 0) {
+      throw new IllegalArgumentException("maxQueued cannot be negative");
+    }
+
+    this.requestsPerSecond = requestsPerSecond;
+    this.burst = burst;
+    this.maxQueued = maxQueued;
+    this.tokens = burst;
+  }
+
+  /** Returns the sustained rate of requests, per second. */
+  public double getRequestsPerSecond() {
+    return requestsPerSecond;
+  }
+
+  /** Returns the maximum number of requests that can be sent at once. */
+  public int getBurst() {
+    return burst;
+  }
+
+  /** Returns the maximum number of requests waiting for a token. */
+  public int getMaxQueued() {
+    return maxQueued;
+  }
+
+  /** Returns the number of requests waiting for a token. */
+  public int getQueuedCount() {
+    return queue.size();
+  }
+
+  /**
+   * Takes a token, if one is available and no request is waiting for one.
+   *
+   * @return whether a token was taken
+   */
+  boolean tryAcquire() {
+    return tryAcquire(System.currentTimeMillis());
+  }
+
+  boolean tryAcquire(long nowMillis) {
+    if (!queue.isEmpty()) {
+      return false;
+    }
+    refill(nowMillis);
+    if (tokens < 1) {
+      return false;
+    }
+    tokens--;
+    return true;
+  }
+
+  /**
+   * Queues a task until a token is available for it, after {@link #tryAcquire()} failed.
+   *
+   * @param task the task making the call, run once a token has been taken for it
+   * @return the timer, to cancel the task
+   * @throws RateLimitExceededException if the queue is full
+   */
+  Scheduler.Timer enqueue(Runnable task) throws RateLimitExceededException {
+    if (queue.size() >= maxQueued) {
+      double missing = queue.size() + 1 - tokens;
+      throw new RateLimitExceededException(requestsPerSecond, getDelayMillis(missing));
+    }
+    Ticket ticket = new Ticket(task);
+    queue.add(ticket);
+    scheduleDrain();
+    return ticket;
+  }
+
+  /** Runs as many queued tasks as there are tokens. */
+  void drain(long nowMillis) {
+    timer = null;
+    refill(nowMillis);
+    while (!queue.isEmpty() && tokens >= 1) {
+      tokens--;
+      queue.poll().task.run();
+    }
+    scheduleDrain();
+  }
+
+  private void refill(long nowMillis) {
+    if (refillMillis >= 0 && nowMillis > refillMillis) {
+      tokens = Math.min(burst, tokens + (nowMillis - refillMillis) * requestsPerSecond / 1000);
+    }
+    refillMillis = Math.max(refillMillis, nowMillis);
+  }
+
+  /** Schedules the next drain for the time the next token is available, if tasks are queued. */
+  private void scheduleDrain() {
+    if (timer == null && !queue.isEmpty()) {
+      timer =
+          Scheduler.get()
+              .schedule(() -> drain(System.currentTimeMillis()), getDelayMillis(1 - tokens));
+    }
+  }
+
+  /** Returns the time it takes to refill the given number of tokens. */
+  private int getDelayMillis(double missingTokens) {
+    return (int) Math.ceil(Math.max(0, missingTokens) * 1000 / requestsPerSecond);
+  }
+}
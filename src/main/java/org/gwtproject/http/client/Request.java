@@ -15,7 +15,7 @@
  */
 package org.gwtproject.http.client;
 
-import elemental2.dom.DomGlobal;
+import elemental2.core.Uint8Array;
 import elemental2.dom.XMLHttpRequest;
 
 /**
@@ -24,27 +24,47 @@ import elemental2.dom.XMLHttpRequest;
  */
 public class Request {
 
+  /** The number of milliseconds to wait for this HTTP request to complete. */
+  private final int timeoutMillis;
+
+  /** The timer used to force HTTPRequest timeouts. Only meaningful if timeoutMillis > 0. */
+  private final Scheduler.Timer timer;
+
   /**
-   * Creates a {@link Response} instance for the given JavaScript XmlHttpRequest object.
-   *
-   * @param xmlHttpRequest xmlHttpRequest object for which we need a response
-   * @return a {@link Response} object instance
+   * The operation this request is waiting on, usually wrapping a JavaScript XmlHttpRequest object.
+   * This field is not final because we set it to null once the request completes, times out or is
+   * canceled.
    */
-  private static Response createResponse(final XMLHttpRequest xmlHttpRequest) {
-    return new ResponseImpl(xmlHttpRequest);
-  }
+  private Exchange exchange;
 
-  /** The number of milliseconds to wait for this HTTP request to complete. */
-  private final int timeoutMillis;
+  /**
+   * The {@link RequestDispatcher} slot this request holds or waits for, if it was sent through a
+   * dispatcher. It is released as soon as the request completes, times out or is canceled.
+   */
+  private RequestDispatcher.Slot slot;
 
-  /** ID of the timer used to force HTTPRequest timeouts. Only meaningful if timeoutMillis > 0. */
-  private final double timerId;
+  /**
+   * The {@link RequestGroup} this request belongs to, if any. It is left as soon as the request
+   * completes, times out or is canceled.
+   */
+  private RequestGroup group;
 
   /**
-   * JavaScript XmlHttpRequest object that this Java class wraps. This field is not final because we
-   * transfer ownership of it to the HTTPResponse object and set this field to null.
+   * The {@link RequestSwitch} this request is the latest request of, if any, and the key it was
+   * sent under. It is left as soon as the request completes, times out or is canceled.
    */
-  private XMLHttpRequest xmlHttpRequest;
+  private RequestSwitch requestSwitch;
+
+  private String switchKey;
+
+  /** The length of the response text already passed to a streaming callback. */
+  private int streamedLength;
+
+  /** Notified when this request times out, e.g. to count the timeout as a failure. */
+  private Runnable timeoutListener;
+
+  /** Whether this request has timed out. */
+  private boolean timedOut;
 
   /**
    * Constructs an instance of the Request object.
@@ -56,7 +76,20 @@ public class Request {
    * @throws NullPointerException if xmlHttpRequest, or callback are null
    */
   Request(XMLHttpRequest xmlHttpRequest, int timeoutMillis, RequestCallback callback) {
-    if (xmlHttpRequest == null) {
+    this(timeoutMillis, callback, new XhrExchange(xmlHttpRequest));
+  }
+
+  /**
+   * Constructs an instance of the Request object.
+   *
+   * @param timeoutMillis number of milliseconds to wait for a response
+   * @param callback callback interface to use for notification
+   * @param exchange the operation the request is waiting on
+   * @throws IllegalArgumentException if timeoutMillis &lt; 0
+   * @throws NullPointerException if exchange, or callback are null
+   */
+  Request(int timeoutMillis, RequestCallback callback, Exchange exchange) {
+    if (exchange == null) {
       throw new NullPointerException();
     }
 
@@ -69,12 +102,12 @@ public class Request {
     }
 
     this.timeoutMillis = timeoutMillis;
-    this.xmlHttpRequest = xmlHttpRequest;
+    this.exchange = exchange;
 
     if (timeoutMillis > 0) {
-      timerId = DomGlobal.setTimeout(args -> fireOnTimeout(callback), timeoutMillis);
+      timer = Scheduler.get().schedule(() -> fireOnTimeout(callback), timeoutMillis);
     } else {
-      timerId = 0;
+      timer = null;
     }
   }
 
@@ -83,7 +116,7 @@ public class Request {
    * action is taken.
    */
   public void cancel() {
-    if (xmlHttpRequest == null) {
+    if (exchange == null) {
       return;
     }
 
@@ -94,34 +127,20 @@ public class Request {
      * a request while the response is coming in. It appears that in some cases
      * the onreadystatechange handler is still called after the handler function
      * has been deleted and during the call to XmlHttpRequest.abort(). So we
-     * null the xmlHttpRequest here and that will prevent the
+     * null the exchange here and that will prevent the
      * fireOnResponseReceived method from calling the callback function.
      *
      * Setting the onreadystatechange handler to null gives us the correct
      * behavior in Mozilla but crashes IE. That is why we have chosen to fixed
      * this in Java by nulling out our reference to the XmlHttpRequest object.
      */
-    final XMLHttpRequest xhr = xmlHttpRequest;
-    xmlHttpRequest = null;
+    final Exchange aborted = exchange;
+    exchange = null;
+    aborted.abort();
 
-    // XXX: this clearOnReadyStateChange() was in com.google.gwt.http.client.Request, do we really
-    // need it (and equivalent) here?
-    // com.google.gwt.xhr.client.XMLHttpRequest has this note:
-    /*
-     * NOTE: Testing discovered that for some bizarre reason, on Mozilla, the
-     * JavaScript <code>XmlHttpRequest.onreadystatechange</code> handler
-     * function maybe still be called after it is deleted. The theory is that the
-     * callback is cached somewhere. Setting it to null or an empty function does
-     * seem to work properly, though.
-     *
-     * On IE, setting onreadystatechange to null (as opposed to an empty function)
-     * sometimes throws an exception.
-     *
-     * End result: *always* set onreadystatechange to an empty function (never to
-     * null).
-     */
-    // xhr.clearOnReadyStateChange();
-    xhr.abort();
+    releaseSlot();
+    leaveGroup();
+    leaveSwitch();
   }
 
   /**
@@ -130,52 +149,152 @@ public class Request {
    * @return true if this request is waiting for a response
    */
   public boolean isPending() {
-    if (xmlHttpRequest == null) {
-      return false;
-    }
-
-    double readyState = xmlHttpRequest.readyState;
-
-    /*
-     * Because we are doing asynchronous requests it is possible that we can
-     * call XmlHttpRequest.send and still have the XmlHttpRequest.getReadyState
-     * method return the state as XmlHttpRequest.OPEN. That is why we include
-     * open although it is nottechnically true since open implies that the
-     * request has not been sent.
-     */
-    return readyState == XMLHttpRequest.OPENED
-        || readyState == XMLHttpRequest.HEADERS_RECEIVED
-        || readyState == XMLHttpRequest.LOADING;
+    return exchange != null && exchange.isPending();
   }
 
   /*
-   * Method called when the JavaScript XmlHttpRequest object's readyState
-   * reaches 4 (LOADED).
+   * Method called when a response for this request is available, e.g. when
+   * the JavaScript XmlHttpRequest object's readyState reaches 4 (LOADED).
    */
-  void fireOnResponseReceived(RequestCallback callback) {
-    if (xmlHttpRequest == null) {
-      // the request has timed out at this point
+  void fireOnResponseReceived(RequestCallback callback, Response response) {
+    if (exchange == null) {
+      // the request has timed out or been canceled at this point
       return;
     }
 
+    String text = response.getText();
+    if (callback instanceof StreamingRequestCallback
+        && text != null
+        && text.length() > streamedLength) {
+      // the rest of the text, or all of it if nothing was streamed
+      fireOnChunk((StreamingRequestCallback) callback, text.substring(streamedLength));
+      if (exchange == null) {
+        // the request has been canceled by the callback
+        return;
+      }
+    }
+
     cancelTimer();
+    releaseSlot(RequestDispatcher.isOverloaded(response.getStatusCode()));
+    leaveGroup();
+    leaveSwitch();
 
     /*
      * We cannot use cancel here because it would clear the contents of the
      * JavaScript XmlHttpRequest object so we manually null out our reference to
-     * the JavaScriptObject
+     * the exchange
      */
-    final XMLHttpRequest xhr = xmlHttpRequest;
-    xmlHttpRequest = null;
+    exchange = null;
 
-    Response response = createResponse(xhr);
     callback.onResponseReceived(this, response);
   }
 
+  /*
+   * Method called with the next piece of the response text, e.g. when the
+   * JavaScript XmlHttpRequest object's readyState is 3 (LOADING).
+   */
+  void fireOnChunk(StreamingRequestCallback callback, String chunk) {
+    if (exchange == null || chunk.isEmpty()) {
+      return;
+    }
+
+    streamedLength += chunk.length();
+    callback.onChunk(this, chunk);
+  }
+
+  /*
+   * Method called with the next piece of the response body, when it is read
+   * from a stream as bytes.
+   */
+  void fireOnChunk(StreamingRequestCallback callback, Uint8Array chunk) {
+    if (exchange == null) {
+      return;
+    }
+
+    callback.onChunk(this, chunk);
+  }
+
+  /*
+   * Method called when the request could not be sent.
+   */
+  void fireOnError(RequestCallback callback, Throwable exception) {
+    if (exchange == null) {
+      // the request has timed out or been canceled at this point
+      return;
+    }
+
+    cancelTimer();
+    releaseSlot(true);
+    leaveGroup();
+    leaveSwitch();
+    exchange = null;
+
+    callback.onError(this, exception);
+  }
+
+  /** Returns whether this request has timed out. */
+  boolean isTimedOut() {
+    return timedOut;
+  }
+
+  void setGroup(RequestGroup group) {
+    this.group = group;
+  }
+
+  void setSwitch(RequestSwitch requestSwitch, String key) {
+    this.requestSwitch = requestSwitch;
+    this.switchKey = key;
+  }
+
+  void setSlot(RequestDispatcher.Slot slot) {
+    this.slot = slot;
+  }
+
+  void setTimeoutListener(Runnable timeoutListener) {
+    this.timeoutListener = timeoutListener;
+  }
+
   /** Stops the current HTTPRequest timer if there is one. */
   private void cancelTimer() {
     if (timeoutMillis > 0) {
-      DomGlobal.clearTimeout(timerId);
+      timer.cancel();
+    }
+  }
+
+  /** Gives the dispatcher slot back, so that other requests can be started. */
+  private void releaseSlot() {
+    if (slot != null) {
+      slot.release();
+      slot = null;
+    }
+  }
+
+  /**
+   * Gives the dispatcher slot back once the request completed.
+   *
+   * @param dropped whether the request failed, or the server is overloaded
+   */
+  private void releaseSlot(boolean dropped) {
+    if (slot != null) {
+      slot.release(dropped);
+      slot = null;
+    }
+  }
+
+  /** Leaves the group, so that canceling the group no longer cancels this request. */
+  private void leaveGroup() {
+    if (group != null) {
+      group.remove(this);
+      group = null;
+    }
+  }
+
+  /** Leaves the switch, so that it no longer holds on to this request. */
+  private void leaveSwitch() {
+    if (requestSwitch != null) {
+      requestSwitch.remove(switchKey, this);
+      requestSwitch = null;
+      switchKey = null;
     }
   }
 
@@ -183,13 +302,19 @@ public class Request {
    * Method called when this request times out.
    */
   private void fireOnTimeout(RequestCallback callback) {
-    if (xmlHttpRequest == null) {
+    if (exchange == null) {
       // the request has been received at this point
       return;
     }
 
+    // a timeout tells that the server is overloaded, unlike a cancellation
+    timedOut = true;
+    releaseSlot(true);
     cancel();
 
+    if (timeoutListener != null) {
+      timeoutListener.run();
+    }
     callback.onError(this, new RequestTimeoutException(this, timeoutMillis));
   }
 }
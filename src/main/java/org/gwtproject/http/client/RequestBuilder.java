@@ -15,10 +15,15 @@
  */
 package org.gwtproject.http.client;
 
-import elemental2.dom.XMLHttpRequest;
+import elemental2.core.ArrayBuffer;
+import elemental2.core.ArrayBufferView;
+import elemental2.core.Uint8Array;
+import elemental2.dom.Blob;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import jsinterop.base.Js;
+import java.util.Objects;
+import java.util.TreeMap;
 
 /** Builder for constructing {@link Request} objects. */
 public class RequestBuilder {
@@ -36,6 +41,306 @@ public class RequestBuilder {
     }
   }
 
+  /**
+   * Request priorities. When requests are sent through a {@link RequestDispatcher}, queued requests
+   * of a higher priority are always started before those of a lower priority.
+   */
+  public enum Priority {
+    /** For requests the user is actively waiting on, e.g. saving a form. */
+    CRITICAL("high"),
+    /** The default priority. */
+    NORMAL("auto"),
+    /** For requests nobody is waiting on, e.g. prefetches or analytics. */
+    BACKGROUND("low");
+
+    private final String fetchPriority;
+
+    Priority(String fetchPriority) {
+      this.fetchPriority = fetchPriority;
+    }
+
+    /**
+     * Returns the equivalent <code>fetchpriority</code> hint, for transports that can forward it to
+     * the browser.
+     */
+    String getFetchPriority() {
+      return fetchPriority;
+    }
+  }
+
+  /** The types a response body can be received as. */
+  public enum ResponseType {
+    /** The default: the body is available from {@link Response#getText()}. */
+    TEXT(""),
+    /** The body is available from {@link Response#getArrayBuffer()}. */
+    ARRAY_BUFFER("arraybuffer"),
+    /** The body is available from {@link Response#getBlob()}. */
+    BLOB("blob"),
+    /** The body is parsed as JSON by the browser, and available from {@link Response#getJson()}. */
+    JSON("json");
+
+    private final String value;
+
+    ResponseType(String value) {
+      this.value = value;
+    }
+
+    /** Returns the equivalent value of the <code>XMLHttpRequest.responseType</code> property. */
+    String getValue() {
+      return value;
+    }
+  }
+
+  /** Notifies a request, or the call it shares with other requests, of the outcome of a call. */
+  private final class ResponseHandler implements TransportCallback {
+    private final RequestCallback callback;
+    private final ResponseCache cache;
+    private final Map<String, String> requestHeaders;
+    private final long requestTime;
+    private final ResponseCache.Entry revalidated;
+    private final LazyExchange exchange = new LazyExchange();
+    private final RequestCoalescer.Call call;
+    private final Request request;
+    private final int headersTimeoutMillis = RequestBuilder.this.headersTimeoutMillis;
+    private final int idleTimeoutMillis = RequestBuilder.this.idleTimeoutMillis;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker = RequestBuilder.this.circuitBreaker;
+    private final RateLimiter rateLimiter = RequestBuilder.this.rateLimiter;
+    private Transport transport;
+    private TransportRequest transportRequest;
+    private int attempts;
+    private boolean streamed;
+    private Scheduler.Timer headersTimer;
+    private Scheduler.Timer idleTimer;
+    private long lastProgressMillis;
+
+    /**
+     * Creates the request waiting on the call, which still has to be started.
+     *
+     * @param revalidated the stored entry a conditional request is made for, or null
+     * @param coalescingKey the key to share the call under, or null to not share it
+     */
+    ResponseHandler(
+        RequestCallback callback,
+        ResponseCache cache,
+        Map<String, String> requestHeaders,
+        long requestTime,
+        ResponseCache.Entry revalidated,
+        String coalescingKey) {
+      this.callback = callback;
+      this.cache = cache;
+      this.requestHeaders = requestHeaders;
+      this.requestTime = requestTime;
+      this.revalidated = revalidated;
+      retryPolicy =
+          RequestBuilder.this.retryPolicy != null
+                  && RequestBuilder.this.retryPolicy.isRetryable(httpMethod)
+              ? RequestBuilder.this.retryPolicy
+              : null;
+      if (coalescingKey != null) {
+        call = coalescer.start(coalescingKey, exchange);
+        request = call.join(timeoutMillis, callback);
+      } else {
+        call = null;
+        request = new Request(timeoutMillis, callback, exchange);
+      }
+      if (circuitBreaker != null) {
+        // the request that started the call times out along with it
+        request.setTimeoutListener(() -> circuitBreaker.onError(url));
+      }
+    }
+
+    /** Asks the transport to make the call. */
+    void start(Transport transport, TransportRequest transportRequest) throws RequestException {
+      this.transport = transport;
+      this.transportRequest = transportRequest;
+      attempts++;
+      if (headersTimeoutMillis > 0) {
+        // the exception names the request that started the call, even if the call is shared
+        headersTimer =
+            Scheduler.get()
+                .schedule(
+                    () -> fireOnTimeout(new HeadersTimeoutException(request, headersTimeoutMillis)),
+                    headersTimeoutMillis);
+      }
+      exchange.start(transport, transportRequest, this);
+    }
+
+    /** Asks the transport to make the call, notifying the requests if it fails to start. */
+    void startOrFail(Transport transport, TransportRequest transportRequest) {
+      try {
+        start(transport, transportRequest);
+      } catch (RequestException e) {
+        fireOnError(e);
+      } catch (Throwable e) {
+        fireOnError(new RequestException(e.getMessage()));
+      }
+    }
+
+    @Override
+    public void onHeadersReceived() {
+      if (headersTimer != null) {
+        headersTimer.cancel();
+        headersTimer = null;
+      }
+    }
+
+    @Override
+    public void onProgress() {
+      // receiving the body means the headers have been received
+      onHeadersReceived();
+      if (idleTimeoutMillis > 0) {
+        lastProgressMillis = System.currentTimeMillis();
+        if (idleTimer == null) {
+          scheduleIdleCheck(idleTimeoutMillis);
+        }
+      }
+    }
+
+    @Override
+    public void onChunk(String chunk) {
+      onProgress();
+      // streaming requests are never shared
+      if (callback instanceof StreamingRequestCallback) {
+        streamed = true;
+        request.fireOnChunk((StreamingRequestCallback) callback, chunk);
+      }
+    }
+
+    @Override
+    public void onChunk(Uint8Array chunk) {
+      onProgress();
+      if (callback instanceof StreamingRequestCallback) {
+        streamed = true;
+        request.fireOnChunk((StreamingRequestCallback) callback, chunk);
+      }
+    }
+
+    @Override
+    public void onResponse(Response response) {
+      cancelTimers();
+      if (circuitBreaker != null) {
+        circuitBreaker.onResponse(url, response.getStatusCode());
+      }
+      if (retryPolicy != null && retry(retryPolicy.onResponse(attempts, response))) {
+        return;
+      }
+      Response received =
+          cache != null
+              ? updateCache(cache, revalidated, requestHeaders, requestTime, response)
+              : response;
+      if (call != null) {
+        call.fireOnResponseReceived(received);
+      } else {
+        request.fireOnResponseReceived(callback, received);
+      }
+    }
+
+    @Override
+    public void onError(Throwable exception) {
+      cancelTimers();
+      if (circuitBreaker != null) {
+        circuitBreaker.onError(url);
+      }
+      if (retryPolicy != null && retry(retryPolicy.onError(attempts))) {
+        return;
+      }
+      fireOnError(exception);
+    }
+
+    /** Notifies the requests of an error, without retrying the call. */
+    void fireOnError(Throwable exception) {
+      cancelTimers();
+      if (call != null) {
+        call.fireOnError(exception);
+      } else {
+        request.fireOnError(callback, exception);
+      }
+    }
+
+    void setSlot(RequestDispatcher.Slot slot) {
+      if (call != null) {
+        call.setSlot(slot);
+      } else {
+        request.setSlot(slot);
+      }
+    }
+
+    /**
+     * Starts the call again after the given delay, unless pieces of the body have already been
+     * passed to the callback.
+     *
+     * @param delayMillis the delay in milliseconds, or -1 to not retry the call
+     * @return whether the call will be retried
+     */
+    private boolean retry(int delayMillis) {
+      if (delayMillis < 0 || streamed) {
+        return false;
+      }
+      exchange.restartLater(
+          () -> {
+            try {
+              if (circuitBreaker != null) {
+                circuitBreaker.acquire(url);
+              }
+              // every attempt counts against the budget of the rate limiter
+              if (rateLimiter != null && !rateLimiter.tryAcquire()) {
+                exchange.startLater(
+                    rateLimiter.enqueue(() -> startOrFail(transport, transportRequest)));
+              } else {
+                startOrFail(transport, transportRequest);
+              }
+            } catch (RequestException e) {
+              fireOnError(e);
+            }
+          },
+          delayMillis);
+      return true;
+    }
+
+    /**
+     * Checks for progress after the given delay. Rather than rescheduling a timer on every progress
+     * event, the check reschedules itself for the time left since the last one.
+     */
+    private void scheduleIdleCheck(int delayMillis) {
+      idleTimer =
+          Scheduler.get()
+              .schedule(
+                  () -> {
+                    idleTimer = null;
+                    long idleMillis = System.currentTimeMillis() - lastProgressMillis;
+                    if (idleMillis >= idleTimeoutMillis) {
+                      fireOnTimeout(new IdleTimeoutException(request, idleTimeoutMillis));
+                    } else {
+                      scheduleIdleCheck((int) (idleTimeoutMillis - idleMillis));
+                    }
+                  },
+                  delayMillis);
+    }
+
+    /** Aborts the call, and notifies its requests of the timeout, unless the call is retried. */
+    private void fireOnTimeout(RequestTimeoutException exception) {
+      cancelTimers();
+      if (!exchange.isPending()) {
+        // every request already left the call
+        return;
+      }
+      exchange.abortCall();
+      onError(exception);
+    }
+
+    private void cancelTimers() {
+      onHeadersReceived();
+      if (idleTimer != null) {
+        idleTimer.cancel();
+        idleTimer = null;
+      }
+    }
+  }
+
+  /** The transport used unless another one is set. */
+  private static final Transport DEFAULT_TRANSPORT = new XhrTransport();
+
   /** Specifies that the HTTP DELETE method should be used. */
   public static final Method DELETE = new Method("DELETE");
 
@@ -54,27 +359,75 @@ public class RequestBuilder {
   /** The callback to call when the request completes. */
   private RequestCallback callback;
 
+  /** Cache of responses to GET requests, or null to always use the network. */
+  private ResponseCache cache;
+
+  /** Circuit breaker failing requests to failing endpoints fast, or null to always send them. */
+  private CircuitBreaker circuitBreaker;
+
+  /** Coalescer sharing in-flight GET and HEAD requests, or null to never share them. */
+  private RequestCoalescer coalescer;
+
+  /** Dispatcher limiting the number of concurrent requests, or null to send them right away. */
+  private RequestDispatcher dispatcher;
+
   /**
    * Map of header name to value that will be added to the JavaScript XmlHttpRequest object before
    * sending a request.
    */
   private Map<String, String> headers;
 
+  /** Group the requests join, to cancel them all at once, or null. */
+  private RequestGroup group;
+
+  /** Policy duplicating the GET and HEAD requests taking too long, or null to never do so. */
+  private HedgingPolicy hedgingPolicy;
+
+  /** Timeout in milliseconds before the response headers must have been received. */
+  private int headersTimeoutMillis;
+
   /** HTTP method to use when opening a JavaScript XmlHttpRequest object. */
   private final String httpMethod;
 
+  /** Maximum time in milliseconds without receiving any of the response body. */
+  private int idleTimeoutMillis;
+
   /** Whether to include credentials for a Cross Origin Request. */
   private boolean includeCredentials;
 
   /** Password to use when opening a JavaScript XmlHttpRequest object. */
   private String password;
 
+  /** Priority of the request, used when queuing it in the dispatcher. */
+  private Priority priority = Priority.NORMAL;
+
+  /** Rate limiter bounding the rate of requests, or null to send them right away. */
+  private RateLimiter rateLimiter;
+
+  /** Callback notified when a stale response passed to the callback has been refreshed. */
+  private RequestCallback refreshCallback;
+
   /** Request data to use when sending a JavaScript XmlHttpRequest object. */
   private String requestData;
 
+  /** Switch canceling the previous request sent under the same key, or null. */
+  private RequestSwitch requestSwitch;
+
+  /** The key requests are sent under through the switch, or null. */
+  private String requestSwitchKey;
+
+  /** The type the response body is received as. */
+  private ResponseType responseType = ResponseType.TEXT;
+
+  /** Policy retrying the requests failing with a transient error, or null to never retry them. */
+  private RetryPolicy retryPolicy;
+
   /** Timeout in milliseconds before the request timeouts and fails. */
   private int timeoutMillis;
 
+  /** The transport making the HTTP calls. */
+  private Transport transport = DEFAULT_TRANSPORT;
+
   /** URL to use when opening a JavaScript XmlHttpRequest object. */
   private final String url;
 
@@ -122,6 +475,46 @@ public class RequestBuilder {
     return callback;
   }
 
+  /**
+   * Returns the cache previously set by {@link #setCache(ResponseCache)}, or <code>null</code> if
+   * no cache was set.
+   */
+  public ResponseCache getCache() {
+    return cache;
+  }
+
+  /**
+   * Returns the circuit breaker previously set by {@link #setCircuitBreaker(CircuitBreaker)}, or
+   * <code>null</code> if no circuit breaker was set.
+   */
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /**
+   * Returns the coalescer previously set by {@link #setCoalescer(RequestCoalescer)}, or <code>null
+   * </code> if no coalescer was set.
+   */
+  public RequestCoalescer getCoalescer() {
+    return coalescer;
+  }
+
+  /**
+   * Returns the dispatcher previously set by {@link #setDispatcher(RequestDispatcher)}, or <code>
+   * null</code> if no dispatcher was set.
+   */
+  public RequestDispatcher getDispatcher() {
+    return dispatcher;
+  }
+
+  /**
+   * Returns the group previously set by {@link #setGroup(RequestGroup)}, or <code>null</code> if no
+   * group was set.
+   */
+  public RequestGroup getGroup() {
+    return group;
+  }
+
   /**
    * Returns the value of a header previous set by {@link #setHeader(String, String)}, or <code>null
    * </code> if no such header was set.
@@ -135,11 +528,35 @@ public class RequestBuilder {
     return headers.get(header);
   }
 
+  /**
+   * Returns the headers timeout previously set by {@link #setHeadersTimeoutMillis(int)}, or 0 if no
+   * such timeout was set.
+   */
+  public int getHeadersTimeoutMillis() {
+    return headersTimeoutMillis;
+  }
+
+  /**
+   * Returns the hedging policy previously set by {@link #setHedgingPolicy(HedgingPolicy)}, or
+   * <code>null</code> if requests are never hedged.
+   */
+  public HedgingPolicy getHedgingPolicy() {
+    return hedgingPolicy;
+  }
+
   /** Returns the HTTP method specified in the constructor. */
   public String getHTTPMethod() {
     return httpMethod;
   }
 
+  /**
+   * Returns the idle timeout previously set by {@link #setIdleTimeoutMillis(int)}, or 0 if no such
+   * timeout was set.
+   */
+  public int getIdleTimeoutMillis() {
+    return idleTimeoutMillis;
+  }
+
   /**
    * Returns the password previously set by {@link #setPassword(String)}, or <code>null</code> if no
    * password was set.
@@ -148,6 +565,30 @@ public class RequestBuilder {
     return password;
   }
 
+  /**
+   * Returns the priority previously set by {@link #setPriority(Priority)}, or {@link
+   * Priority#NORMAL} if no priority was set.
+   */
+  public Priority getPriority() {
+    return priority;
+  }
+
+  /**
+   * Returns the callback previously set by {@link #setRefreshCallback(RequestCallback)}, or <code>
+   * null</code> if no refresh callback was set.
+   */
+  public RequestCallback getRefreshCallback() {
+    return refreshCallback;
+  }
+
+  /**
+   * Returns the rate limiter previously set by {@link #setRateLimiter(RateLimiter)}, or <code>null
+   * </code> if no rate limiter was set.
+   */
+  public RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
   /**
    * Returns the requestData previously set by {@link #setRequestData(String)}, or <code>null</code>
    * if no requestData was set.
@@ -156,6 +597,38 @@ public class RequestBuilder {
     return requestData;
   }
 
+  /**
+   * Returns the switch previously set by {@link #setRequestSwitch(RequestSwitch, String)}, or
+   * <code>null</code> if no switch was set.
+   */
+  public RequestSwitch getRequestSwitch() {
+    return requestSwitch;
+  }
+
+  /**
+   * Returns the key previously set by {@link #setRequestSwitch(RequestSwitch, String)}, or <code>
+   * null</code> if no switch was set.
+   */
+  public String getRequestSwitchKey() {
+    return requestSwitchKey;
+  }
+
+  /**
+   * Returns the response type previously set by {@link #setResponseType(ResponseType)}, or {@link
+   * ResponseType#TEXT} if no response type was set.
+   */
+  public ResponseType getResponseType() {
+    return responseType;
+  }
+
+  /**
+   * Returns the retry policy previously set by {@link #setRetryPolicy(RetryPolicy)}, or <code>null
+   * </code> if requests are never retried.
+   */
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
   /**
    * Returns the timeoutMillis previously set by {@link #setTimeoutMillis(int)}, or <code>0</code>
    * if no timeoutMillis was set.
@@ -164,6 +637,14 @@ public class RequestBuilder {
     return timeoutMillis;
   }
 
+  /**
+   * Returns the transport previously set by {@link #setTransport(Transport)}, or the default {@link
+   * XhrTransport} if no transport was set.
+   */
+  public Transport getTransport() {
+    return transport;
+  }
+
   /** Returns the HTTP URL specified in the constructor. */
   public String getUrl() {
     return url;
@@ -208,6 +689,55 @@ public class RequestBuilder {
     return doSend(requestData, callback);
   }
 
+  /**
+   * Sends an HTTP request with a binary body, based on the current builder configuration. The bytes
+   * are sent as is, without any conversion to a string. No "Content-Type" header is added if none
+   * has been set. This method does not cache <code>requestData</code> or <code>callback
+   * </code>.
+   *
+   * @param requestData the data to send as part of the request
+   * @param callback the response handler to be notified when the request fails or completes
+   * @return a {@link Request} object that can be used to track the request
+   * @throws NullPointerException if <code>callback</code> <code>null</code>
+   */
+  public Request sendBinaryRequest(ArrayBuffer requestData, RequestCallback callback)
+      throws RequestException {
+    StringValidator.throwIfNull("callback", callback);
+    return doSend(requestData, callback);
+  }
+
+  /**
+   * Sends an HTTP request with a binary body, based on the current builder configuration. Only the
+   * bytes covered by the view are sent. No "Content-Type" header is added if none has been set.
+   * This method does not cache <code>requestData</code> or <code>callback</code>.
+   *
+   * @param requestData the data to send as part of the request, such as a typed array
+   * @param callback the response handler to be notified when the request fails or completes
+   * @return a {@link Request} object that can be used to track the request
+   * @throws NullPointerException if <code>callback</code> <code>null</code>
+   */
+  public Request sendBinaryRequest(ArrayBufferView requestData, RequestCallback callback)
+      throws RequestException {
+    StringValidator.throwIfNull("callback", callback);
+    return doSend(requestData, callback);
+  }
+
+  /**
+   * Sends an HTTP request with a binary body, based on the current builder configuration. If no
+   * "Content-Type" header has been set, the browser uses the type of the blob, if any. This method
+   * does not cache <code>requestData</code> or <code>callback</code>.
+   *
+   * @param requestData the data to send as part of the request
+   * @param callback the response handler to be notified when the request fails or completes
+   * @return a {@link Request} object that can be used to track the request
+   * @throws NullPointerException if <code>callback</code> <code>null</code>
+   */
+  public Request sendBinaryRequest(Blob requestData, RequestCallback callback)
+      throws RequestException {
+    StringValidator.throwIfNull("callback", callback);
+    return doSend(requestData, callback);
+  }
+
   /**
    * Sets the response handler for this request. This method <b>must</b> be called before calling
    * {@link #send()}.
@@ -221,6 +751,74 @@ public class RequestBuilder {
     this.callback = callback;
   }
 
+  /**
+   * Sets the cache used for <code>GET</code> requests: fresh responses found in the cache are
+   * delivered to the callback without any network access, stale ones are revalidated with a
+   * conditional request, and cacheable responses are stored in the cache. See {@link ResponseCache}
+   * for details. Requests for which a user has been set (see {@link #setUser(String)}) bypass the
+   * cache.
+   *
+   * @param cache the cache to use, or <code>null</code> to always use the network
+   */
+  public void setCache(ResponseCache cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Sets the circuit breaker tracking the failures of the endpoints requests are sent to. Once an
+   * endpoint keeps failing, requests to it are not sent: {@link #send()} and the other send methods
+   * throw a {@link CircuitOpenException} instead, even if a dispatcher is set (see {@link
+   * #setDispatcher(RequestDispatcher)}). Fresh responses found in the cache (see {@link
+   * #setCache(ResponseCache)}) are still delivered. See {@link CircuitBreaker} for details.
+   *
+   * @param circuitBreaker the circuit breaker to use, or <code>null</code> to always send requests
+   */
+  public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  /**
+   * Sets the coalescer used to share <code>GET</code> and <code>HEAD</code> requests: when such a
+   * request is sent while an identical one (same method, URL, credentials, headers and call
+   * settings) is still waiting for its response, both requests are notified with the response of a
+   * single HTTP call. See {@link RequestCoalescer} for details.
+   *
+   * @param coalescer the coalescer to use, or <code>null</code> to never share requests
+   */
+  public void setCoalescer(RequestCoalescer coalescer) {
+    this.coalescer = coalescer;
+  }
+
+  /**
+   * Sets the dispatcher through which requests will be sent. The dispatcher bounds the number of
+   * requests concurrently in flight to the same origin; requests exceeding that bound are queued,
+   * and actually sent when a previous request completes, times out or is canceled.
+   *
+   * <p>The timeout set by {@link #setTimeoutMillis(int)} includes the time spent in the queue.
+   * Errors occurring when sending a request are reported to the {@link
+   * RequestCallback#onError(Request, Throwable)} method rather than thrown from {@link #send()} or
+   * {@link #sendRequest(String, RequestCallback)}.
+   *
+   * @param dispatcher the dispatcher to use, or <code>null</code> to send requests right away
+   */
+  public void setDispatcher(RequestDispatcher dispatcher) {
+    this.dispatcher = dispatcher;
+  }
+
+  /**
+   * Sets the group the requests sent from now on join, so that they can all be canceled at once,
+   * e.g. when the user navigates away from the view that sent them. Requests answered from the
+   * cache (see {@link #setCache(ResponseCache)}) and requests sharing a call (see {@link
+   * #setCoalescer(RequestCoalescer)}) join the group too. Once the <code>AbortSignal</code> of the
+   * group, if any, has been aborted, {@link #send()} and the other send methods throw a {@link
+   * RequestException} instead of sending requests. See {@link RequestGroup} for details.
+   *
+   * @param group the group to use, or <code>null</code> to not put the requests in a group
+   */
+  public void setGroup(RequestGroup group) {
+    this.group = group;
+  }
+
   /**
    * Sets a request header with the given name and value. If a header with the specified name has
    * already been set then the new value overwrites the current value.
@@ -241,6 +839,60 @@ public class RequestBuilder {
     headers.put(header, value);
   }
 
+  /**
+   * Sets the number of milliseconds to wait for the status and headers of the response, from the
+   * moment the HTTP call is made. Should they not be received in time, the call is aborted and the
+   * callback is passed a {@link HeadersTimeoutException}. This allows failing fast on a server that
+   * doesn't respond, without limiting the time a large response body takes to be received.
+   *
+   * <p>When the call is shared by a {@link RequestCoalescer}, all its requests fail together.
+   *
+   * @param headersTimeoutMillis number of milliseconds to wait for the response headers, a value of
+   *     zero disables this timeout
+   * @throws IllegalArgumentException if the timeout value is negative
+   */
+  public void setHeadersTimeoutMillis(int headersTimeoutMillis) {
+    if (headersTimeoutMillis < 0) {
+      throw new IllegalArgumentException("Timeouts cannot be negative");
+    }
+
+    this.headersTimeoutMillis = headersTimeoutMillis;
+  }
+
+  /**
+   * Sets the policy sending a duplicate of the <code>GET</code> and <code>HEAD</code> requests that
+   * take too long, the first response to arrive being passed to the callback, and the other call
+   * being aborted. See {@link HedgingPolicy} for details.
+   *
+   * @param hedgingPolicy the policy to use, or <code>null</code> to never hedge requests
+   */
+  public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+    this.hedgingPolicy = hedgingPolicy;
+  }
+
+  /**
+   * Sets the maximum number of milliseconds to go without receiving any more of the response body,
+   * once some of it has been received. Should the body stall for longer, the call is aborted and
+   * the callback is passed an {@link IdleTimeoutException}. Unlike the timeout set by {@link
+   * #setTimeoutMillis(int)}, this timeout doesn't kill large responses that are still being
+   * received.
+   *
+   * <p>The timeout depends on the {@link Transport} reporting progress: {@link XhrTransport} always
+   * does, {@link FetchTransport} only for streaming requests. When the call is shared by a {@link
+   * RequestCoalescer}, all its requests fail together.
+   *
+   * @param idleTimeoutMillis number of milliseconds without progress before the call is aborted, a
+   *     value of zero disables this timeout
+   * @throws IllegalArgumentException if the timeout value is negative
+   */
+  public void setIdleTimeoutMillis(int idleTimeoutMillis) {
+    if (idleTimeoutMillis < 0) {
+      throw new IllegalArgumentException("Timeouts cannot be negative");
+    }
+
+    this.idleTimeoutMillis = idleTimeoutMillis;
+  }
+
   /**
    * Sets the password to use in the request URL. This is ignored if there is no user specified.
    *
@@ -254,6 +906,47 @@ public class RequestBuilder {
     this.password = password;
   }
 
+  /**
+   * Sets the priority of the request. The priority matters when the request has to wait for a slot
+   * in the {@link RequestDispatcher} set by {@link #setDispatcher(RequestDispatcher)}: queued
+   * requests are started in priority order, then in the order they were sent. Transports may also
+   * pass it to the browser as a hint, as {@link FetchTransport} does.
+   *
+   * @param priority the priority of the request
+   * @throws NullPointerException if the priority is null
+   */
+  public void setPriority(Priority priority) {
+    StringValidator.throwIfNull("priority", priority);
+
+    this.priority = priority;
+  }
+
+  /**
+   * Sets the callback notified when a stale response served from the cache (see {@link
+   * #setCache(ResponseCache)}) under a <code>stale-while-revalidate</code> directive has been
+   * revalidated in the background, and the revalidation yielded a different response. The callback
+   * is also notified if the revalidation fails. Background revalidations are sent with the {@link
+   * Priority#BACKGROUND} priority.
+   *
+   * @param refreshCallback the callback to notify, or <code>null</code> to revalidate silently
+   */
+  public void setRefreshCallback(RequestCallback refreshCallback) {
+    this.refreshCallback = refreshCallback;
+  }
+
+  /**
+   * Sets the rate limiter bounding the rate of the requests sent to the group of endpoints it
+   * stands for. Requests exceeding its budget wait in its queue before any HTTP call is made, or,
+   * when the queue is full, {@link #send()} and the other send methods throw a {@link
+   * RateLimitExceededException} instead. The rate limiter applies before the dispatcher, if any
+   * (see {@link #setDispatcher(RequestDispatcher)}). See {@link RateLimiter} for details.
+   *
+   * @param rateLimiter the rate limiter to use, or <code>null</code> to send requests right away
+   */
+  public void setRateLimiter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
   /**
    * Sets the data to send as part of this request. This method <b>must</b> be called before calling
    * {@link #send()}.
@@ -264,6 +957,55 @@ public class RequestBuilder {
     this.requestData = requestData;
   }
 
+  /**
+   * Sets the switch letting only the latest request sent under a key be answered: sending a request
+   * cancels the pending request previously sent under the same key, whose callback is then never
+   * called. This suits typeahead and filter UIs, whose responses to earlier input are stale. See
+   * {@link RequestSwitch} for details.
+   *
+   * @param requestSwitch the switch to use, or <code>null</code> to not cancel previous requests
+   * @param key the key requests are sent under, e.g. the name of the UI component they are made
+   *     for; ignored if requestSwitch is <code>null</code>
+   * @throws NullPointerException if requestSwitch is not <code>null</code> and key is <code>null
+   *     </code>
+   * @throws IllegalArgumentException if requestSwitch is not <code>null</code> and key is empty
+   */
+  public void setRequestSwitch(RequestSwitch requestSwitch, String key) {
+    if (requestSwitch != null) {
+      StringValidator.throwIfEmptyOrNull("key", key);
+    }
+    this.requestSwitch = requestSwitch;
+    this.requestSwitchKey = requestSwitch != null ? key : null;
+  }
+
+  /**
+   * Sets the type the response body is received as. With {@link ResponseType#ARRAY_BUFFER} or
+   * {@link ResponseType#BLOB}, the bytes of the body are handed over as is, without any decoding or
+   * copying. With {@link ResponseType#JSON}, the browser parses the body itself, without exposing
+   * it as a string first. In all those cases {@link Response#getText()} returns <code>null</code>,
+   * and responses are not cached (see {@link #setCache(ResponseCache)}).
+   *
+   * @param responseType the type of the response body
+   * @throws NullPointerException if the response type is null
+   */
+  public void setResponseType(ResponseType responseType) {
+    StringValidator.throwIfNull("responseType", responseType);
+
+    this.responseType = responseType;
+  }
+
+  /**
+   * Sets the policy retrying <code>GET</code>, <code>HEAD</code>, <code>PUT</code> and <code>
+   * DELETE</code> requests that fail with a transient error, such as a network error or a <code>
+   * 503 Service Unavailable</code> response. The {@link Request} returned when sending a request
+   * stands for all of its attempts. See {@link RetryPolicy} for details.
+   *
+   * @param retryPolicy the policy to use, or <code>null</code> to never retry requests
+   */
+  public void setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+  }
+
   /**
    * Sets the number of milliseconds to wait for a request to complete. Should the request timeout,
    * the {@link RequestCallback#onError(Request, Throwable)} method will be called on the callback
@@ -271,6 +1013,9 @@ public class RequestBuilder {
    * callback method will receive an instance of the {@link RequestTimeoutException} class as its
    * {@link Throwable} argument.
    *
+   * <p>Timeouts are run by the {@link Scheduler}; with a {@link TimerWheel}, the timeouts of all
+   * requests share a single timer.
+   *
    * @param timeoutMillis number of milliseconds to wait before canceling the request, a value of
    *     zero disables timeouts
    * @throws IllegalArgumentException if the timeout value is negative
@@ -283,6 +1028,20 @@ public class RequestBuilder {
     this.timeoutMillis = timeoutMillis;
   }
 
+  /**
+   * Sets the transport making the HTTP calls of the requests, for instance a {@link FetchTransport}
+   * rather than the default {@link XhrTransport}. The cache, coalescer, dispatcher and timeouts
+   * apply the same whatever the transport.
+   *
+   * @param transport the transport to use
+   * @throws NullPointerException if the transport is null
+   */
+  public void setTransport(Transport transport) {
+    StringValidator.throwIfNull("transport", transport);
+
+    this.transport = transport;
+  }
+
   /**
    * Sets the user name that will be used in the request URL.
    *
@@ -314,77 +1073,322 @@ public class RequestBuilder {
    * @throws NullPointerException if request data has not been set
    * @throws NullPointerException if a request callback has not been set
    */
-  private Request doSend(String requestData, final RequestCallback callback)
+  private Request doSend(Object requestData, RequestCallback callback) throws RequestException {
+    // don't send requests for a view that is gone
+    if (group != null && group.isAborted()) {
+      throw new RequestException("The request group has been aborted");
+    }
+    Request request = sendOrDeliver(requestData, callback);
+    if (group != null) {
+      group.add(request);
+    }
+    // cancel the previous request once this one is sent, so that a request for the same URL
+    // joins its call (see RequestCoalescer) rather than having it aborted
+    if (requestSwitch != null) {
+      requestSwitch.switchTo(requestSwitchKey, request);
+    }
+    return request;
+  }
+
+  /** Delivers the response stored in the cache, if it can be used, or sends the request. */
+  private Request sendOrDeliver(Object requestData, final RequestCallback callback)
       throws RequestException {
-    XMLHttpRequest xmlHttpRequest = new XMLHttpRequest();
+    final ResponseCache cache =
+        user == null && responseType == ResponseType.TEXT ? this.cache : null;
+    final Map<String, String> requestHeaders = getLowerCaseHeaders();
+    final long requestTime = System.currentTimeMillis();
+    ResponseCache.Entry stored = null;
+    if (cache != null && GET.toString().equals(httpMethod)) {
+      CacheControl cacheControl = CacheControl.parse(requestHeaders.get("cache-control"));
+      if (!cacheControl.has("no-store")) {
+        stored = cache.getEntry(url, requestHeaders);
+      }
+      if (stored != null && !cacheControl.has("no-cache")) {
+        if (stored.isFresh(requestTime)) {
+          return deliver(stored.response, callback);
+        }
+        if (stored.isStaleWhileRevalidate(requestTime)) {
+          Request request = deliver(stored.response, callback);
+          if (!stored.refreshing) {
+            refresh(requestData, cache, requestHeaders, requestTime, stored);
+          }
+          return request;
+        }
+      }
+    }
+
+    return send(requestData, callback, priority, cache, requestHeaders, requestTime, stored);
+  }
+
+  /**
+   * Sends the request over the network.
+   *
+   * @param stored the stale response stored in the cache for the request, or null
+   */
+  private Request send(
+      Object requestData,
+      final RequestCallback callback,
+      Priority priority,
+      final ResponseCache cache,
+      final Map<String, String> requestHeaders,
+      final long requestTime,
+      ResponseCache.Entry stored)
+      throws RequestException {
+    // revalidate the stored response, unless the caller makes its own conditional request
+    final ResponseCache.Entry revalidated =
+        stored != null
+                && stored.hasValidators()
+                && !requestHeaders.containsKey("if-none-match")
+                && !requestHeaders.containsKey("if-modified-since")
+            ? stored
+            : null;
+
+    // a streamed body may not be retained, so it can't be shared
+    final boolean streaming = callback instanceof StreamingRequestCallback;
+    String coalescingKey = null;
+    if (coalescer != null && isCoalescable() && !streaming) {
+      coalescingKey = getCoalescingKey();
+      RequestCoalescer.Call pending = coalescer.get(coalescingKey);
+      if (pending != null) {
+        return pending.join(timeoutMillis, callback);
+      }
+    }
+
+    // fail fast rather than calling an endpoint that keeps failing
+    if (circuitBreaker != null) {
+      circuitBreaker.acquire(url);
+    }
 
-    if (user != null && password != null) {
-      xmlHttpRequest.open(httpMethod, url, true, user, password);
-    } else if (user != null) {
-      xmlHttpRequest.open(httpMethod, url, true, user);
+    // a streamed body can't be received twice
+    final Transport transport =
+        hedgingPolicy != null && isCoalescable() && !streaming
+            ? hedgingPolicy.wrap(this.transport)
+            : this.transport;
+    final TransportRequest transportRequest =
+        new TransportRequest(
+            httpMethod,
+            url,
+            user,
+            password,
+            getTransportHeaders(requestData, revalidated),
+            requestData,
+            includeCredentials,
+            priority,
+            responseType,
+            streaming);
+    final ResponseHandler handler =
+        new ResponseHandler(
+            callback, cache, requestHeaders, requestTime, revalidated, coalescingKey);
+
+    // a request over the budget of the rate limiter waits for a token before taking a slot
+    boolean throttled = rateLimiter != null && !rateLimiter.tryAcquire();
+    if (dispatcher == null && !throttled) {
+      try {
+        handler.start(transport, transportRequest);
+      } catch (Throwable e) {
+        // stop the timer, and don't let later requests subscribe to a call that never started
+        handler.request.cancel();
+        if (e instanceof RequestException) {
+          throw (RequestException) e;
+        }
+        throw new RequestException(e.getMessage());
+      }
+      return handler.request;
+    }
+
+    Runnable start = () -> handler.startOrFail(transport, transportRequest);
+    if (dispatcher != null) {
+      final RequestDispatcher.Slot slot = dispatcher.createSlot(url, priority, start);
+      handler.setSlot(slot);
+      start = slot::enqueue;
+    }
+    if (throttled) {
+      try {
+        handler.exchange.startLater(rateLimiter.enqueue(start));
+      } catch (RateLimitExceededException e) {
+        handler.request.cancel();
+        throw e;
+      }
     } else {
-      xmlHttpRequest.open(httpMethod, url, true);
-    }
-
-    setHeaders(xmlHttpRequest);
-    if (includeCredentials) {
-      xmlHttpRequest.withCredentials = true;
-    }
-
-    final Request request = new Request(xmlHttpRequest, timeoutMillis, callback);
-
-    // Must set the onreadystatechange handler before calling send().
-    xmlHttpRequest.onreadystatechange =
-        evt -> {
-          if (xmlHttpRequest.readyState == XMLHttpRequest.DONE) {
-            // XXX: this clearOnReadyStateChange() was in
-            // com.google.gwt.http.client.Request, do we really need it (and equivalent) here?
-            // com.google.gwt.xhr.client.XMLHttpRequest has this note:
-            /*
-             * NOTE: Testing discovered that for some bizarre reason, on Mozilla, the
-             * JavaScript <code>XmlHttpRequest.onreadystatechange</code> handler
-             * function maybe still be called after it is deleted. The theory is that the
-             * callback is cached somewhere. Setting it to null or an empty function does
-             * seem to work properly, though.
-             *
-             * On IE, setting onreadystatechange to null (as opposed to an empty function)
-             * sometimes throws an exception.
-             *
-             * End result: *always* set onreadystatechange to an empty function (never to
-             * null).
-             */
-            //    xhr.clearOnReadyStateChange();
-            request.fireOnResponseReceived(callback);
+      start.run();
+    }
+    return handler.request;
+  }
+
+  /**
+   * Revalidates a stale response in the background, once it has been passed to the callback. The
+   * refresh callback, if any, is notified when a different response is received, or when the
+   * revalidation fails.
+   *
+   * @param stored the stale response stored in the cache for the request
+   */
+  private void refresh(
+      Object requestData,
+      ResponseCache cache,
+      Map<String, String> requestHeaders,
+      long requestTime,
+      final ResponseCache.Entry stored) {
+    final RequestCallback refreshCallback = this.refreshCallback;
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            stored.refreshing = false;
+            if (refreshCallback != null && !isSameResponse(stored.response, response)) {
+              refreshCallback.onResponseReceived(request, response);
+            }
+          }
+
+          @Override
+          public void onError(Request request, Throwable exception) {
+            stored.refreshing = false;
+            if (refreshCallback != null) {
+              refreshCallback.onError(request, exception);
+            }
           }
-          return Js.undefined();
         };
 
+    stored.refreshing = true;
     try {
-      xmlHttpRequest.send(requestData);
-    } catch (Throwable e) {
-      throw new RequestException(e.getMessage());
+      send(requestData, callback, Priority.BACKGROUND, cache, requestHeaders, requestTime, stored);
+    } catch (RequestException e) {
+      deliverError(e, callback);
     }
+  }
 
+  /** Whether a revalidation brought nothing new. */
+  private static boolean isSameResponse(Response stored, Response response) {
+    return stored.getStatusCode() == response.getStatusCode()
+        && Objects.equals(stored.getText(), response.getText());
+  }
+
+  /**
+   * Notifies the callback with an already available response, without any network access.
+   *
+   * @return a {@link Request} object that can be used to cancel the notification
+   */
+  private Request deliver(final Response response, final RequestCallback callback) {
+    DeferredExchange exchange = new DeferredExchange();
+    final Request request = new Request(timeoutMillis, callback, exchange);
+    exchange.schedule(() -> request.fireOnResponseReceived(callback, response));
     return request;
   }
 
-  /*
-   * Internal method that actually sets our cached headers on the underlying
-   * JavaScript XmlHttpRequest object. If there are no headers set, then we set
-   * the "Content-Type" to "text/plain; charset=utf-8". This is really lining us
-   * up for integration with RPC.
+  /** Notifies the callback of an error asynchronously, as if the request had been sent. */
+  private void deliverError(final Throwable exception, final RequestCallback callback) {
+    DeferredExchange exchange = new DeferredExchange();
+    final Request request = new Request(timeoutMillis, callback, exchange);
+    exchange.schedule(() -> request.fireOnError(callback, exception));
+  }
+
+  /**
+   * Stores the response to a <code>GET</code> request into the cache, or invalidates the cached
+   * response after a successful unsafe request.
+   *
+   * @param revalidated the stored entry a conditional request was made for, or null
+   * @return the response to pass to the callback: the refreshed stored response if the conditional
+   *     request was answered with <code>304 Not Modified</code>, the given response otherwise
+   */
+  private Response updateCache(
+      ResponseCache cache,
+      ResponseCache.Entry revalidated,
+      Map<String, String> requestHeaders,
+      long requestTime,
+      Response response) {
+    long responseTime = System.currentTimeMillis();
+    if (revalidated != null && response.getStatusCode() == Response.SC_NOT_MODIFIED) {
+      return cache.revalidate(
+          url, revalidated, requestHeaders, requestTime, responseTime, response);
+    }
+    if (GET.toString().equals(httpMethod)) {
+      if (response.getText() == null) {
+        // a streamed body the transport did not retain
+        cache.invalidate(url);
+      } else if (!CacheControl.parse(requestHeaders.get("cache-control")).has("no-store")) {
+        cache.put(url, requestHeaders, requestTime, responseTime, response);
+      }
+    } else if (!HEAD.toString().equals(httpMethod)
+        && response.getStatusCode() >= 200
+        && response.getStatusCode() < 400) {
+      cache.invalidate(url);
+    }
+    return response;
+  }
+
+  /** Returns the headers making a request conditional on the validators of a stored response. */
+  private static Map<String, String> getConditionalHeaders(Response stored) {
+    Map<String, String> conditionalHeaders = new LinkedHashMap<>();
+    String eTag = stored.getHeader("ETag");
+    if (eTag != null) {
+      conditionalHeaders.put("If-None-Match", eTag);
+    }
+    String lastModified = stored.getHeader("Last-Modified");
+    if (lastModified != null) {
+      conditionalHeaders.put("If-Modified-Since", lastModified);
+    }
+    return conditionalHeaders;
+  }
+
+  /**
+   * Returns the headers to send: those set on this builder, or the default "Content-Type" if none
+   * was set and the body isn't binary, and the headers making the request conditional, if any.
+   *
+   * @param requestData the body of the request, or null
+   * @param revalidated the stored entry a conditional request is made for, or null
    */
-  private void setHeaders(XMLHttpRequest xmlHttpRequest) throws RequestException {
+  private Map<String, String> getTransportHeaders(
+      Object requestData, ResponseCache.Entry revalidated) {
+    Map<String, String> transportHeaders = new LinkedHashMap<>();
     if (headers != null && headers.size() > 0) {
+      transportHeaders.putAll(headers);
+    } else if (requestData == null || requestData instanceof String) {
+      // This is really lining us up for integration with RPC.
+      transportHeaders.put("Content-Type", "text/plain; charset=utf-8");
+    }
+    if (revalidated != null) {
+      transportHeaders.putAll(getConditionalHeaders(revalidated.response));
+    }
+    return transportHeaders;
+  }
+
+  /** Whether identical requests in flight can share the same response. */
+  private boolean isCoalescable() {
+    return GET.toString().equals(httpMethod) || HEAD.toString().equals(httpMethod);
+  }
+
+  /**
+   * Returns a key identifying the requests this builder sends, for the purpose of coalescing them.
+   * Header names are case-insensitive, and their order does not matter. The settings applying to
+   * the shared call are part of the key, so that a request never joins a call made with another
+   * transport, priority, headers or idle timeout, or retry, hedging or circuit breaker policy.
+   */
+  private String getCoalescingKey() {
+    StringBuilder key = new StringBuilder();
+    key.append(httpMethod).append(' ').append(url);
+    key.append('\n').append(includeCredentials).append(' ').append(responseType);
+    key.append('\n').append(priority).append(' ').append(headersTimeoutMillis);
+    key.append(' ').append(idleTimeoutMillis);
+    // the identities of the objects making the call
+    for (Object object : new Object[] {transport, retryPolicy, hedgingPolicy, circuitBreaker}) {
+      key.append(' ').append(object == null ? 0 : System.identityHashCode(object));
+    }
+    if (user != null) {
+      key.append('\n').append(user).append(':').append(password);
+    }
+    for (Map.Entry<String, String> header : getLowerCaseHeaders().entrySet()) {
+      key.append('\n').append(header.getKey()).append(": ").append(header.getValue());
+    }
+    return key.toString();
+  }
+
+  /** Returns the headers set on this builder, keyed by lower-case name, in name order. */
+  private Map<String, String> getLowerCaseHeaders() {
+    Map<String, String> lowerCaseHeaders = new TreeMap<>();
+    if (headers != null) {
       for (Map.Entry<String, String> header : headers.entrySet()) {
-        try {
-          xmlHttpRequest.setRequestHeader(header.getKey(), header.getValue());
-        } catch (Throwable e) {
-          throw new RequestException(e.getMessage());
-        }
+        lowerCaseHeaders.put(header.getKey().toLowerCase(), header.getValue());
       }
-    } else {
-      xmlHttpRequest.setRequestHeader("Content-Type", "text/plain; charset=utf-8");
     }
+    return lowerCaseHeaders;
   }
 }
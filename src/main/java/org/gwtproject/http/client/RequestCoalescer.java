@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares a single HTTP call between identical requests that are in flight at the same time.
+ *
+ * <p>When a {@link RequestBuilder} configured with a coalescer (see {@link
+ * RequestBuilder#setCoalescer(RequestCoalescer)}) sends a <code>GET</code> or <code>HEAD</code>
+ * request while an identical one (same method, URL, credentials and headers) is still waiting for
+ * its response, no new HTTP call is made: the new request subscribes to the pending one, and every
+ * subscriber is notified with the same {@link Response}. Requests made for a {@link
+ * StreamingRequestCallback} are never shared, as their {@link Transport} may not retain the body.
+ *
+ * <p>Requests are only shared if their builders also agree on the settings applying to the call
+ * itself: the {@link Transport}, the {@link RequestBuilder.Priority}, the headers and idle
+ * timeouts, and the {@link RetryPolicy}, {@link HedgingPolicy} and {@link CircuitBreaker}. A
+ * critical request thus never waits behind a background prefetch of the same URL.
+ *
+ * <p>Each subscriber gets its own {@link Request}, with its own timeout. Canceling a request only
+ * unsubscribes it; the shared call is aborted when its last subscriber leaves.
+ */
+public class RequestCoalescer {
+
+  /** An HTTP call shared by one or more requests. */
+  final class Call {
+
+    /** The {@link Exchange} of a request subscribed to the call. */
+    private final class Subscription implements Exchange {
+      private final RequestCallback callback;
+      private Request request;
+
+      Subscription(RequestCallback callback) {
+        this.callback = callback;
+      }
+
+      @Override
+      public boolean isPending() {
+        return exchange.isPending();
+      }
+
+      @Override
+      public void abort() {
+        leave(this);
+      }
+    }
+
+    private final String key;
+    private final Exchange exchange;
+    private final List<Subscription> subscribers = new ArrayList<>();
+    private RequestDispatcher.Slot slot;
+    private boolean done;
+
+    private Call(String key, Exchange exchange) {
+      this.key = key;
+      this.exchange = exchange;
+    }
+
+    /**
+     * Subscribes a new request to this call.
+     *
+     * @param timeoutMillis number of milliseconds the new request waits for a response
+     * @param callback callback interface to use for notification
+     * @return the new request
+     */
+    Request join(int timeoutMillis, RequestCallback callback) {
+      Subscription subscription = new Subscription(callback);
+      subscription.request = new Request(timeoutMillis, callback, subscription);
+      subscribers.add(subscription);
+      return subscription.request;
+    }
+
+    void setSlot(RequestDispatcher.Slot slot) {
+      this.slot = slot;
+    }
+
+    /*
+     * Method called when the response to the shared call has been received,
+     * e.g. when the XmlHttpRequest object's readyState reaches 4 (LOADED).
+     */
+    void fireOnResponseReceived(Response response) {
+      complete(RequestDispatcher.isOverloaded(response.getStatusCode()));
+      for (Subscription subscription : snapshot()) {
+        subscription.request.fireOnResponseReceived(subscription.callback, response);
+      }
+    }
+
+    /*
+     * Method called when the shared request could not be sent.
+     */
+    void fireOnError(Throwable exception) {
+      complete(true);
+      for (Subscription subscription : snapshot()) {
+        subscription.request.fireOnError(subscription.callback, exception);
+      }
+    }
+
+    /** Unsubscribes a request, aborting the call if it was the last subscriber. */
+    private void leave(Subscription subscription) {
+      subscribers.remove(subscription);
+      if (subscribers.isEmpty() && !done) {
+        done = true;
+        forget(this);
+        if (slot != null) {
+          // the call timed out if its last subscriber did, which the dispatcher accounts for
+          if (subscription.request.isTimedOut()) {
+            slot.release(true);
+          } else {
+            slot.release();
+          }
+          slot = null;
+        }
+        exchange.abort();
+      }
+    }
+
+    /**
+     * Ends the call once its outcome is known.
+     *
+     * @param dropped whether the call failed, or the server is overloaded
+     */
+    private void complete(boolean dropped) {
+      done = true;
+      forget(this);
+      if (slot != null) {
+        slot.release(dropped);
+        slot = null;
+      }
+    }
+
+    /** Copies the subscribers, as callbacks may cancel other subscribers. */
+    private List<Subscription> snapshot() {
+      return new ArrayList<>(subscribers);
+    }
+  }
+
+  private final Map<String, Call> calls = new HashMap<>();
+
+  /** Returns the number of distinct HTTP calls currently in flight through this coalescer. */
+  public int getInFlightCount() {
+    return calls.size();
+  }
+
+  /** Returns the call in flight for the given key, or null if there's none. */
+  Call get(String key) {
+    return calls.get(key);
+  }
+
+  /**
+   * Registers a new call for the given key. The exchange will be shared with later requests having
+   * the same key until it completes.
+   */
+  Call start(String key, Exchange exchange) {
+    Call call = new Call(key, exchange);
+    calls.put(key, call);
+    return call;
+  }
+
+  private void forget(Call call) {
+    if (calls.get(call.key) == call) {
+      calls.remove(call.key);
+    }
+  }
+}
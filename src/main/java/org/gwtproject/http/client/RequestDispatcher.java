@@ -0,0 +1,488 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.dom.DomGlobal;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.gwtproject.http.client.RequestBuilder.Priority;
+
+/**
+ * Limits the number of requests that are concurrently in flight to the same origin.
+ *
+ * <p>Requests sent through a {@link RequestBuilder} configured with a dispatcher (see {@link
+ * RequestBuilder#setDispatcher(RequestDispatcher)}) are only handed to the browser once a slot is
+ * available for their origin; excess requests are queued until a previous request to the same
+ * origin completes, times out or is canceled. Queued requests are started in {@link Priority}
+ * order, then in the order they were sent. Relative URLs are resolved against the base URL of the
+ * document (see {@link #getBaseUrl()}), so that they share the slots of its origin.
+ *
+ * <p>An adaptive dispatcher (see {@link #setAdaptive(boolean)}) doesn't run the maximum number of
+ * requests per origin, but a window between 1 and that maximum, adjusted as requests complete:
+ *
+ * <ul>
+ *   <li>the window shrinks by half when a request fails, times out, or gets a response telling the
+ *       server is overloaded (<code>429 Too Many Requests</code>, <code>503 Service
+ *       Unavailable</code> or <code>504 Gateway Timeout</code>, or the status code 0 of a network
+ *       error);
+ *   <li>the window shrinks by a tenth when the round trip time of a request exceeds twice the
+ *       lowest round trip time observed for the origin, i.e. when requests start queuing on the
+ *       server;
+ *   <li>otherwise the window grows by one request per window of completed requests, as long as it
+ *       is in use.
+ * </ul>
+ *
+ * <p>The window shrinks at most once per round trip: requests sent before the last decrease don't
+ * shrink it again. This additive increase and multiplicative decrease lets many clients converge to
+ * a fair share of what a server can handle, rather than each running its maximum parallelism. A
+ * window is reset to the maximum once its origin has had no requests for {@link
+ * #WINDOW_IDLE_MILLIS}, whatever its size, as the congestion it reacted to is likely over.
+ *
+ * <p>A single dispatcher is meant to be shared by all the builders of an application.
+ */
+public class RequestDispatcher {
+
+  /**
+   * The default maximum number of concurrent requests per origin, matching the limit most browsers
+   * apply to HTTP/1.1 connections.
+   */
+  public static final int DEFAULT_MAX_REQUESTS_PER_ORIGIN = 6;
+
+  /** How long, in milliseconds, an adaptive window is kept once its origin has no more requests. */
+  public static final int WINDOW_IDLE_MILLIS = 60000;
+
+  /**
+   * Returns the origin (scheme, host and port) of the given URL, or the empty string if the URL is
+   * relative to the current document.
+   *
+   * @param url the URL to extract the origin from
+   * @return the lower-cased origin of the URL, or the empty string
+   */
+  static String getOrigin(String url) {
+    int schemeEnd = url.indexOf("://");
+    if (schemeEnd <= 0 || !isScheme(url.substring(0, schemeEnd))) {
+      return "";
+    }
+    int authorityStart = schemeEnd + 3;
+    int authorityEnd = authorityStart;
+    while (authorityEnd < url.length() && "/?#".indexOf(url.charAt(authorityEnd)) < 0) {
+      authorityEnd++;
+    }
+    String authority = url.substring(authorityStart, authorityEnd);
+    // strip the user info, if any
+    authority = authority.substring(authority.lastIndexOf('@') + 1);
+    return (url.substring(0, authorityStart) + authority).toLowerCase();
+  }
+
+  private static boolean isScheme(String scheme) {
+    for (int i = 0; i < scheme.length(); i++) {
+      char c = scheme.charAt(i);
+      if (!Character.isLetterOrDigit(c) && c != '+' && c != '-' && c != '.') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** The multiplier applied to the window when a request fails. */
+  static final double DROP_DECREASE = 0.5;
+
+  /** The multiplier applied to the window when the round trip time inflates. */
+  static final double LATENCY_DECREASE = 0.9;
+
+  /** The ratio to the lowest round trip time above which the round trip time is inflated. */
+  static final double LATENCY_TOLERANCE = 2;
+
+  /** How fast the lowest round trip time follows higher samples, to adapt to route changes. */
+  static final double MIN_RTT_DRIFT = 0.01;
+
+  /** Returns whether a response tells that the server is overloaded. */
+  static boolean isOverloaded(int statusCode) {
+    return statusCode == 0
+        || statusCode == Response.SC_TOO_MANY_REQUESTS
+        || statusCode == Response.SC_SERVICE_UNAVAILABLE
+        || statusCode == Response.SC_GATEWAY_TIMEOUT;
+  }
+
+  /** The adaptive concurrency window of an origin. */
+  private static final class Window {
+    double limit;
+    double minRttMillis;
+    long lastDecreaseMillis;
+    /** The time the origin last ran out of requests; only meaningful while it has none. */
+    long idleSinceMillis;
+
+    Window(int limit) {
+      this.limit = limit;
+    }
+  }
+
+  /** Bookkeeping of the requests made to a single origin. */
+  private static class Origin {
+    final String name;
+    final Map<Priority, ArrayDeque<Slot>> queues = new EnumMap<>(Priority.class);
+    int inFlight;
+    int queued;
+
+    Origin(String name) {
+      this.name = name;
+      for (Priority priority : Priority.values()) {
+        queues.put(priority, new ArrayDeque<>());
+      }
+    }
+
+    void enqueue(Slot slot) {
+      queues.get(slot.priority).add(slot);
+      queued++;
+    }
+
+    /** Removes and returns the first slot of the highest priority non-empty queue. */
+    Slot poll() {
+      for (Priority priority : Priority.values()) {
+        Slot slot = queues.get(priority).poll();
+        if (slot != null) {
+          queued--;
+          return slot;
+        }
+      }
+      return null;
+    }
+
+    void remove(Slot slot) {
+      if (queues.get(slot.priority).remove(slot)) {
+        queued--;
+      }
+    }
+  }
+
+  /** The place a {@link Request} holds, or waits for, in this dispatcher. */
+  final class Slot {
+    private final String originName;
+    private final Priority priority;
+    private final Runnable send;
+    private Origin origin;
+    private boolean started;
+    private boolean released;
+    private long startMillis;
+
+    private Slot(String originName, Priority priority, Runnable send) {
+      this.originName = originName;
+      this.priority = priority;
+      this.send = send;
+    }
+
+    /**
+     * Gives the slot back to the dispatcher, possibly starting the next queued request. If the
+     * request was still queued, it is simply removed from the queue. Calling this method more than
+     * once has no effect.
+     */
+    void release() {
+      if (released) {
+        return;
+      }
+      released = true;
+
+      if (origin == null) {
+        // never enqueued
+        return;
+      }
+      if (started) {
+        origin.inFlight--;
+        drain(origin);
+      } else {
+        origin.remove(this);
+        forgetIfIdle(origin);
+      }
+    }
+
+    /**
+     * Gives the slot back to the dispatcher, like {@link #release()}, accounting for the outcome of
+     * the request in the window of its origin if the dispatcher is adaptive.
+     *
+     * @param dropped whether the request failed, or the server is overloaded
+     */
+    void release(boolean dropped) {
+      if (!released && started) {
+        addSample(originName, startMillis, currentTimeMillis(), dropped);
+      }
+      release();
+    }
+
+    /** Queues the request, and starts it right away if its origin has room for it. */
+    void enqueue() {
+      if (released) {
+        return;
+      }
+      origin = origins.get(originName);
+      if (origin == null) {
+        forgetIdleWindows(originName);
+        origin = new Origin(originName);
+        origins.put(originName, origin);
+      }
+      origin.enqueue(this);
+      drain(origin);
+    }
+
+    private void start() {
+      started = true;
+      startMillis = currentTimeMillis();
+      origin.inFlight++;
+      send.run();
+    }
+  }
+
+  private final int maxRequestsPerOrigin;
+
+  private final Map<String, Origin> origins = new HashMap<>();
+
+  /** The windows of the origins, if adaptive. */
+  private final Map<String, Window> windows = new HashMap<>();
+
+  private boolean adaptive;
+
+  /** The last time the windows of idle origins were looked through. */
+  private long lastSweepMillis;
+
+  /**
+   * Creates a dispatcher allowing {@link #DEFAULT_MAX_REQUESTS_PER_ORIGIN} concurrent requests per
+   * origin.
+   */
+  public RequestDispatcher() {
+    this(DEFAULT_MAX_REQUESTS_PER_ORIGIN);
+  }
+
+  /**
+   * Creates a dispatcher allowing the given number of concurrent requests per origin.
+   *
+   * @param maxRequestsPerOrigin maximum number of requests in flight to the same origin
+   * @throws IllegalArgumentException if maxRequestsPerOrigin is less than 1
+   */
+  public RequestDispatcher(int maxRequestsPerOrigin) {
+    if (maxRequestsPerOrigin < 1) {
+      throw new IllegalArgumentException("maxRequestsPerOrigin must be at least 1");
+    }
+
+    this.maxRequestsPerOrigin = maxRequestsPerOrigin;
+  }
+
+  /** Returns the maximum number of requests in flight to the same origin. */
+  public int getMaxRequestsPerOrigin() {
+    return maxRequestsPerOrigin;
+  }
+
+  /** Returns whether the number of concurrent requests per origin adapts to their outcome. */
+  public boolean isAdaptive() {
+    return adaptive;
+  }
+
+  /**
+   * Sets whether the number of concurrent requests per origin adapts to their outcome, within
+   * {@link #getMaxRequestsPerOrigin()}. See the class documentation for details.
+   *
+   * @param adaptive whether the dispatcher is adaptive
+   */
+  public void setAdaptive(boolean adaptive) {
+    this.adaptive = adaptive;
+  }
+
+  /**
+   * Returns the number of requests that may currently be in flight to the origin of the given URL:
+   * the maximum number of requests per origin, or the current window of the origin if the
+   * dispatcher is adaptive.
+   *
+   * @param url an URL, only its origin is taken into account
+   */
+  public int getLimit(String url) {
+    return getOriginLimit(resolveOrigin(url));
+  }
+
+  /**
+   * Returns the number of requests currently in flight to the origin of the given URL.
+   *
+   * @param url an URL, only its origin is taken into account
+   */
+  public int getInFlightCount(String url) {
+    Origin origin = origins.get(resolveOrigin(url));
+    return origin == null ? 0 : origin.inFlight;
+  }
+
+  /**
+   * Returns the number of requests waiting for a slot to the origin of the given URL.
+   *
+   * @param url an URL, only its origin is taken into account
+   */
+  public int getQueuedCount(String url) {
+    Origin origin = origins.get(resolveOrigin(url));
+    return origin == null ? 0 : origin.queued;
+  }
+
+  /** Returns the number of origins whose window is kept track of. */
+  int getWindowCount() {
+    return windows.size();
+  }
+
+  /**
+   * Creates a slot for a request to <code>url</code>. Once the slot has been handed to its owner,
+   * {@link Slot#enqueue()} must be called to run <code>send</code> as soon as the origin has room
+   * for it, possibly immediately; the owner must then release the slot when the request completes
+   * or is canceled.
+   *
+   * @param url the URL of the request
+   * @param priority the priority of the request
+   * @param send the action actually sending the request
+   */
+  Slot createSlot(String url, Priority priority, Runnable send) {
+    return new Slot(resolveOrigin(url), priority, send);
+  }
+
+  /**
+   * Returns the URL relative URLs are resolved against, so that they are counted with the absolute
+   * URLs of the same origin. The default implementation returns the base URL of the document.
+   *
+   * @return the base URL, or null if there is none
+   */
+  protected String getBaseUrl() {
+    return DomGlobal.document.baseURI;
+  }
+
+  /**
+   * Adjusts the window of an origin to the outcome of one of its requests.
+   *
+   * @param originName the origin of the request
+   * @param startMillis the time the request was started
+   * @param endMillis the time the request completed
+   * @param dropped whether the request failed, or the server is overloaded
+   */
+  void addSample(String originName, long startMillis, long endMillis, boolean dropped) {
+    if (!adaptive) {
+      return;
+    }
+    Window window = windows.get(originName);
+    if (window == null) {
+      window = new Window(maxRequestsPerOrigin);
+      window.idleSinceMillis = currentTimeMillis();
+      windows.put(originName, window);
+    }
+
+    double rttMillis = Math.max(1, endMillis - startMillis);
+    boolean inflated = false;
+    if (!dropped) {
+      if (window.minRttMillis == 0 || rttMillis < window.minRttMillis) {
+        window.minRttMillis = rttMillis;
+      } else {
+        window.minRttMillis += (rttMillis - window.minRttMillis) * MIN_RTT_DRIFT;
+        inflated = rttMillis > window.minRttMillis * LATENCY_TOLERANCE;
+      }
+    }
+
+    if (dropped || inflated) {
+      // requests sent before the last decrease already saw the congestion it reacted to
+      if (startMillis >= window.lastDecreaseMillis) {
+        window.limit = Math.max(1, window.limit * (dropped ? DROP_DECREASE : LATENCY_DECREASE));
+        window.lastDecreaseMillis = endMillis;
+      }
+    } else {
+      Origin origin = origins.get(originName);
+      // only grow a window that is in use
+      if (origin != null && (origin.queued > 0 || origin.inFlight >= (int) window.limit)) {
+        window.limit = Math.min(maxRequestsPerOrigin, window.limit + 1 / window.limit);
+      }
+    }
+  }
+
+  /** Returns the current time in milliseconds. */
+  long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  /** Returns the origin of a URL, resolving relative URLs against {@link #getBaseUrl()}. */
+  private String resolveOrigin(String url) {
+    String origin = getOrigin(url);
+    if (!origin.isEmpty()) {
+      return origin;
+    }
+    String baseUrl = getBaseUrl();
+    if (baseUrl == null) {
+      return "";
+    }
+    if (url.startsWith("//")) {
+      // a scheme-relative URL only takes the scheme of the base URL
+      return getOrigin(baseUrl.substring(0, baseUrl.indexOf(':') + 1) + url);
+    }
+    return getOrigin(baseUrl);
+  }
+
+  private int getOriginLimit(String originName) {
+    Window window = adaptive ? windows.get(originName) : null;
+    return window == null ? maxRequestsPerOrigin : (int) window.limit;
+  }
+
+  private void drain(Origin origin) {
+    int limit = getOriginLimit(origin.name);
+    while (origin.inFlight < limit && origin.queued > 0) {
+      origin.poll().start();
+    }
+    forgetIfIdle(origin);
+  }
+
+  /**
+   * Forgets an origin without requests, and its window once it has grown back to the maximum, so
+   * that the dispatcher only keeps track of the origins it is in use for.
+   */
+  private void forgetIfIdle(Origin origin) {
+    if (origin.inFlight == 0 && origin.queued == 0) {
+      origins.remove(origin.name);
+      Window window = windows.get(origin.name);
+      if (window != null) {
+        if (window.limit >= maxRequestsPerOrigin) {
+          windows.remove(origin.name);
+        } else {
+          window.idleSinceMillis = currentTimeMillis();
+        }
+      }
+    }
+  }
+
+  /**
+   * Forgets the window of an origin getting a request after being idle for too long, and, at most
+   * once per {@link #WINDOW_IDLE_MILLIS}, the windows of all the origins idle for too long, so that
+   * the windows of origins no longer used don't pile up.
+   *
+   * @param originName the origin getting a request
+   */
+  private void forgetIdleWindows(String originName) {
+    long now = currentTimeMillis();
+    Window window = windows.get(originName);
+    if (window != null && now - window.idleSinceMillis >= WINDOW_IDLE_MILLIS) {
+      windows.remove(originName);
+    }
+    if (now - lastSweepMillis < WINDOW_IDLE_MILLIS) {
+      return;
+    }
+    lastSweepMillis = now;
+    Iterator<Map.Entry<String, Window>> it = windows.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, Window> entry = it.next();
+      if (!origins.containsKey(entry.getKey())
+          && now - entry.getValue().idleSinceMillis >= WINDOW_IDLE_MILLIS) {
+        it.remove();
+      }
+    }
+  }
+}
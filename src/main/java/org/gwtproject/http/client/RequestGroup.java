@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.dom.AbortSignal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A group of requests that can be canceled all at once, e.g. all the requests sent for a view when
+ * the user navigates away from it, so that they neither keep occupying connections nor call back
+ * into a view that is gone.
+ *
+ * <p>Requests join the group of the {@link RequestBuilder} that sends them (see {@link
+ * RequestBuilder#setGroup(RequestGroup)}), and leave it as soon as they complete, time out or are
+ * canceled, so the group only holds the pending ones. {@link #cancelAll()} cancels them, as {@link
+ * Request#cancel()} would: their callbacks are not called.
+ *
+ * <p>A group can be bound to an <code>AbortSignal</code>, in which case aborting the signal cancels
+ * the requests of the group, and sending further requests in the group fails.
+ */
+public class RequestGroup {
+
+  private final Set<Request> requests = new LinkedHashSet<>();
+  private final AbortSignal signal;
+
+  /** Creates a group, whose requests are only canceled by {@link #cancelAll()}. */
+  public RequestGroup() {
+    this.signal = null;
+  }
+
+  /**
+   * Creates a group whose requests are canceled when the given signal is aborted.
+   *
+   * @param signal the signal to follow
+   * @throws NullPointerException if the signal is null
+   */
+  public RequestGroup(AbortSignal signal) {
+    StringValidator.throwIfNull("signal", signal);
+
+    this.signal = signal;
+    signal.addEventListener("abort", evt -> cancelAll());
+  }
+
+  /** Cancels all the pending requests of the group. The group can still be used afterwards. */
+  public void cancelAll() {
+    List<Request> canceled = new ArrayList<>(requests);
+    requests.clear();
+    // latest first: canceling a request gives its dispatcher slot to the next queued one, which
+    // was usually sent after it, and would otherwise be started only to be canceled right away
+    for (int i = canceled.size() - 1; i >= 0; i--) {
+      canceled.get(i).cancel();
+    }
+  }
+
+  /** Returns the number of pending requests in the group. */
+  public int getPendingCount() {
+    return requests.size();
+  }
+
+  /** Returns whether the signal of the group, if any, has been aborted. */
+  public boolean isAborted() {
+    return signal != null && signal.isAborted();
+  }
+
+  /** Adds a request that has just been sent, unless it already completed. */
+  void add(Request request) {
+    if (request.isPending()) {
+      requests.add(request);
+      request.setGroup(this);
+    }
+  }
+
+  /** Removes a request once it completes, times out or is canceled. */
+  void remove(Request request) {
+    requests.remove(request);
+  }
+}
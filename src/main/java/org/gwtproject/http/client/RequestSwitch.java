@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lets only the latest request sent under a key be answered, e.g. in a typeahead or filter UI
+ * sending a request per keystroke: a stale response would waste bandwidth, and could be rendered
+ * after a newer one if it arrived out of order.
+ *
+ * <p>When a {@link RequestBuilder} bound to a switch under a key (see {@link
+ * RequestBuilder#setRequestSwitch(RequestSwitch, String)}) sends a request, the request previously
+ * sent under the same key, if still pending, is canceled, as {@link Request#cancel()} would: its
+ * callback is not called, and its call is aborted unless it is shared with other requests (see
+ * {@link RequestCoalescer}). If the new request fails to be sent, i.e. the send method throws, the
+ * previous one is left alone.
+ *
+ * <p>The key is chosen by the caller, typically after the UI component the requests are made for,
+ * e.g. <code>"search"</code> for a search box: requests under the same key replace each other
+ * whatever their URLs, while requests under different keys, or sent through different switches, are
+ * left alone.
+ */
+public class RequestSwitch {
+
+  /** The latest request sent under each key, as long as it is pending. */
+  private final Map<String, Request> latest = new HashMap<>();
+
+  /** Cancels the latest pending request of every key. */
+  public void cancelAll() {
+    List<Request> canceled = new ArrayList<>(latest.values());
+    latest.clear();
+    for (Request request : canceled) {
+      request.cancel();
+    }
+  }
+
+  /** Returns the number of keys whose latest request is pending. */
+  int getPendingCount() {
+    return latest.size();
+  }
+
+  /**
+   * Makes a request that has just been sent the latest one for its key, canceling the previous one.
+   *
+   * @param key the key the request is sent under
+   * @param request the request
+   */
+  void switchTo(String key, Request request) {
+    Request previous;
+    if (request.isPending()) {
+      previous = latest.put(key, request);
+      request.setSwitch(this, key);
+    } else {
+      previous = latest.remove(key);
+    }
+    if (previous != null && previous != request) {
+      previous.cancel();
+    }
+  }
+
+  /**
+   * Forgets a request once it completes, times out or is canceled, unless a newer request has been
+   * sent under its key since.
+   *
+   * @param key the key the request was sent under
+   * @param request the request
+   */
+  void remove(String key, Request request) {
+    if (latest.get(key) == request) {
+      latest.remove(key);
+    }
+  }
+}
@@ -35,7 +35,18 @@ public class RequestTimeoutException extends RequestException {
    * @param timeoutMillis the number of milliseconds which expired
    */
   public RequestTimeoutException(Request request, int timeoutMillis) {
-    super(formatMessage(timeoutMillis));
+    this(formatMessage(timeoutMillis), request, timeoutMillis);
+  }
+
+  /**
+   * Constructs a timeout exception for the given {@link Request}, with a specific message.
+   *
+   * @param message the message of the exception
+   * @param request the request which timed out
+   * @param timeoutMillis the number of milliseconds which expired
+   */
+  protected RequestTimeoutException(String message, Request request, int timeoutMillis) {
+    super(message);
     this.request = request;
     this.timeoutMillis = timeoutMillis;
   }
@@ -15,6 +15,10 @@
  */
 package org.gwtproject.http.client;
 
+import elemental2.core.ArrayBuffer;
+import elemental2.dom.Blob;
+import jsinterop.base.Any;
+
 /** Wrapper which provides access to the components of an HTTP response. */
 public abstract class Response {
 
@@ -53,10 +57,31 @@ public abstract class Response {
   public static final int SC_SERVICE_UNAVAILABLE = 503;
   public static final int SC_SWITCHING_PROTOCOLS = 101;
   public static final int SC_TEMPORARY_REDIRECT = 307;
+  public static final int SC_TOO_MANY_REQUESTS = 429;
   public static final int SC_UNAUTHORIZED = 401;
   public static final int SC_UNSUPPORTED_MEDIA_TYPE = 415;
   public static final int SC_USE_PROXY = 305;
 
+  /**
+   * Returns the body of the response, if it was received as an ArrayBuffer (see {@link
+   * RequestBuilder#setResponseType(RequestBuilder.ResponseType)}). The buffer is not copied.
+   *
+   * @return the response body, or <code>null</code> if it was not received as an ArrayBuffer
+   */
+  public ArrayBuffer getArrayBuffer() {
+    return null;
+  }
+
+  /**
+   * Returns the body of the response, if it was received as a Blob (see {@link
+   * RequestBuilder#setResponseType(RequestBuilder.ResponseType)}).
+   *
+   * @return the response body, or <code>null</code> if it was not received as a Blob
+   */
+  public Blob getBlob() {
+    return null;
+  }
+
   /**
    * Returns the value of the requested header or null if the header was not specified.
    *
@@ -83,6 +108,17 @@ public abstract class Response {
    */
   public abstract String getHeadersAsString();
 
+  /**
+   * Returns the value parsed from the body of the response, if it was received as JSON (see {@link
+   * RequestBuilder#setResponseType(RequestBuilder.ResponseType)}).
+   *
+   * @return the parsed value, or <code>null</code> if the body was not received as JSON, or could
+   *     not be parsed
+   */
+  public Any getJson() {
+    return null;
+  }
+
   /**
    * Returns the HTTP status code that is part of this response.
    *
@@ -104,7 +140,7 @@ public abstract class Response {
   /**
    * Returns the text associated with the response.
    *
-   * @return the response text
+   * @return the response text, or <code>null</code> if the body was received in another form
    */
   public abstract String getText();
 }
@@ -0,0 +1,439 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An in-memory cache of HTTP responses, following the caching rules of <a
+ * href="https://www.rfc-editor.org/rfc/rfc9111">RFC 9111</a> for a private cache.
+ *
+ * <p>When a {@link RequestBuilder} is configured with a cache (see {@link
+ * RequestBuilder#setCache(ResponseCache)}), successful <code>GET</code> responses with an explicit
+ * freshness lifetime (given by the <code>max-age</code> directive of the <code>Cache-Control</code>
+ * header, or by the <code>Expires</code> header) are stored in the cache, and later requests for
+ * the same URL are answered from the cache, without any network access, for as long as the response
+ * is fresh. The <code>Age</code> and <code>Date</code> headers are taken into account to compute
+ * the age of a response, and the <code>Vary</code> header to match a cached response with a
+ * request. Requests or responses with the <code>no-store</code> directive are never stored.
+ *
+ * <p>Responses carrying a validator (an <code>ETag</code> or a <code>Last-Modified</code> header)
+ * are also stored when they have no explicit freshness lifetime, or have the <code>no-cache</code>
+ * directive. Once such a response is stale, the builder revalidates it by sending a conditional
+ * request (with an <code>If-None-Match</code> or <code>If-Modified-Since</code> header); a <code>
+ * 304 Not Modified</code> answer refreshes the cached response, which is then passed to the
+ * callback in place of the <code>304</code> response.
+ *
+ * <p>A stale response whose <code>Cache-Control</code> header has a <code>
+ * stale-while-revalidate</code> directive (see <a href="https://www.rfc-editor.org/rfc/rfc5861">RFC
+ * 5861</a>) is still passed to the callback right away for the given number of seconds after it
+ * became stale, while the builder revalidates it in the background. The builder's refresh callback
+ * (see {@link RequestBuilder#setRefreshCallback(RequestCallback)}) is notified if that yields a
+ * different response.
+ *
+ * <p>Successful <code>POST</code>, <code>PUT</code> or <code>DELETE</code> requests invalidate the
+ * cached response for the same URL.
+ *
+ * <p>The cache holds a bounded number of responses, and a bounded (approximate) number of bytes;
+ * least recently used responses are evicted first. Responses can also be persisted across page
+ * reloads by a {@link ResponseStore}.
+ */
+public class ResponseCache {
+
+  /** The default maximum number of responses held by a cache. */
+  public static final int DEFAULT_MAX_ENTRIES = 100;
+
+  /** The default maximum size of a cache, in bytes. */
+  public static final int DEFAULT_MAX_SIZE = 5 * 1024 * 1024;
+
+  /** Status codes whose responses can be cached. */
+  private static final int[] CACHEABLE_STATUS_CODES = {
+    Response.SC_OK,
+    Response.SC_NON_AUTHORITATIVE_INFORMATION,
+    Response.SC_NO_CONTENT,
+    Response.SC_MULTIPLE_CHOICES,
+    Response.SC_MOVED_PERMANENTLY,
+    Response.SC_NOT_FOUND,
+    Response.SC_METHOD_NOT_ALLOWED,
+    Response.SC_GONE,
+    Response.SC_NOT_IMPLEMENTED
+  };
+
+  /** A response held in the cache. */
+  static final class Entry {
+    final CachedResponse response;
+
+    /** The values of the request headers the response varies on, keyed by lower-case name. */
+    final Map<String, String> varyHeaders;
+
+    /** The time the response was received, in milliseconds since the epoch. */
+    final long responseTime;
+
+    /** The age of the response when it was received, in milliseconds. */
+    final long initialAge;
+
+    /** The freshness lifetime of the response, in milliseconds. */
+    final long freshnessLifetime;
+
+    /** How long the response can be served while it is revalidated, once stale, in milliseconds. */
+    final long staleWhileRevalidate;
+
+    /** Whether a background revalidation of the response is in flight. */
+    boolean refreshing;
+
+    Entry(
+        CachedResponse response,
+        Map<String, String> varyHeaders,
+        long responseTime,
+        long initialAge,
+        long freshnessLifetime,
+        long staleWhileRevalidate) {
+      this.response = response;
+      this.varyHeaders = varyHeaders;
+      this.responseTime = responseTime;
+      this.initialAge = initialAge;
+      this.freshnessLifetime = freshnessLifetime;
+      this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    /** Returns the current age of the response, in milliseconds. */
+    long getAge(long now) {
+      return initialAge + Math.max(0, now - responseTime);
+    }
+
+    /** Returns true if the response can be served without revalidation. */
+    boolean isFresh(long now) {
+      return getAge(now) < freshnessLifetime;
+    }
+
+    /** Returns true if the response can be served while it is revalidated in the background. */
+    boolean isStaleWhileRevalidate(long now) {
+      long age = getAge(now);
+      return age >= freshnessLifetime && age < freshnessLifetime + staleWhileRevalidate;
+    }
+
+    /** Returns true if the response can be revalidated with a conditional request. */
+    boolean hasValidators() {
+      return response.getHeader("ETag") != null || response.getHeader("Last-Modified") != null;
+    }
+
+    /** Returns true if the response was sent for a request with the same varying headers. */
+    boolean matches(Map<String, String> requestHeaders) {
+      for (Map.Entry<String, String> header : varyHeaders.entrySet()) {
+        String value = requestHeaders.get(header.getKey());
+        if (value == null ? header.getValue() != null : !value.equals(header.getValue())) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static boolean isCacheableStatus(int statusCode) {
+    for (int cacheable : CACHEABLE_STATUS_CODES) {
+      if (statusCode == cacheable) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private final int maxEntries;
+  private final int maxSize;
+
+  /** The persistent tier, or null. */
+  private final ResponseStore store;
+
+  /** Entries keyed by URL, in least recently used order. */
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private int size;
+
+  /**
+   * Creates a cache holding at most {@link #DEFAULT_MAX_ENTRIES} responses and {@link
+   * #DEFAULT_MAX_SIZE} bytes.
+   */
+  public ResponseCache() {
+    this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Creates a cache with the given bounds.
+   *
+   * @param maxEntries the maximum number of responses held by the cache
+   * @param maxSize the maximum size of the cache, in bytes
+   * @throws IllegalArgumentException if maxEntries or maxSize is less than 1
+   */
+  public ResponseCache(int maxEntries, int maxSize) {
+    this(maxEntries, maxSize, null);
+  }
+
+  /**
+   * Creates a cache with the given bounds, backed by a persistent store. Responses evicted from
+   * memory remain in the store, within its own bounds, and are read back from it when needed.
+   *
+   * @param maxEntries the maximum number of responses held in memory by the cache
+   * @param maxSize the maximum size of the responses held in memory by the cache, in bytes
+   * @param store the persistent tier of the cache, or <code>null</code>
+   * @throws IllegalArgumentException if maxEntries or maxSize is less than 1
+   */
+  public ResponseCache(int maxEntries, int maxSize, ResponseStore store) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be at least 1");
+    }
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be at least 1");
+    }
+
+    this.maxEntries = maxEntries;
+    this.maxSize = maxSize;
+    this.store = store;
+  }
+
+  /** Returns the maximum number of responses held by the cache. */
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /** Returns the maximum size of the cache, in bytes. */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /** Returns the persistent tier of the cache, or <code>null</code> if it has none. */
+  public ResponseStore getStore() {
+    return store;
+  }
+
+  /** Returns the number of responses currently held in memory by the cache. */
+  public int getEntryCount() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the approximate size of the responses currently held in memory by the cache, in bytes.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /** Removes all the responses from the cache, including its persistent tier. */
+  public void clear() {
+    entries.clear();
+    size = 0;
+    if (store != null) {
+      store.clear();
+    }
+  }
+
+  /**
+   * Removes the response cached for the given URL, if any.
+   *
+   * @param url the URL of the response
+   */
+  public void invalidate(String url) {
+    Entry entry = entries.remove(url);
+    if (entry != null) {
+      size -= entry.response.getSize();
+    }
+    if (store != null) {
+      store.remove(url);
+    }
+  }
+
+  /**
+   * Returns the entry matching a <code>GET</code> request, whether it is fresh or stale.
+   *
+   * @param url the URL of the request
+   * @param requestHeaders the headers of the request, keyed by lower-case name
+   * @return the matching entry, or null
+   */
+  Entry getEntry(String url, Map<String, String> requestHeaders) {
+    Entry entry = entries.get(url);
+    if (entry == null && store != null) {
+      entry = store.get(url);
+      if (entry != null) {
+        add(url, entry);
+      }
+    }
+    if (entry == null || !entry.matches(requestHeaders)) {
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Refreshes a stored response after a conditional request was answered with <code>304 Not
+   * Modified</code>: the headers of the <code>304</code> response replace the stored ones, and the
+   * result is stored again.
+   *
+   * @param url the URL of the request
+   * @param entry the entry that was revalidated, it may have been evicted in the meantime
+   * @param requestHeaders the headers of the request, keyed by lower-case name
+   * @param requestTime the time the request was sent, in milliseconds since the epoch
+   * @param responseTime the time the response was received, in milliseconds since the epoch
+   * @param notModified the <code>304</code> response
+   * @return the refreshed response, to be used in place of the <code>304</code> response
+   */
+  Response revalidate(
+      String url,
+      Entry entry,
+      Map<String, String> requestHeaders,
+      long requestTime,
+      long responseTime,
+      Response notModified) {
+    Map<String, String> headers = new LinkedHashMap<>();
+    for (Header header : entry.response.getHeaders()) {
+      // the age of the stored response says nothing about the age of the 304 response
+      if (!header.getName().equalsIgnoreCase("Age")) {
+        addHeader(headers, header);
+      }
+    }
+    Map<String, String> updated = new LinkedHashMap<>();
+    for (Header header : notModified.getHeaders()) {
+      addHeader(updated, header);
+    }
+    headers.putAll(updated);
+
+    StringBuilder headersAsString = new StringBuilder();
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      // keys are lower-cased, values keep the original header name
+      headersAsString.append(header.getValue()).append("\r\n");
+    }
+    Response response =
+        new CachedResponse(
+            entry.response.getStatusCode(),
+            entry.response.getStatusText(),
+            headersAsString.toString(),
+            entry.response.getText());
+    put(url, requestHeaders, requestTime, responseTime, response);
+    return response;
+  }
+
+  /** Adds a header line to the given map, keyed by lower-case name. */
+  private static void addHeader(Map<String, String> headers, Header header) {
+    String key = header.getName().toLowerCase();
+    String line = header.getName() + ": " + header.getValue();
+    String previous = headers.get(key);
+    headers.put(key, previous == null ? line : previous + "\r\n" + line);
+  }
+
+  /**
+   * Stores the response to a <code>GET</code> request, if it is cacheable. The response replaces
+   * any response stored for the same URL, even if it is not itself stored.
+   *
+   * @param url the URL of the request
+   * @param requestHeaders the headers of the request, keyed by lower-case name
+   * @param requestTime the time the request was sent, in milliseconds since the epoch
+   * @param responseTime the time the response was received, in milliseconds since the epoch
+   * @param response the response
+   */
+  void put(
+      String url,
+      Map<String, String> requestHeaders,
+      long requestTime,
+      long responseTime,
+      Response response) {
+    if (!isCacheableStatus(response.getStatusCode())) {
+      return;
+    }
+    // whether or not it can be stored, the response supersedes the stored one
+    invalidate(url);
+    CacheControl cacheControl = CacheControl.parse(response.getHeader("Cache-Control"));
+    if (cacheControl.has("no-store")) {
+      return;
+    }
+
+    long date = HttpDates.parse(response.getHeader("Date"));
+    long freshnessLifetime;
+    if (cacheControl.has("no-cache")) {
+      freshnessLifetime = 0;
+    } else if (cacheControl.getSeconds("max-age") >= 0) {
+      freshnessLifetime = cacheControl.getSeconds("max-age") * 1000;
+    } else if (response.getHeader("Expires") != null) {
+      // an invalid date, such as "0", means "already expired"
+      long expires = HttpDates.parse(response.getHeader("Expires"));
+      freshnessLifetime = Math.max(0, expires - (date >= 0 ? date : responseTime));
+    } else {
+      // no explicit freshness, and we don't do heuristic freshness
+      freshnessLifetime = 0;
+    }
+    long staleWhileRevalidate =
+        cacheControl.has("no-cache")
+            ? 0
+            : Math.max(0, cacheControl.getSeconds("stale-while-revalidate") * 1000);
+    if (freshnessLifetime == 0
+        && staleWhileRevalidate == 0
+        && response.getHeader("ETag") == null
+        && response.getHeader("Last-Modified") == null) {
+      // could neither be served nor revalidated
+      return;
+    }
+
+    Map<String, String> varyHeaders = new HashMap<>();
+    String vary = response.getHeader("Vary");
+    if (vary != null) {
+      for (String name : vary.split(",")) {
+        name = name.trim().toLowerCase();
+        if (name.equals("*")) {
+          return;
+        }
+        if (!name.isEmpty()) {
+          varyHeaders.put(name, requestHeaders.get(name));
+        }
+      }
+    }
+
+    long apparentAge = date >= 0 ? Math.max(0, responseTime - date) : 0;
+    long ageValue = Math.max(0, CacheControl.parseDeltaSeconds(response.getHeader("Age")));
+    long initialAge = Math.max(apparentAge, ageValue * 1000 + (responseTime - requestTime));
+
+    Entry entry =
+        new Entry(
+            new CachedResponse(response),
+            varyHeaders,
+            responseTime,
+            initialAge,
+            freshnessLifetime,
+            staleWhileRevalidate);
+    add(url, entry);
+    if (store != null) {
+      store.put(url, entry);
+    }
+  }
+
+  /** Adds an entry to the memory tier, unless it is too large for it. */
+  private void add(String url, Entry entry) {
+    if (entry.response.getSize() > maxSize) {
+      return;
+    }
+    entries.put(url, entry);
+    size += entry.response.getSize();
+    evict();
+  }
+
+  /** Evicts the least recently used entries until the cache is within its bounds. */
+  private void evict() {
+    Iterator<Entry> it = entries.values().iterator();
+    while ((entries.size() > maxEntries || size > maxSize) && it.hasNext()) {
+      size -= it.next().response.getSize();
+      it.remove();
+    }
+  }
+}
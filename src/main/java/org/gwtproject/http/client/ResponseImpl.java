@@ -15,9 +15,13 @@
  */
 package org.gwtproject.http.client;
 
+import elemental2.core.ArrayBuffer;
+import elemental2.dom.Blob;
 import elemental2.dom.XMLHttpRequest;
 import java.util.ArrayList;
 import java.util.List;
+import jsinterop.base.Any;
+import jsinterop.base.Js;
 
 /** A {@link Response} implementation based on a {@link XMLHttpRequest}. */
 class ResponseImpl extends Response {
@@ -30,6 +34,20 @@ class ResponseImpl extends Response {
     assert isResponseReady();
   }
 
+  @Override
+  public ArrayBuffer getArrayBuffer() {
+    return hasResponseType(RequestBuilder.ResponseType.ARRAY_BUFFER)
+        ? Js.uncheckedCast(xmlHttpRequest.response)
+        : null;
+  }
+
+  @Override
+  public Blob getBlob() {
+    return hasResponseType(RequestBuilder.ResponseType.BLOB)
+        ? Js.uncheckedCast(xmlHttpRequest.response)
+        : null;
+  }
+
   @Override
   public String getHeader(String header) {
     StringValidator.throwIfEmptyOrNull("header", header);
@@ -39,7 +57,48 @@ class ResponseImpl extends Response {
 
   @Override
   public Header[] getHeaders() {
-    String allHeaders = getHeadersAsString();
+    return parseHeaders(getHeadersAsString());
+  }
+
+  @Override
+  public String getHeadersAsString() {
+    String headers = xmlHttpRequest.getAllResponseHeaders();
+    return headers != null ? headers : "";
+  }
+
+  @Override
+  public Any getJson() {
+    return hasResponseType(RequestBuilder.ResponseType.JSON)
+        ? Js.asAny(xmlHttpRequest.response)
+        : null;
+  }
+
+  @Override
+  public int getStatusCode() {
+    return xmlHttpRequest.status;
+  }
+
+  @Override
+  public String getStatusText() {
+    return xmlHttpRequest.statusText;
+  }
+
+  @Override
+  public String getText() {
+    // responseText throws when the response type isn't text
+    String responseType = xmlHttpRequest.responseType;
+    return responseType == null || responseType.isEmpty() || responseType.equals("text")
+        ? xmlHttpRequest.responseText
+        : null;
+  }
+
+  /**
+   * Parses headers formatted as returned by {@link Response#getHeadersAsString()}.
+   *
+   * @param allHeaders the headers, one per line
+   * @return array of HTTP headers; returns zero length array if there are no headers
+   */
+  static Header[] parseHeaders(String allHeaders) {
     String[] unparsedHeaders = allHeaders.split("\n");
     List<Header> parsedHeaders = new ArrayList<>();
 
@@ -80,25 +139,8 @@ class ResponseImpl extends Response {
     return parsedHeaders.toArray(new Header[parsedHeaders.size()]);
   }
 
-  @Override
-  public String getHeadersAsString() {
-    String headers = xmlHttpRequest.getAllResponseHeaders();
-    return headers != null ? headers : "";
-  }
-
-  @Override
-  public int getStatusCode() {
-    return xmlHttpRequest.status;
-  }
-
-  @Override
-  public String getStatusText() {
-    return xmlHttpRequest.statusText;
-  }
-
-  @Override
-  public String getText() {
-    return xmlHttpRequest.responseText;
+  private boolean hasResponseType(RequestBuilder.ResponseType responseType) {
+    return responseType.getValue().equals(xmlHttpRequest.responseType);
   }
 
   protected boolean isResponseReady() {
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A persistent tier for a {@link ResponseCache}, keeping cached responses in the browser's <a
+ * href="https://html.spec.whatwg.org/multipage/webstorage.html">local storage</a> so that they
+ * survive page reloads.
+ *
+ * <p>A cache configured with a store (see {@link ResponseCache#ResponseCache(int, int,
+ * ResponseStore)}) writes every response it stores through to the store, and looks up the store
+ * when a response is not found in memory. The same freshness and revalidation rules apply to the
+ * responses read back from the store.
+ *
+ * <p>Stored responses belong to a namespace and a version: when a store is created, the responses
+ * stored by other versions of the same namespace are deleted. Changing the version on each deploy
+ * thus busts the cache of the previous deploy. The store holds a bounded (approximate) number of
+ * bytes; least recently used responses are evicted first, also when the browser's storage quota is
+ * exceeded. Reads only update the order of the responses in memory: the order is saved with the
+ * next response stored or removed.
+ *
+ * <p>When local storage is not available (see {@link #isSupported()}), the store keeps nothing.
+ * Stores are not coordinated across browser tabs: the most recently written response wins.
+ */
+public class ResponseStore {
+
+  /** The default maximum size of a store, in bytes. */
+  public static final int DEFAULT_MAX_SIZE = 5 * 1024 * 1024;
+
+  /** The prefix of all the keys written to local storage. */
+  private static final String KEY_PREFIX = "gwt-http:";
+
+  /** The version of the format of the stored entries. */
+  private static final String FORMAT = "1";
+
+  /** Returns true if local storage is available, in which case stores actually keep responses. */
+  public static boolean isSupported() {
+    return WebStorage.getLocalStorage() != null;
+  }
+
+  /**
+   * Encodes a cache entry as a string.
+   *
+   * @param entry the entry to encode
+   * @return the encoded entry, see {@link #decode(String)}
+   */
+  static String encode(ResponseCache.Entry entry) {
+    Writer writer = new Writer();
+    writer.write(FORMAT);
+    writer.write(entry.response.getStatusCode());
+    writer.write(entry.response.getStatusText());
+    writer.write(entry.response.getHeadersAsString());
+    writer.write(entry.response.getText());
+    writer.write(entry.responseTime);
+    writer.write(entry.initialAge);
+    writer.write(entry.freshnessLifetime);
+    writer.write(entry.staleWhileRevalidate);
+    writer.write(entry.varyHeaders.size());
+    for (Map.Entry<String, String> header : entry.varyHeaders.entrySet()) {
+      writer.write(header.getKey());
+      writer.write(header.getValue());
+    }
+    return writer.toString();
+  }
+
+  /**
+   * Decodes a cache entry encoded by {@link #encode(ResponseCache.Entry)}.
+   *
+   * @param encoded the encoded entry
+   * @return the entry, or null if it could not be decoded
+   */
+  static ResponseCache.Entry decode(String encoded) {
+    try {
+      Reader reader = new Reader(encoded);
+      if (!FORMAT.equals(reader.read())) {
+        return null;
+      }
+      CachedResponse response =
+          new CachedResponse((int) reader.readLong(), reader.read(), reader.read(), reader.read());
+      long responseTime = reader.readLong();
+      long initialAge = reader.readLong();
+      long freshnessLifetime = reader.readLong();
+      long staleWhileRevalidate = reader.readLong();
+      Map<String, String> varyHeaders = new HashMap<>();
+      for (long i = reader.readLong(); i > 0; i--) {
+        varyHeaders.put(reader.read(), reader.read());
+      }
+      return new ResponseCache.Entry(
+          response, varyHeaders, responseTime, initialAge, freshnessLifetime, staleWhileRevalidate);
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      // NumberFormatException is an IllegalArgumentException
+      return null;
+    }
+  }
+
+  /** Writes a sequence of length-prefixed strings. */
+  private static final class Writer {
+    private final StringBuilder builder = new StringBuilder();
+
+    void write(String value) {
+      if (value == null) {
+        builder.append("-:");
+      } else {
+        builder.append(value.length()).append(':').append(value);
+      }
+    }
+
+    void write(long value) {
+      write(String.valueOf(value));
+    }
+
+    @Override
+    public String toString() {
+      return builder.toString();
+    }
+  }
+
+  /** Reads a sequence of length-prefixed strings. */
+  private static final class Reader {
+    private final String encoded;
+    private int pos;
+
+    Reader(String encoded) {
+      this.encoded = encoded;
+    }
+
+    boolean hasNext() {
+      return pos < encoded.length();
+    }
+
+    String read() {
+      int colon = encoded.indexOf(':', pos);
+      if (colon < 0) {
+        throw new IllegalArgumentException("Truncated value");
+      }
+      String length = encoded.substring(pos, colon);
+      if (length.equals("-")) {
+        pos = colon + 1;
+        return null;
+      }
+      int end = colon + 1 + Integer.parseInt(length);
+      if (end <= colon || end > encoded.length()) {
+        throw new IllegalArgumentException("Invalid length: " + length);
+      }
+      String value = encoded.substring(colon + 1, end);
+      pos = end;
+      return value;
+    }
+
+    long readLong() {
+      return Long.parseLong(read());
+    }
+  }
+
+  private final String namespace;
+  private final String version;
+  private final int maxSize;
+
+  /** The prefix of the keys of this store, unique to its namespace and version. */
+  private final String prefix;
+
+  /** The local storage, or null if it is not available. */
+  private final WebStorage storage;
+
+  /** Sizes of the stored responses keyed by URL, in least recently used order. */
+  private final LinkedHashMap<String, Integer> index = new LinkedHashMap<>(16, 0.75f, true);
+
+  private int size;
+
+  /**
+   * Creates a store holding at most {@link #DEFAULT_MAX_SIZE} bytes.
+   *
+   * @param namespace the namespace of the store
+   * @param version the version of the stored responses
+   * @throws IllegalArgumentException if the namespace or version is empty, or contains a colon
+   * @throws NullPointerException if the namespace or version is null
+   */
+  public ResponseStore(String namespace, String version) {
+    this(namespace, version, DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Creates a store with the given bound. Responses stored by other versions of the same namespace
+   * are deleted.
+   *
+   * @param namespace the namespace of the store
+   * @param version the version of the stored responses
+   * @param maxSize the maximum size of the store, in bytes
+   * @throws IllegalArgumentException if the namespace or version is empty, or contains a colon, or
+   *     if maxSize is less than 1
+   * @throws NullPointerException if the namespace or version is null
+   */
+  public ResponseStore(String namespace, String version, int maxSize) {
+    throwIfInvalidName("namespace", namespace);
+    throwIfInvalidName("version", version);
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be at least 1");
+    }
+
+    this.namespace = namespace;
+    this.version = version;
+    this.maxSize = maxSize;
+    this.prefix = KEY_PREFIX + namespace + ":" + version + ":";
+    this.storage = WebStorage.getLocalStorage();
+    if (storage != null) {
+      loadIndex();
+      deleteUnknownKeys();
+    }
+  }
+
+  private static void throwIfInvalidName(String name, String value) {
+    StringValidator.throwIfEmptyOrNull(name, value);
+    if (value.indexOf(':') >= 0) {
+      throw new IllegalArgumentException(name + " cannot contain a colon");
+    }
+  }
+
+  /** Returns the namespace of the store. */
+  public String getNamespace() {
+    return namespace;
+  }
+
+  /** Returns the version of the stored responses. */
+  public String getVersion() {
+    return version;
+  }
+
+  /** Returns the maximum size of the store, in bytes. */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /** Returns the number of responses currently held by the store. */
+  public int getEntryCount() {
+    return index.size();
+  }
+
+  /** Returns the approximate size of the responses currently held by the store, in bytes. */
+  public int getSize() {
+    return size;
+  }
+
+  /** Removes all the responses from the store. */
+  public void clear() {
+    if (storage == null) {
+      return;
+    }
+    for (String url : index.keySet()) {
+      storage.removeItem(getKey(url));
+    }
+    index.clear();
+    size = 0;
+    saveIndex();
+  }
+
+  /**
+   * Returns the entry stored for the given URL.
+   *
+   * @param url the URL of the response
+   * @return the stored entry, or null
+   */
+  ResponseCache.Entry get(String url) {
+    if (storage == null || !index.containsKey(url)) {
+      return null;
+    }
+    String encoded = storage.getItem(getKey(url));
+    ResponseCache.Entry entry = encoded == null ? null : decode(encoded);
+    if (entry == null) {
+      // deleted behind our back, or corrupted
+      remove(url);
+      return null;
+    }
+    // makes it the most recently used; the new order is saved along with the next change, so
+    // that reads don't write to the storage
+    index.get(url);
+    return entry;
+  }
+
+  /**
+   * Stores an entry for the given URL, replacing any entry stored for that URL. Least recently used
+   * entries are evicted to make room for it.
+   *
+   * @param url the URL of the response
+   * @param entry the entry to store
+   */
+  void put(String url, ResponseCache.Entry entry) {
+    if (storage == null) {
+      return;
+    }
+    removeItem(url);
+    String key = getKey(url);
+    String encoded = encode(entry);
+    int entrySize = 2 * (key.length() + encoded.length());
+    if (entrySize > maxSize) {
+      saveIndex();
+      return;
+    }
+
+    Iterator<Map.Entry<String, Integer>> lru = index.entrySet().iterator();
+    while (size + entrySize > maxSize && lru.hasNext()) {
+      Map.Entry<String, Integer> evicted = lru.next();
+      storage.removeItem(getKey(evicted.getKey()));
+      size -= evicted.getValue();
+      lru.remove();
+    }
+    while (true) {
+      try {
+        storage.setItem(key, encoded);
+        break;
+      } catch (Throwable e) {
+        // most likely a QuotaExceededError: the storage is shared with other users of the origin
+        if (index.isEmpty()) {
+          saveIndex();
+          return;
+        }
+        String evicted = index.keySet().iterator().next();
+        removeItem(evicted);
+      }
+    }
+    index.put(url, entrySize);
+    size += entrySize;
+    saveIndex();
+  }
+
+  /**
+   * Removes the entry stored for the given URL, if any.
+   *
+   * @param url the URL of the response
+   */
+  void remove(String url) {
+    if (storage != null && removeItem(url)) {
+      saveIndex();
+    }
+  }
+
+  /** Removes an entry from the storage and the index, without saving the index. */
+  private boolean removeItem(String url) {
+    Integer entrySize = index.remove(url);
+    if (entrySize == null) {
+      return false;
+    }
+    storage.removeItem(getKey(url));
+    size -= entrySize;
+    return true;
+  }
+
+  private String getKey(String url) {
+    return prefix + "entry:" + url;
+  }
+
+  private String getIndexKey() {
+    return prefix + "index";
+  }
+
+  /**
+   * Deletes the keys of the other versions of this namespace, and the entries of this version that
+   * are missing from the index.
+   */
+  private void deleteUnknownKeys() {
+    String namespacePrefix = KEY_PREFIX + namespace + ":";
+    String entryPrefix = getKey("");
+    List<String> unknown = new ArrayList<>();
+    for (int i = 0; i < storage.getLength(); i++) {
+      String key = storage.key(i);
+      if (key == null || !key.startsWith(namespacePrefix)) {
+        continue;
+      }
+      if (!key.startsWith(prefix)
+          || (key.startsWith(entryPrefix)
+              && !index.containsKey(key.substring(entryPrefix.length())))) {
+        unknown.add(key);
+      }
+    }
+    for (String key : unknown) {
+      storage.removeItem(key);
+    }
+  }
+
+  private void loadIndex() {
+    String encoded = storage.getItem(getIndexKey());
+    if (encoded == null) {
+      return;
+    }
+    try {
+      Reader reader = new Reader(encoded);
+      while (reader.hasNext()) {
+        String url = reader.read();
+        int entrySize = (int) reader.readLong();
+        index.put(url, entrySize);
+        size += entrySize;
+      }
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      // corrupted index: the entries it lost track of are deleted as unknown
+      index.clear();
+      size = 0;
+    }
+  }
+
+  private void saveIndex() {
+    Writer writer = new Writer();
+    for (Map.Entry<String, Integer> entry : index.entrySet()) {
+      writer.write(entry.getKey());
+      writer.write(entry.getValue());
+    }
+    try {
+      storage.setItem(getIndexKey(), writer.toString());
+    } catch (Throwable e) {
+      // quota exceeded: the index will be saved along with the next change
+    }
+  }
+}
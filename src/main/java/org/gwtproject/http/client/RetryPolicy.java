@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/**
+ * Retries idempotent requests that fail with a transient error.
+ *
+ * <p>Requests sent through a {@link RequestBuilder} configured with a retry policy (see {@link
+ * RequestBuilder#setRetryPolicy(RetryPolicy)}) using the <code>GET</code>, <code>HEAD</code>,
+ * <code>PUT</code> or <code>DELETE</code> method are sent again when:
+ *
+ * <ul>
+ *   <li>the call fails, e.g. because of a network error;
+ *   <li>the response has the status code 0 (a network error reported by <code>XMLHttpRequest
+ *       </code>), {@link Response#SC_BAD_GATEWAY}, {@link Response#SC_SERVICE_UNAVAILABLE} or
+ *       {@link Response#SC_GATEWAY_TIMEOUT};
+ *   <li>the response headers or body take too long to arrive (see {@link
+ *       RequestBuilder#setHeadersTimeoutMillis(int)} and {@link
+ *       RequestBuilder#setIdleTimeoutMillis(int)}).
+ * </ul>
+ *
+ * <p>The request is sent again after a random delay between zero and an exponentially growing bound
+ * ("full jitter"), so that clients failing together don't retry together. If the response has a
+ * <code>Retry-After</code> header, its delay is used instead; the request is not retried if that
+ * delay exceeds the maximum delay of the policy.
+ *
+ * <p>The {@link Request} returned by the builder stands for all the attempts: it stays pending
+ * between attempts, keeping its {@link RequestDispatcher} slot if any, and canceling it stops the
+ * retries. The timeout set by {@link RequestBuilder#setTimeoutMillis(int)} bounds all the attempts
+ * together. Streaming requests are not retried once a piece of the body has been passed to their
+ * callback.
+ *
+ * <p>To prevent retries from adding to the load of a failing server, a policy keeps a budget of
+ * retry tokens: every failed attempt takes one token, every successful response gives back a tenth
+ * of a token, and requests are only retried while more than half the tokens are left. All the
+ * builders of an application should share one policy, and so one budget.
+ */
+public class RetryPolicy {
+
+  /** The default maximum number of attempts of a request, including the first one. */
+  public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+  /** The default bound of the delay before the first retry, in milliseconds. */
+  public static final int DEFAULT_BASE_DELAY_MILLIS = 100;
+
+  /** The default maximum delay before a retry, in milliseconds. */
+  public static final int DEFAULT_MAX_DELAY_MILLIS = 10000;
+
+  /** The number of retry tokens of the budget, which starts full. */
+  static final double MAX_TOKENS = 10;
+
+  /** The number of tokens a successful response gives back. */
+  static final double TOKEN_RATIO = 0.1;
+
+  private final int maxAttempts;
+  private final int baseDelayMillis;
+  private final int maxDelayMillis;
+  private double tokens = MAX_TOKENS;
+
+  /**
+   * Creates a policy allowing {@link #DEFAULT_MAX_ATTEMPTS} attempts, with delays bounded by {@link
+   * #DEFAULT_BASE_DELAY_MILLIS} and {@link #DEFAULT_MAX_DELAY_MILLIS}.
+   */
+  public RetryPolicy() {
+    this(DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS);
+  }
+
+  /**
+   * Creates a policy with the given number of attempts and delays.
+   *
+   * @param maxAttempts maximum number of attempts of a request, including the first one
+   * @param baseDelayMillis bound of the delay before the first retry, doubled for every following
+   *     retry
+   * @param maxDelayMillis maximum delay before a retry
+   * @throws IllegalArgumentException if maxAttempts is less than 1, or a delay is negative, or
+   *     baseDelayMillis is greater than maxDelayMillis
+   */
+  public RetryPolicy(int maxAttempts, int baseDelayMillis, int maxDelayMillis) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts must be at least 1");
+    }
+    if (baseDelayMillis < 0 || baseDelayMillis > maxDelayMillis) {
+      throw new IllegalArgumentException(
+          "Delays cannot be negative, and baseDelayMillis cannot exceed maxDelayMillis");
+    }
+
+    this.maxAttempts = maxAttempts;
+    this.baseDelayMillis = baseDelayMillis;
+    this.maxDelayMillis = maxDelayMillis;
+  }
+
+  /** Returns the maximum number of attempts of a request, including the first one. */
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /** Returns the bound of the delay before the first retry, in milliseconds. */
+  public int getBaseDelayMillis() {
+    return baseDelayMillis;
+  }
+
+  /** Returns the maximum delay before a retry, in milliseconds. */
+  public int getMaxDelayMillis() {
+    return maxDelayMillis;
+  }
+
+  /** Returns the number of retry tokens left in the budget. */
+  double getTokens() {
+    return tokens;
+  }
+
+  /** Returns whether requests with the given HTTP method may be retried. */
+  boolean isRetryable(String httpMethod) {
+    return RequestBuilder.GET.toString().equals(httpMethod)
+        || RequestBuilder.HEAD.toString().equals(httpMethod)
+        || RequestBuilder.PUT.toString().equals(httpMethod)
+        || RequestBuilder.DELETE.toString().equals(httpMethod);
+  }
+
+  /**
+   * Accounts for a response in the retry budget, and returns the delay before retrying the request
+   * it was received for.
+   *
+   * @param attempts the number of attempts already made
+   * @param response the response to the last attempt
+   * @return the delay in milliseconds, or -1 if the request must not be retried
+   */
+  int onResponse(int attempts, Response response) {
+    int statusCode = response.getStatusCode();
+    if (statusCode != 0
+        && statusCode != Response.SC_BAD_GATEWAY
+        && statusCode != Response.SC_SERVICE_UNAVAILABLE
+        && statusCode != Response.SC_GATEWAY_TIMEOUT) {
+      tokens = Math.min(MAX_TOKENS, tokens + TOKEN_RATIO);
+      return -1;
+    }
+
+    int delayMillis = onError(attempts);
+    long retryAfterMillis = getRetryAfterMillis(response);
+    if (delayMillis < 0 || retryAfterMillis < 0) {
+      return delayMillis;
+    }
+    return retryAfterMillis <= maxDelayMillis ? (int) retryAfterMillis : -1;
+  }
+
+  /**
+   * Accounts for a failed call in the retry budget, and returns the delay before retrying the
+   * request it was made for.
+   *
+   * @param attempts the number of attempts already made
+   * @return the delay in milliseconds, or -1 if the request must not be retried
+   */
+  int onError(int attempts) {
+    tokens = Math.max(0, tokens - 1);
+    if (attempts >= maxAttempts || tokens <= MAX_TOKENS / 2) {
+      return -1;
+    }
+    // doubling up to the maximum delay, without overflowing
+    double bound = baseDelayMillis;
+    for (int i = 1; i < attempts && bound < maxDelayMillis; i++) {
+      bound *= 2;
+    }
+    return (int) (Math.random() * Math.min(bound, maxDelayMillis));
+  }
+
+  /**
+   * Returns the delay in milliseconds given by the <code>Retry-After</code> header of a response,
+   * or -1 if it has none or it is invalid.
+   */
+  private static long getRetryAfterMillis(Response response) {
+    String retryAfter = response.getHeader("Retry-After");
+    if (retryAfter == null) {
+      return -1;
+    }
+    retryAfter = retryAfter.trim();
+    long seconds = CacheControl.parseDeltaSeconds(retryAfter);
+    if (seconds >= 0) {
+      return seconds * 1000;
+    }
+    long date = HttpDates.parse(retryAfter);
+    if (date < 0) {
+      return -1;
+    }
+    // relative to the date of the response, if any, to not depend on the client clock
+    long now = HttpDates.parse(response.getHeader("Date"));
+    return Math.max(0, date - (now < 0 ? System.currentTimeMillis() : now));
+  }
+}
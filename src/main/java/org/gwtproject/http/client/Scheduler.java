@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.dom.DomGlobal;
+
+/**
+ * Runs the timers of requests: their timeouts, and the delivery of responses that are already
+ * available, e.g. from a {@link ResponseCache}.
+ *
+ * <p>In a browser, timers are run with <code>setTimeout</code>. Outside of a browser, e.g. on the
+ * JVM, a scheduler running tasks on the thread the requests are sent from must be set with {@link
+ * #set(Scheduler)} before any request is sent.
+ */
+public abstract class Scheduler {
+
+  /** A task scheduled to run later. */
+  public interface Timer {
+    /** Keeps the task from running. Calling this method once the task has run has no effect. */
+    void cancel();
+  }
+
+  private static final class BrowserScheduler extends Scheduler {
+    @Override
+    public Timer schedule(final Runnable task, int delayMillis) {
+      final double timerId = DomGlobal.setTimeout(args -> task.run(), delayMillis);
+      return () -> DomGlobal.clearTimeout(timerId);
+    }
+  }
+
+  private static Scheduler instance = new BrowserScheduler();
+
+  /** Returns the scheduler used by all requests. */
+  public static Scheduler get() {
+    return instance;
+  }
+
+  /**
+   * Sets the scheduler used by all requests. Requests already sent keep the timers they have.
+   *
+   * @param scheduler the scheduler to use
+   * @throws NullPointerException if the scheduler is null
+   */
+  public static void set(Scheduler scheduler) {
+    StringValidator.throwIfNull("scheduler", scheduler);
+
+    instance = scheduler;
+  }
+
+  /**
+   * Schedules a task. The task must not be run before this method returns, even without delay.
+   *
+   * @param task the task to run
+   * @param delayMillis the number of milliseconds to wait before running the task
+   * @return the timer, to cancel the task
+   */
+  public abstract Timer schedule(Runnable task, int delayMillis);
+}
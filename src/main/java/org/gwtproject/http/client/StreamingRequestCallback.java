@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.core.Uint8Array;
+
+/**
+ * A {@link RequestCallback} that is also notified as the response text arrives, so that it can be
+ * processed before the whole response has been received.
+ *
+ * <p>{@link #onChunk(Request, String)} is called with consecutive pieces of the response text;
+ * concatenated, they form the whole text. Once the response is complete, the last piece, if any, is
+ * passed to {@link #onChunk(Request, String)}, then {@link #onResponseReceived(Request, Response)}
+ * is called as usual. The size of the pieces is up to the browser. A response served from a {@link
+ * ResponseCache} is passed as a single piece. Requests made for a streaming callback are never
+ * shared by a {@link RequestCoalescer}.
+ *
+ * <p>Text chunks are only delivered for the {@link RequestBuilder.ResponseType#TEXT} response type.
+ * When the request is sent with a {@link FetchTransport} (see {@link
+ * RequestBuilder#setTransport(Transport)}), the body is read as a stream and is not retained:
+ * {@link Response#getText()} returns <code>null</code> and the text is only available from the
+ * chunks. With the {@link RequestBuilder.ResponseType#ARRAY_BUFFER} response type, the bytes of the
+ * body are then passed to {@link #onChunk(Request, Uint8Array)} instead, and {@link
+ * Response#getArrayBuffer()} returns <code>null</code>.
+ */
+public interface StreamingRequestCallback extends RequestCallback {
+
+  /**
+   * Called when more of the response text has been received for a pending {@link Request}.
+   *
+   * @param request the object that generated this event
+   * @param chunk the text received since the previous call, never empty
+   */
+  void onChunk(Request request, String chunk);
+
+  /**
+   * Called when more of the response body has been received for a pending {@link Request}, when the
+   * body is streamed as bytes. The default implementation does nothing.
+   *
+   * @param request the object that generated this event
+   * @param chunk the bytes received since the previous call
+   */
+  default void onChunk(Request request, Uint8Array chunk) {}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/**
+ * A {@link Scheduler} running all delayed tasks, such as request timeouts, off a single periodic
+ * timer of another scheduler, rather than with one timer each. This saves creating and clearing a
+ * browser timer for every request, which matters when many requests are in flight, at the cost of
+ * precision: tasks run up to one tick late. Tasks without delay are passed on to the other
+ * scheduler.
+ *
+ * <p>The periodic timer only runs while tasks are pending. To use a timer wheel for all requests:
+ *
+ * <pre>
+ * Scheduler.set(new TimerWheel(Scheduler.get(), 250));
+ * </pre>
+ */
+public final class TimerWheel extends Scheduler {
+
+  /** The number of slots of the wheel; tasks due further away wait for more turns. */
+  static final int WHEEL_SIZE = 256;
+
+  /** A task waiting in a slot of the wheel. */
+  private final class Entry implements Timer {
+    private final Runnable task;
+    private final long deadlineTick;
+    private Entry next;
+    private boolean done;
+
+    Entry(Runnable task, long deadlineTick) {
+      this.task = task;
+      this.deadlineTick = deadlineTick;
+    }
+
+    @Override
+    public void cancel() {
+      if (!done) {
+        // the entry is removed from its slot when the wheel gets there
+        done = true;
+        pendingCount--;
+        if (pendingCount == 0) {
+          stop();
+        }
+      }
+    }
+  }
+
+  private final Scheduler scheduler;
+  private final int tickMillis;
+  private final Entry[] slots = new Entry[WHEEL_SIZE];
+
+  /** The number of tasks that have neither run nor been canceled. */
+  private int pendingCount;
+
+  /** The last tick the wheel processed the slot of, only meaningful while the ticker runs. */
+  private long lastTick;
+
+  /** The timer of the next tick, or null if the wheel is idle or ticking. */
+  private Timer ticker;
+
+  /**
+   * Creates a timer wheel.
+   *
+   * @param scheduler the scheduler running the periodic timer, and the tasks without delay
+   * @param tickMillis the period of the timer, in milliseconds
+   * @throws IllegalArgumentException if tickMillis &lt;= 0
+   * @throws NullPointerException if the scheduler is null
+   */
+  public TimerWheel(Scheduler scheduler, int tickMillis) {
+    StringValidator.throwIfNull("scheduler", scheduler);
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("tickMillis must be positive");
+    }
+
+    this.scheduler = scheduler;
+    this.tickMillis = tickMillis;
+  }
+
+  /** Returns the period of the timer, in milliseconds. */
+  public int getTickMillis() {
+    return tickMillis;
+  }
+
+  /** Returns the number of tasks that have neither run nor been canceled. */
+  public int getPendingCount() {
+    return pendingCount;
+  }
+
+  @Override
+  public Timer schedule(Runnable task, int delayMillis) {
+    if (delayMillis <= 0) {
+      return scheduler.schedule(task, delayMillis);
+    }
+    return schedule(task, delayMillis, System.currentTimeMillis());
+  }
+
+  /** Schedules a delayed task, as of the given time. */
+  Timer schedule(Runnable task, int delayMillis, long nowMillis) {
+    if (ticker == null) {
+      // the wheel was idle, there's nothing to catch up with
+      lastTick = nowMillis / tickMillis;
+      ticker = scheduler.schedule(this::tick, tickMillis);
+    }
+    // round up, so that the task never runs early
+    long deadlineTick = (nowMillis + delayMillis + tickMillis - 1) / tickMillis;
+    Entry entry = new Entry(task, deadlineTick);
+    int slot = (int) (deadlineTick % WHEEL_SIZE);
+    entry.next = slots[slot];
+    slots[slot] = entry;
+    pendingCount++;
+    return entry;
+  }
+
+  private void tick() {
+    tick(System.currentTimeMillis());
+  }
+
+  /** Runs the tasks due by the given time, and schedules the next tick if tasks are left. */
+  void tick(long nowMillis) {
+    // the timer fired; tasks scheduled from the tasks run below may start another one
+    ticker = null;
+    long nowTick = nowMillis / tickMillis;
+    // the timer may fire late, e.g. in a background tab, so catch up with the skipped slots
+    long firstTick = Math.max(lastTick + 1, nowTick - WHEEL_SIZE + 1);
+    lastTick = Math.max(lastTick, nowTick);
+    for (long tick = firstTick; tick <= nowTick; tick++) {
+      runSlot((int) (tick % WHEEL_SIZE), nowTick);
+    }
+
+    if (pendingCount == 0) {
+      stop();
+    } else if (ticker == null) {
+      ticker = scheduler.schedule(this::tick, tickMillis);
+    }
+  }
+
+  /** Stops the timer once no task is pending. */
+  private void stop() {
+    if (ticker != null) {
+      ticker.cancel();
+      ticker = null;
+    }
+    // drop the canceled entries still in the slots
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      slots[i] = null;
+    }
+  }
+
+  private void runSlot(int slot, long nowTick) {
+    Entry entry = slots[slot];
+    slots[slot] = null;
+    while (entry != null) {
+      Entry next = entry.next;
+      if (entry.done) {
+        // canceled, drop it
+      } else if (entry.deadlineTick <= nowTick) {
+        entry.done = true;
+        pendingCount--;
+        entry.task.run();
+      } else {
+        // due in a later turn of the wheel
+        entry.next = slots[slot];
+        slots[slot] = entry;
+      }
+      entry = next;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+/**
+ * Makes the HTTP calls of the requests sent by a {@link RequestBuilder} (see {@link
+ * RequestBuilder#setTransport(Transport)}).
+ *
+ * <p>The builder takes care of everything that doesn't depend on the way calls are made: caching,
+ * coalescing, dispatching, timeouts and the notification of the {@link RequestCallback}. A
+ * transport only makes the calls it is given, and reports their outcome to the {@link
+ * TransportCallback}: {@link XhrTransport} uses <code>XMLHttpRequest</code>, {@link FetchTransport}
+ * uses the Fetch API, and other implementations may for instance batch calls, delegate them to a
+ * worker, or answer them from memory.
+ */
+public interface Transport {
+
+  /**
+   * Starts an HTTP call. The callback should be notified asynchronously, i.e. not before this
+   * method returns, as callers expect to get their {@link Request} before its callback is notified.
+   *
+   * @param request the call to make
+   * @param callback the callback to notify with the outcome of the call
+   * @return a handle on the call, used to abort it
+   * @throws RequestException if the call fails to start
+   */
+  Exchange send(TransportRequest request, TransportCallback callback) throws RequestException;
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.core.Uint8Array;
+
+/**
+ * The interface a {@link Transport} notifies with the outcome of a call. Exactly one of {@link
+ * #onResponse(Response)} and {@link #onError(Throwable)} must be called, unless the call is
+ * aborted.
+ */
+public interface TransportCallback {
+
+  /**
+   * Called once the status and headers of the response have been received, before its body.
+   * Transports that can't tell may never call this method, the response then counting as its
+   * headers.
+   */
+  default void onHeadersReceived() {}
+
+  /**
+   * Called whenever more of the response body has been received, whether or not it is passed to one
+   * of the <code>onChunk</code> methods, which also count as progress. Transports that can't tell
+   * may never call this method.
+   */
+  default void onProgress() {}
+
+  /**
+   * Called with the next piece of the response text, for a streaming request (see {@link
+   * TransportRequest#isStreaming()}) with the {@link RequestBuilder.ResponseType#TEXT} response
+   * type. Transports that can't stream may never call this method.
+   *
+   * @param chunk the text received since the previous call
+   */
+  void onChunk(String chunk);
+
+  /**
+   * Called with the next piece of the response body, for a streaming request (see {@link
+   * TransportRequest#isStreaming()}) with the {@link RequestBuilder.ResponseType#ARRAY_BUFFER}
+   * response type. Transports that can't stream may never call this method.
+   *
+   * @param chunk the bytes received since the previous call
+   */
+  void onChunk(Uint8Array chunk);
+
+  /**
+   * Called once the whole response has been received. If pieces of the body were passed to one of
+   * the <code>onChunk</code> methods, the response may lack the body.
+   *
+   * @param response the response
+   */
+  void onResponse(Response response);
+
+  /**
+   * Called if the call fails.
+   *
+   * @param exception the error, usually a {@link RequestException}
+   */
+  void onError(Throwable exception);
+}
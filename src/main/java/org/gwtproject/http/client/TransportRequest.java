@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import java.util.Collections;
+import java.util.Map;
+import org.gwtproject.http.client.RequestBuilder.Priority;
+import org.gwtproject.http.client.RequestBuilder.ResponseType;
+
+/** The description of an HTTP call a {@link Transport} has to make. */
+public final class TransportRequest {
+
+  private final String httpMethod;
+  private final String url;
+  private final String user;
+  private final String password;
+  private final Map<String, String> headers;
+  private final Object requestData;
+  private final boolean includeCredentials;
+  private final Priority priority;
+  private final ResponseType responseType;
+  private final boolean streaming;
+
+  TransportRequest(
+      String httpMethod,
+      String url,
+      String user,
+      String password,
+      Map<String, String> headers,
+      Object requestData,
+      boolean includeCredentials,
+      Priority priority,
+      ResponseType responseType,
+      boolean streaming) {
+    this.httpMethod = httpMethod;
+    this.url = url;
+    this.user = user;
+    this.password = password;
+    this.headers = Collections.unmodifiableMap(headers);
+    this.requestData = requestData;
+    this.includeCredentials = includeCredentials;
+    this.priority = priority;
+    this.responseType = responseType;
+    this.streaming = streaming;
+  }
+
+  /**
+   * Returns the headers to send, including the default "Content-Type" and the headers of
+   * conditional requests added by the {@link RequestBuilder}.
+   */
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  /** Returns the HTTP method. */
+  public String getHTTPMethod() {
+    return httpMethod;
+  }
+
+  /** Returns the password, or <code>null</code> if there's none. */
+  public String getPassword() {
+    return password;
+  }
+
+  /** Returns the priority of the request, which transports may pass on as a hint. */
+  public Priority getPriority() {
+    return priority;
+  }
+
+  /**
+   * Returns the body to send: a String, an {@link elemental2.core.ArrayBuffer}, an {@link
+   * elemental2.core.ArrayBufferView}, a {@link elemental2.dom.Blob}, or <code>null</code>.
+   */
+  public Object getRequestData() {
+    return requestData;
+  }
+
+  /** Returns the type the response body must be received as. */
+  public ResponseType getResponseType() {
+    return responseType;
+  }
+
+  /** Returns the URL. */
+  public String getUrl() {
+    return url;
+  }
+
+  /** Returns the user, or <code>null</code> if there's none. */
+  public String getUser() {
+    return user;
+  }
+
+  /** Returns whether a cross origin request must include credentials. */
+  public boolean isIncludeCredentials() {
+    return includeCredentials;
+  }
+
+  /**
+   * Returns whether the request is made for a {@link StreamingRequestCallback}. If so, the
+   * transport should pass the body to the <code>onChunk</code> methods of the {@link
+   * TransportCallback} as it is received, and may then leave it out of the final {@link Response}.
+   */
+  public boolean isStreaming() {
+    return streaming;
+  }
+}
@@ -199,6 +199,22 @@ public class UrlBuilder {
     return this;
   }
 
+  /**
+   * Returns a builder of the same URL, whose changes don't affect this builder.
+   *
+   * @return the copy
+   */
+  UrlBuilder copy() {
+    UrlBuilder copy = new UrlBuilder();
+    copy.listParamMap.putAll(listParamMap);
+    copy.protocol = protocol;
+    copy.host = host;
+    copy.port = port;
+    copy.path = path;
+    copy.hash = hash;
+    return copy;
+  }
+
   /**
    * Assert that the value is not null.
    *
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.dom.DomGlobal;
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
+
+/**
+ * The subset of the <a href="https://html.spec.whatwg.org/multipage/webstorage.html">Web
+ * Storage</a> <code>Storage</code> interface used by {@link ResponseStore}.
+ */
+@JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Storage")
+class WebStorage {
+
+  /**
+   * Returns the local storage of the current document, or null if it is not available (for instance
+   * because the user disabled it).
+   */
+  @JsOverlay
+  static WebStorage getLocalStorage() {
+    try {
+      Object localStorage = Js.asPropertyMap(DomGlobal.window).get("localStorage");
+      return localStorage == null ? null : Js.uncheckedCast(localStorage);
+    } catch (Throwable e) {
+      // accessing localStorage throws a SecurityError when storage is disabled
+      return null;
+    }
+  }
+
+  @JsProperty
+  public native int getLength();
+
+  public native String key(int index);
+
+  public native String getItem(String key);
+
+  public native void setItem(String key, String value);
+
+  public native void removeItem(String key);
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.dom.XMLHttpRequest;
+import jsinterop.base.Js;
+
+/** An {@link Exchange} wrapping a JavaScript XmlHttpRequest object. */
+final class XhrExchange implements Exchange {
+
+  private final XMLHttpRequest xmlHttpRequest;
+
+  /**
+   * Constructs an exchange for the given XmlHttpRequest object.
+   *
+   * @param xmlHttpRequest JavaScript XmlHttpRequest object instance
+   * @throws NullPointerException if xmlHttpRequest is null
+   */
+  XhrExchange(XMLHttpRequest xmlHttpRequest) {
+    if (xmlHttpRequest == null) {
+      throw new NullPointerException();
+    }
+
+    this.xmlHttpRequest = xmlHttpRequest;
+  }
+
+  @Override
+  public boolean isPending() {
+    double readyState = xmlHttpRequest.readyState;
+
+    /*
+     * Because we are doing asynchronous requests it is possible that we can
+     * call XmlHttpRequest.send and still have the XmlHttpRequest.getReadyState
+     * method return the state as XmlHttpRequest.OPEN. That is why we include
+     * open although it is nottechnically true since open implies that the
+     * request has not been sent.
+     */
+    return readyState == XMLHttpRequest.OPENED
+        || readyState == XMLHttpRequest.HEADERS_RECEIVED
+        || readyState == XMLHttpRequest.LOADING;
+  }
+
+  @Override
+  public void abort() {
+    /*
+     * The callback of the transport must not be notified of the abort. As noted in
+     * com.google.gwt.xhr.client.XMLHttpRequest, onreadystatechange must be set to an
+     * empty function, never to null: IE sometimes throws an exception for null.
+     */
+    xmlHttpRequest.onreadystatechange = evt -> Js.undefined();
+    xmlHttpRequest.abort();
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import elemental2.dom.Event;
+import elemental2.dom.XMLHttpRequest;
+import java.util.Map;
+import jsinterop.base.Js;
+import org.gwtproject.http.client.RequestBuilder.ResponseType;
+
+/**
+ * The default {@link Transport}, making calls with a JavaScript <code>XMLHttpRequest</code>.
+ *
+ * <p>Streaming requests get their text as the browser fires <code>readystatechange</code> events
+ * while the body is being received. The whole text is still retained, and passed in the final
+ * {@link Response}. Bodies received as bytes are not streamed. Those events are also reported as
+ * progress (see {@link TransportCallback#onProgress()}) for all requests.
+ */
+public final class XhrTransport implements Transport {
+
+  @Override
+  public Exchange send(TransportRequest request, final TransportCallback callback)
+      throws RequestException {
+    final XMLHttpRequest xmlHttpRequest = new XMLHttpRequest();
+
+    if (request.getUser() != null && request.getPassword() != null) {
+      xmlHttpRequest.open(
+          request.getHTTPMethod(),
+          request.getUrl(),
+          true,
+          request.getUser(),
+          request.getPassword());
+    } else if (request.getUser() != null) {
+      xmlHttpRequest.open(request.getHTTPMethod(), request.getUrl(), true, request.getUser());
+    } else {
+      xmlHttpRequest.open(request.getHTTPMethod(), request.getUrl(), true);
+    }
+
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      try {
+        xmlHttpRequest.setRequestHeader(header.getKey(), header.getValue());
+      } catch (Throwable e) {
+        throw new RequestException(e.getMessage());
+      }
+    }
+    if (request.isIncludeCredentials()) {
+      xmlHttpRequest.withCredentials = true;
+    }
+    if (request.getResponseType() != ResponseType.TEXT) {
+      xmlHttpRequest.responseType = request.getResponseType().getValue();
+    }
+
+    // Must set the onreadystatechange handler before calling send().
+    final boolean streaming =
+        request.isStreaming() && request.getResponseType() == ResponseType.TEXT;
+    xmlHttpRequest.onreadystatechange =
+        new XMLHttpRequest.OnreadystatechangeFn() {
+          /** The length of the response text already passed to the callback. */
+          private int streamedLength;
+
+          @Override
+          public Object onInvoke(Event evt) {
+            if (xmlHttpRequest.readyState == XMLHttpRequest.HEADERS_RECEIVED) {
+              callback.onHeadersReceived();
+            } else if (xmlHttpRequest.readyState == XMLHttpRequest.LOADING) {
+              // browsers fire this event for every piece of the body received while LOADING
+              String text = streaming ? xmlHttpRequest.responseText : null;
+              if (text != null && text.length() > streamedLength) {
+                String chunk = text.substring(streamedLength);
+                streamedLength = text.length();
+                callback.onChunk(chunk);
+              } else {
+                callback.onProgress();
+              }
+            } else if (xmlHttpRequest.readyState == XMLHttpRequest.DONE) {
+              // DONE is reached only once, so the handler needs no clearing here; an aborted
+              // request never gets here, as XhrExchange.abort() replaces the handler first
+              callback.onResponse(new ResponseImpl(xmlHttpRequest));
+            }
+            return Js.undefined();
+          }
+        };
+
+    try {
+      // all the send() overloads are the same JavaScript method, which accepts any body type
+      xmlHttpRequest.send(Js.<String>uncheckedCast(request.getRequestData()));
+    } catch (Throwable e) {
+      throw new RequestException(e.getMessage());
+    }
+
+    return new XhrExchange(xmlHttpRequest);
+  }
+}
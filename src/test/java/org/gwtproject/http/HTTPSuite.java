@@ -15,9 +15,21 @@
  */
 package org.gwtproject.http;
 
+import org.gwtproject.http.client.BatchLoaderTest;
+import org.gwtproject.http.client.BatchTransportTest;
+import org.gwtproject.http.client.CircuitBreakerTest;
+import org.gwtproject.http.client.HedgingPolicyTest;
+import org.gwtproject.http.client.RateLimiterTest;
 import org.gwtproject.http.client.RequestBuilderTest;
+import org.gwtproject.http.client.RequestDispatcherTest;
+import org.gwtproject.http.client.RequestGroupTest;
+import org.gwtproject.http.client.RequestSwitchTest;
 import org.gwtproject.http.client.RequestTest;
+import org.gwtproject.http.client.ResponseCacheTest;
+import org.gwtproject.http.client.ResponseStoreTest;
 import org.gwtproject.http.client.ResponseTest;
+import org.gwtproject.http.client.RetryPolicyTest;
+import org.gwtproject.http.client.TimerWheelTest;
 import org.gwtproject.http.client.URLTest;
 import org.gwtproject.http.client.UrlBuilderTest;
 import org.junit.runner.RunWith;
@@ -27,9 +39,21 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
   URLTest.class,
+  BatchLoaderTest.class,
+  BatchTransportTest.class,
+  CircuitBreakerTest.class,
+  HedgingPolicyTest.class,
+  RateLimiterTest.class,
   RequestBuilderTest.class,
+  RequestDispatcherTest.class,
+  RequestGroupTest.class,
+  RequestSwitchTest.class,
   RequestTest.class,
+  ResponseCacheTest.class,
+  ResponseStoreTest.class,
   ResponseTest.class,
+  RetryPolicyTest.class,
+  TimerWheelTest.class,
   UrlBuilderTest.class
 })
 public class HTTPSuite {}
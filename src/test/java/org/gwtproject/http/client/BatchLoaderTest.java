@@ -0,0 +1,357 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Test cases for the {@link BatchLoader} class. */
+public class BatchLoaderTest extends GWTTestCase {
+
+  private static final String URL = "http://example.com/items";
+
+  /** A scheduler running its tasks only when told to. */
+  private static final class ManualScheduler extends Scheduler {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public Timer schedule(final Runnable task, int delayMillis) {
+      tasks.add(task);
+      return () -> tasks.remove(task);
+    }
+
+    void runAll() {
+      List<Runnable> due = new ArrayList<>(tasks);
+      tasks.clear();
+      for (Runnable task : due) {
+        task.run();
+      }
+    }
+  }
+
+  /** A transport recording its calls, which complete only when told to. */
+  private static final class ManualTransport implements Transport {
+    private final List<String> urls = new ArrayList<>();
+    private final List<TransportCallback> callbacks = new ArrayList<>();
+
+    @Override
+    public Exchange send(TransportRequest request, TransportCallback callback) {
+      urls.add(request.getUrl());
+      callbacks.add(callback);
+      return new Exchange() {
+        @Override
+        public boolean isPending() {
+          return true;
+        }
+
+        @Override
+        public void abort() {}
+      };
+    }
+
+    /** Completes the given call with a response with the given status and text. */
+    void respond(int index, int statusCode, String text) {
+      TransportCallback callback = callbacks.get(index);
+      callback.onResponse(new CachedResponse(statusCode, "", "", text));
+    }
+  }
+
+  /** A loader of the values of a text response with a <code>key=value</code> pair per line. */
+  private final class TestLoader extends BatchLoader<String> {
+    TestLoader(int maxBatchSize) {
+      this(new UrlBuilder().setHost("example.com").setPath("items"), maxBatchSize);
+    }
+
+    TestLoader(UrlBuilder urlBuilder, int maxBatchSize) {
+      super(urlBuilder, "id", maxBatchSize);
+    }
+
+    @Override
+    protected RequestBuilder createRequestBuilder(String url) {
+      RequestBuilder builder = super.createRequestBuilder(url);
+      builder.setTransport(transport);
+      return builder;
+    }
+
+    @Override
+    protected Map<String, String> parse(Response response) {
+      Map<String, String> values = new HashMap<>();
+      for (String line : response.getText().split("\n")) {
+        int equals = line.indexOf('=');
+        if (equals < 0) {
+          throw new IllegalArgumentException(line);
+        }
+        values.put(line.substring(0, equals), line.substring(equals + 1));
+      }
+      return values;
+    }
+  }
+
+  /** A callback recording the outcomes of its lookups, as key=value or key!error. */
+  private final List<String> outcomes = new ArrayList<>();
+
+  private final BatchLoader.Callback<String> callback =
+      new BatchLoader.Callback<String>() {
+        @Override
+        public void onLoaded(String key, String value) {
+          outcomes.add(key + "=" + value);
+        }
+
+        @Override
+        public void onError(String key, Throwable exception) {
+          outcomes.add(key + "!" + exception.getMessage());
+        }
+      };
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ManualTransport transport = new ManualTransport();
+  private final TestLoader loader = new TestLoader(BatchLoader.DEFAULT_MAX_BATCH_SIZE);
+  private Scheduler previous;
+
+  @Override
+  public String getModuleName() {
+    return "org.gwtproject.http.RequestTest";
+  }
+
+  @Override
+  protected void gwtSetUp() {
+    previous = Scheduler.get();
+    Scheduler.set(scheduler);
+  }
+
+  @Override
+  protected void gwtTearDown() {
+    Scheduler.set(previous);
+  }
+
+  public void testBatchLoader() {
+    try {
+      new TestLoader(0);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    assertEquals(BatchLoader.DEFAULT_MAX_BATCH_SIZE, loader.getMaxBatchSize());
+    assertEquals("id", loader.getParameter());
+
+    try {
+      loader.load(null, callback);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+
+    try {
+      loader.load("", callback);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      loader.load("a", null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+  }
+
+  public void testLoad() {
+    loader.load("a", callback);
+    loader.load("b", callback);
+    loader.load("a", callback);
+    assertTrue(transport.urls.isEmpty());
+
+    // the keys looked up in the same turn are requested once, together
+    scheduler.runAll();
+    assertEquals(1, transport.urls.size());
+    assertEquals(URL + "?id=a&id=b", transport.urls.get(0));
+
+    transport.respond(0, Response.SC_OK, "b=2\na=1");
+    assertEquals(3, outcomes.size());
+    assertEquals("a=1", outcomes.get(0));
+    assertEquals("a=1", outcomes.get(1));
+    assertEquals("b=2", outcomes.get(2));
+
+    // cached values are passed on asynchronously, without a request
+    loader.load("b", callback);
+    assertEquals(3, outcomes.size());
+    scheduler.runAll();
+    assertEquals(1, transport.urls.size());
+    assertEquals("b=2", outcomes.get(3));
+  }
+
+  public void testLoad_inFlight() {
+    loader.load("a", callback);
+    scheduler.runAll();
+    loader.load("a", callback);
+    loader.load("b", callback);
+    scheduler.runAll();
+
+    // a key being requested is not requested again
+    assertEquals(2, transport.urls.size());
+    assertEquals(URL + "?id=b", transport.urls.get(1));
+
+    transport.respond(0, Response.SC_OK, "a=1");
+    assertEquals(2, outcomes.size());
+    assertEquals("a=1", outcomes.get(0));
+    assertEquals("a=1", outcomes.get(1));
+  }
+
+  public void testLoad_maxBatchSize() {
+    TestLoader loader = new TestLoader(2);
+    loader.load("a", callback);
+    loader.load("b", callback);
+
+    // a full batch is requested right away
+    assertEquals(1, transport.urls.size());
+    assertEquals(URL + "?id=a&id=b", transport.urls.get(0));
+
+    loader.load("c", callback);
+    scheduler.runAll();
+    assertEquals(2, transport.urls.size());
+    assertEquals(URL + "?id=c", transport.urls.get(1));
+  }
+
+  public void testLoad_missingKey() {
+    loader.load("a", callback);
+    loader.load("b", callback);
+    scheduler.runAll();
+
+    transport.respond(0, Response.SC_OK, "a=1");
+    assertEquals(2, outcomes.size());
+    assertEquals("a=1", outcomes.get(0));
+    assertEquals("b=null", outcomes.get(1));
+
+    // missing keys are not cached
+    loader.load("a", callback);
+    loader.load("b", callback);
+    scheduler.runAll();
+    assertEquals(2, transport.urls.size());
+    assertEquals(URL + "?id=b", transport.urls.get(1));
+  }
+
+  public void testLoad_urlBuilder() {
+    UrlBuilder urlBuilder = new UrlBuilder().setHost("example.com").setPath("items");
+    TestLoader loader = new TestLoader(urlBuilder, BatchLoader.DEFAULT_MAX_BATCH_SIZE);
+
+    // the loader neither changes the builder it was given nor sees later changes to it
+    urlBuilder.setPath("other");
+    loader.load("a", callback);
+    scheduler.runAll();
+    assertEquals(URL + "?id=a", transport.urls.get(0));
+    assertEquals("http://example.com/other", urlBuilder.buildString());
+  }
+
+  public void testLoad_errorStatus() {
+    loader.load("a", callback);
+    loader.load("b", callback);
+    scheduler.runAll();
+
+    transport.respond(0, Response.SC_SERVICE_UNAVAILABLE, "");
+    assertEquals(2, outcomes.size());
+    assertTrue(outcomes.get(0).startsWith("a!"));
+    assertTrue(outcomes.get(1).startsWith("b!"));
+
+    // errors are not cached
+    loader.load("a", callback);
+    scheduler.runAll();
+    assertEquals(2, transport.urls.size());
+  }
+
+  public void testLoad_parseError() {
+    loader.load("a", callback);
+    scheduler.runAll();
+
+    transport.respond(0, Response.SC_OK, "oops");
+    assertEquals(1, outcomes.size());
+    assertEquals("a!oops", outcomes.get(0));
+  }
+
+  public void testLoad_error() {
+    loader.load("a", callback);
+    scheduler.runAll();
+
+    transport.callbacks.get(0).onError(new RequestException("failed"));
+    assertEquals(1, outcomes.size());
+    assertEquals("a!failed", outcomes.get(0));
+  }
+
+  public void testLoad_throwingCallback() {
+    BatchLoader.Callback<String> throwing =
+        new BatchLoader.Callback<String>() {
+          @Override
+          public void onLoaded(String key, String value) {
+            throw new IllegalStateException(key);
+          }
+
+          @Override
+          public void onError(String key, Throwable exception) {
+            throw new IllegalStateException(key);
+          }
+        };
+    loader.load("a", throwing);
+    loader.load("a", callback);
+    loader.load("b", callback);
+    scheduler.runAll();
+
+    // the other callbacks are still called, and the exception is reported asynchronously
+    transport.respond(0, Response.SC_OK, "a=1\nb=2");
+    assertEquals(2, outcomes.size());
+    assertEquals("a=1", outcomes.get(0));
+    assertEquals("b=2", outcomes.get(1));
+    try {
+      scheduler.runAll();
+      fail("Expected IllegalStateException");
+    } catch (IllegalStateException expected) {
+      assertEquals("a", expected.getMessage());
+    }
+
+    // no key is left waiting for a request that failed
+    loader.load("c", throwing);
+    loader.load("d", callback);
+    scheduler.runAll();
+    transport.respond(1, Response.SC_SERVICE_UNAVAILABLE, "");
+    assertEquals(3, outcomes.size());
+    assertTrue(outcomes.get(2).startsWith("d!"));
+    scheduler.tasks.clear();
+    loader.load("c", callback);
+    loader.load("d", callback);
+    scheduler.runAll();
+    assertEquals(3, transport.urls.size());
+    assertEquals(URL + "?id=c&id=d", transport.urls.get(2));
+  }
+
+  public void testClear() {
+    loader.load("a", callback);
+    loader.load("b", callback);
+    scheduler.runAll();
+    transport.respond(0, Response.SC_OK, "a=1\nb=2");
+
+    loader.clear("a");
+    loader.load("a", callback);
+    loader.load("b", callback);
+    scheduler.runAll();
+    assertEquals(2, transport.urls.size());
+    assertEquals(URL + "?id=a", transport.urls.get(1));
+
+    loader.clear();
+    loader.load("b", callback);
+    scheduler.runAll();
+    assertEquals(3, transport.urls.size());
+    assertEquals(URL + "?id=b", transport.urls.get(2));
+  }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import elemental2.core.Uint8Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Test cases for the {@link BatchTransport} class. */
+public class BatchTransportTest extends GWTTestCase {
+
+  private static final String ORIGIN = "http://example.com";
+  private static final String BATCH_URL = ORIGIN + "/batch";
+
+  /** A scheduler running its tasks only when told to. */
+  private static final class ManualScheduler extends Scheduler {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public Timer schedule(final Runnable task, int delayMillis) {
+      tasks.add(task);
+      return () -> tasks.remove(task);
+    }
+
+    void runAll() {
+      List<Runnable> due = new ArrayList<>(tasks);
+      tasks.clear();
+      for (Runnable task : due) {
+        task.run();
+      }
+    }
+  }
+
+  /** A transport recording its calls, which complete only when told to. */
+  private static final class ManualTransport implements Transport {
+    private final List<TransportRequest> requests = new ArrayList<>();
+    private final List<TransportCallback> callbacks = new ArrayList<>();
+    private final List<Boolean> aborted = new ArrayList<>();
+
+    @Override
+    public Exchange send(TransportRequest request, TransportCallback callback) {
+      final int index = callbacks.size();
+      requests.add(request);
+      callbacks.add(callback);
+      aborted.add(false);
+      return new Exchange() {
+        @Override
+        public boolean isPending() {
+          return !aborted.get(index);
+        }
+
+        @Override
+        public void abort() {
+          aborted.set(index, true);
+        }
+      };
+    }
+  }
+
+  /** A callback recording the outcome of a call. */
+  private static final class RecordingCallback implements TransportCallback {
+    private Response response;
+    private Throwable exception;
+
+    @Override
+    public void onChunk(String chunk) {}
+
+    @Override
+    public void onChunk(Uint8Array chunk) {}
+
+    @Override
+    public void onResponse(Response response) {
+      assertNull(this.response);
+      this.response = response;
+    }
+
+    @Override
+    public void onError(Throwable exception) {
+      assertNull(this.exception);
+      this.exception = exception;
+    }
+  }
+
+  private static TransportRequest request(String method, String url, String requestData) {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("Accept", "text/plain");
+    return new TransportRequest(
+        method,
+        url,
+        null,
+        null,
+        headers,
+        requestData,
+        false,
+        RequestBuilder.Priority.NORMAL,
+        RequestBuilder.ResponseType.TEXT,
+        false);
+  }
+
+  /** Returns a batch response holding the given parts, in the given order. */
+  private static Response batchResponse(String... parts) {
+    StringBuilder text = new StringBuilder();
+    for (String part : parts) {
+      text.append("--b\r\n").append(part).append("\r\n");
+    }
+    text.append("--b--\r\n");
+    return new CachedResponse(
+        Response.SC_OK, "OK", "Content-Type: multipart/mixed; boundary=b", text.toString());
+  }
+
+  private static String part(int id, String statusLine, String text) {
+    return "Content-Type: application/http\r\nContent-ID: <response-"
+        + id
+        + ">\r\n\r\n"
+        + statusLine
+        + "\r\nContent-Type: text/plain\r\n\r\n"
+        + text;
+  }
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ManualTransport transport = new ManualTransport();
+  private final BatchTransport batchTransport =
+      new BatchTransport(BATCH_URL, 0, BatchTransport.DEFAULT_MAX_BATCH_SIZE, transport);
+  private final RecordingCallback first = new RecordingCallback();
+  private final RecordingCallback second = new RecordingCallback();
+  private Scheduler previous;
+
+  @Override
+  public String getModuleName() {
+    return "org.gwtproject.http.RequestTest";
+  }
+
+  @Override
+  protected void gwtSetUp() {
+    previous = Scheduler.get();
+    Scheduler.set(scheduler);
+  }
+
+  @Override
+  protected void gwtTearDown() {
+    Scheduler.set(previous);
+  }
+
+  public void testBatchTransport() {
+    try {
+      new BatchTransport(null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+
+    try {
+      new BatchTransport("");
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new BatchTransport(BATCH_URL, -1, 1, transport);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new BatchTransport(BATCH_URL, 0, 0, transport);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new BatchTransport(BATCH_URL, 0, 1, null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+
+    BatchTransport batchTransport = new BatchTransport(BATCH_URL);
+    assertEquals(BATCH_URL, batchTransport.getBatchUrl());
+    assertEquals(0, batchTransport.getWindowMillis());
+    assertEquals(BatchTransport.DEFAULT_MAX_BATCH_SIZE, batchTransport.getMaxBatchSize());
+  }
+
+  public void testGetBoundary() {
+    assertEquals("b", BatchTransport.getBoundary("multipart/mixed; boundary=b"));
+    assertEquals("a b", BatchTransport.getBoundary("Multipart/Mixed;Boundary=\"a b\""));
+    assertNull(BatchTransport.getBoundary("multipart/mixed"));
+    assertNull(BatchTransport.getBoundary("text/plain; boundary=b"));
+    assertNull(BatchTransport.getBoundary(null));
+  }
+
+  public void testGetTarget() {
+    assertEquals("/foo?a=b", BatchTransport.getTarget("http://example.com/foo?a=b#c"));
+    assertEquals("/", BatchTransport.getTarget("http://example.com"));
+    assertEquals("/?a=b", BatchTransport.getTarget("http://example.com?a=b"));
+    assertEquals("/foo", BatchTransport.getTarget("/foo"));
+    assertNull(BatchTransport.getTarget("foo"));
+    assertNull(BatchTransport.getTarget("//example.com/foo"));
+  }
+
+  public void testSend() throws RequestException {
+    Exchange firstExchange = batchTransport.send(request("GET", ORIGIN + "/foo?a=b", null), first);
+    Exchange secondExchange = batchTransport.send(request("POST", ORIGIN + "/bar", "data"), second);
+    assertTrue(transport.requests.isEmpty());
+    assertTrue(firstExchange.isPending());
+
+    scheduler.runAll();
+    assertEquals(1, transport.requests.size());
+    TransportRequest batch = transport.requests.get(0);
+    assertEquals("POST", batch.getHTTPMethod());
+    assertEquals(BATCH_URL, batch.getUrl());
+    String boundary = BatchTransport.getBoundary(batch.getHeaders().get("Content-Type"));
+    assertEquals(
+        "--"
+            + boundary
+            + "\r\nContent-Type: application/http\r\nContent-ID: <0>\r\n\r\n"
+            + "GET /foo?a=b HTTP/1.1\r\nAccept: text/plain\r\n\r\n\r\n--"
+            + boundary
+            + "\r\nContent-Type: application/http\r\nContent-ID: <1>\r\n\r\n"
+            + "POST /bar HTTP/1.1\r\nAccept: text/plain\r\n\r\ndata\r\n--"
+            + boundary
+            + "--\r\n",
+        batch.getRequestData());
+
+    // the responses are matched by Content-ID, whatever their order
+    transport
+        .callbacks
+        .get(0)
+        .onResponse(
+            batchResponse(
+                part(1, "HTTP/1.1 201 Created", "posted"), part(0, "HTTP/1.1 200 OK", "got")));
+    assertEquals(200, first.response.getStatusCode());
+    assertEquals("OK", first.response.getStatusText());
+    assertEquals("text/plain", first.response.getHeader("Content-Type"));
+    assertEquals("got", first.response.getText());
+    assertEquals(201, second.response.getStatusCode());
+    assertEquals("Created", second.response.getStatusText());
+    assertEquals("posted", second.response.getText());
+    assertFalse(firstExchange.isPending());
+    assertFalse(secondExchange.isPending());
+  }
+
+  public void testSend_single() throws RequestException {
+    TransportRequest request = request("GET", ORIGIN + "/foo", null);
+    batchTransport.send(request, first);
+    scheduler.runAll();
+
+    // a request alone in its window is sent as is
+    assertEquals(1, transport.requests.size());
+    assertSame(request, transport.requests.get(0));
+    assertSame(first, transport.callbacks.get(0));
+  }
+
+  public void testSend_notBatchable() throws RequestException {
+    TransportRequest request = request("GET", "http://example.org/foo", null);
+    batchTransport.send(request, first);
+    batchTransport.send(request("GET", "/foo", null), first);
+    batchTransport.send(request("GET", "foo", null), first);
+
+    // requests to another origin than the batch URL as written are sent right away
+    assertEquals(3, transport.requests.size());
+    assertSame(request, transport.requests.get(0));
+    assertTrue(scheduler.tasks.isEmpty());
+  }
+
+  public void testSend_maxBatchSize() throws RequestException {
+    BatchTransport batchTransport = new BatchTransport(BATCH_URL, 100, 2, transport);
+    batchTransport.send(request("GET", ORIGIN + "/foo", null), first);
+    assertTrue(transport.requests.isEmpty());
+    batchTransport.send(request("GET", ORIGIN + "/bar", null), second);
+
+    // a full batch is sent right away
+    assertEquals(1, transport.requests.size());
+    assertEquals(BATCH_URL, transport.requests.get(0).getUrl());
+    assertTrue(scheduler.tasks.isEmpty());
+  }
+
+  public void testSend_error() throws RequestException {
+    batchTransport.send(request("GET", ORIGIN + "/foo", null), first);
+    batchTransport.send(request("GET", ORIGIN + "/bar", null), second);
+    scheduler.runAll();
+
+    RequestException exception = new RequestException();
+    transport.callbacks.get(0).onError(exception);
+    assertSame(exception, first.exception);
+    assertSame(exception, second.exception);
+  }
+
+  public void testSend_errorStatus() throws RequestException {
+    batchTransport.send(request("GET", ORIGIN + "/foo", null), first);
+    batchTransport.send(request("GET", ORIGIN + "/bar", null), second);
+    scheduler.runAll();
+
+    Response response = new CachedResponse(503, "Service Unavailable", "", "");
+    transport.callbacks.get(0).onResponse(response);
+    assertSame(response, first.response);
+    assertSame(response, second.response);
+  }
+
+  public void testSend_missingPart() throws RequestException {
+    batchTransport.send(request("GET", ORIGIN + "/foo", null), first);
+    batchTransport.send(request("GET", ORIGIN + "/bar", null), second);
+    scheduler.runAll();
+
+    transport.callbacks.get(0).onResponse(batchResponse(part(0, "HTTP/1.1 200 OK", "got")));
+    assertEquals("got", first.response.getText());
+    assertNull(second.response);
+    assertTrue(second.exception instanceof RequestException);
+  }
+
+  public void testAbort_pending() throws RequestException {
+    Exchange exchange = batchTransport.send(request("GET", ORIGIN + "/foo", null), first);
+    exchange.abort();
+    assertFalse(exchange.isPending());
+
+    // the window is canceled once it has no request left
+    assertTrue(scheduler.tasks.isEmpty());
+    assertTrue(transport.requests.isEmpty());
+  }
+
+  public void testAbort_sent() throws RequestException {
+    Exchange firstExchange = batchTransport.send(request("GET", ORIGIN + "/foo", null), first);
+    Exchange secondExchange = batchTransport.send(request("GET", ORIGIN + "/bar", null), second);
+    scheduler.runAll();
+
+    // the batch call is aborted once all its requests are
+    firstExchange.abort();
+    assertFalse(firstExchange.isPending());
+    assertFalse(transport.aborted.get(0));
+    secondExchange.abort();
+    assertTrue(transport.aborted.get(0));
+
+    transport.callbacks.get(0).onError(new RequestException());
+    assertNull(first.exception);
+    assertNull(second.exception);
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+/** Test cases for the {@link CircuitBreaker} class. */
+public class CircuitBreakerTest extends GWTTestCase {
+
+  private static final String URL = "http://example.com/foo";
+
+  private static final long NOW = 10000;
+
+  private static void assertOpen(CircuitBreaker breaker, String url, long nowMillis) {
+    try {
+      breaker.acquire(url, nowMillis);
+      fail("Expected CircuitOpenException");
+    } catch (CircuitOpenException expected) {
+    }
+  }
+
+  @Override
+  public String getModuleName() {
+    return "org.gwtproject.http.RequestTest";
+  }
+
+  public void testCircuitBreaker() {
+    try {
+      new CircuitBreaker(0, 1000);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new CircuitBreaker(5, -1);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    CircuitBreaker breaker = new CircuitBreaker();
+    assertEquals(CircuitBreaker.DEFAULT_FAILURE_THRESHOLD, breaker.getFailureThreshold());
+    assertEquals(CircuitBreaker.DEFAULT_OPEN_MILLIS, breaker.getOpenMillis());
+    assertEquals("http://example.com", breaker.getKey(URL));
+  }
+
+  public void testOpen() throws CircuitOpenException {
+    CircuitBreaker breaker = new CircuitBreaker(3, 1000);
+    breaker.onError(URL, NOW);
+    breaker.onResponse(URL, Response.SC_SERVICE_UNAVAILABLE, NOW);
+    assertFalse(breaker.isOpen(URL));
+    breaker.acquire(URL, NOW);
+
+    // a network error, reported as the status code 0
+    breaker.onResponse(URL, 0, NOW);
+    assertTrue(breaker.isOpen(URL));
+    assertTrue(breaker.isOpen("http://example.com/bar"));
+    assertFalse(breaker.isOpen("http://example.org/foo"));
+    try {
+      breaker.acquire(URL + "?a=b", NOW + 400);
+      fail("Expected CircuitOpenException");
+    } catch (CircuitOpenException expected) {
+      assertEquals("http://example.com", expected.getKey());
+      assertEquals(600, expected.getRetryAfterMillis());
+    }
+  }
+
+  public void testOpen_successResets() throws CircuitOpenException {
+    CircuitBreaker breaker = new CircuitBreaker(2, 1000);
+    breaker.onError(URL, NOW);
+    // client errors are not failures of the endpoint
+    breaker.onResponse(URL, Response.SC_NOT_FOUND, NOW);
+    breaker.onError(URL, NOW);
+    assertFalse(breaker.isOpen(URL));
+    breaker.acquire(URL, NOW);
+  }
+
+  public void testTrial() throws CircuitOpenException {
+    CircuitBreaker breaker = new CircuitBreaker(1, 1000);
+    breaker.onError(URL, NOW);
+    assertOpen(breaker, URL, NOW + 999);
+
+    // a single trial request once the circuit has been open long enough
+    breaker.acquire(URL, NOW + 1000);
+    assertOpen(breaker, URL, NOW + 1000);
+
+    // the trial request fails, so the circuit stays open
+    breaker.onError(URL, NOW + 1500);
+    assertOpen(breaker, URL, NOW + 2499);
+    breaker.acquire(URL, NOW + 2500);
+
+    // the trial request succeeds, so the circuit closes
+    breaker.onResponse(URL, Response.SC_OK, NOW + 2600);
+    assertFalse(breaker.isOpen(URL));
+    breaker.acquire(URL, NOW + 2600);
+    breaker.acquire(URL, NOW + 2600);
+  }
+
+  public void testGetKey() throws CircuitOpenException {
+    CircuitBreaker breaker =
+        new CircuitBreaker(1, 1000) {
+          @Override
+          protected String getKey(String url) {
+            return HedgingPolicy.getEndpoint(url);
+          }
+        };
+    breaker.onError(URL + "?a=b", NOW);
+    assertOpen(breaker, URL, NOW);
+    breaker.acquire("http://example.com/bar", NOW);
+  }
+}
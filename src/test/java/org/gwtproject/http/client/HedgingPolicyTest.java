@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import elemental2.core.Uint8Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/** Test cases for the {@link HedgingPolicy} class. */
+public class HedgingPolicyTest extends GWTTestCase {
+
+  private static final String URL = "http://example.com/foo";
+
+  /** A scheduler running its tasks only when told to. */
+  private static final class ManualScheduler extends Scheduler {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public Timer schedule(final Runnable task, int delayMillis) {
+      tasks.add(task);
+      return () -> tasks.remove(task);
+    }
+
+    void runAll() {
+      List<Runnable> due = new ArrayList<>(tasks);
+      tasks.clear();
+      for (Runnable task : due) {
+        task.run();
+      }
+    }
+  }
+
+  /** A transport recording its calls, which complete only when told to. */
+  private static final class ManualTransport implements Transport {
+    private final List<TransportCallback> callbacks = new ArrayList<>();
+    private final List<Boolean> aborted = new ArrayList<>();
+
+    @Override
+    public Exchange send(TransportRequest request, TransportCallback callback) {
+      final int index = callbacks.size();
+      callbacks.add(callback);
+      aborted.add(false);
+      return new Exchange() {
+        @Override
+        public boolean isPending() {
+          return !aborted.get(index);
+        }
+
+        @Override
+        public void abort() {
+          aborted.set(index, true);
+        }
+      };
+    }
+  }
+
+  /** A callback recording the outcome of a call. */
+  private static final class RecordingCallback implements TransportCallback {
+    private Response response;
+    private Throwable exception;
+
+    @Override
+    public void onChunk(String chunk) {}
+
+    @Override
+    public void onChunk(Uint8Array chunk) {}
+
+    @Override
+    public void onResponse(Response response) {
+      assertNull(this.response);
+      this.response = response;
+    }
+
+    @Override
+    public void onError(Throwable exception) {
+      assertNull(this.exception);
+      this.exception = exception;
+    }
+  }
+
+  private static TransportRequest request() {
+    return new TransportRequest(
+        "GET",
+        URL,
+        null,
+        null,
+        new HashMap<>(),
+        null,
+        false,
+        RequestBuilder.Priority.NORMAL,
+        RequestBuilder.ResponseType.TEXT,
+        false);
+  }
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ManualTransport transport = new ManualTransport();
+  private final RecordingCallback callback = new RecordingCallback();
+  private Scheduler previous;
+  private long now;
+
+  private static Response response(String text) {
+    return new CachedResponse(200, "OK", "", text);
+  }
+
+  @Override
+  public String getModuleName() {
+    return "org.gwtproject.http.RequestTest";
+  }
+
+  @Override
+  protected void gwtSetUp() {
+    previous = Scheduler.get();
+    Scheduler.set(scheduler);
+  }
+
+  @Override
+  protected void gwtTearDown() {
+    Scheduler.set(previous);
+  }
+
+  public void testHedgingPolicy() {
+    try {
+      new HedgingPolicy(-1);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new HedgingPolicy(100, 101);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    HedgingPolicy policy = new HedgingPolicy(100, HedgingPolicy.DEFAULT_PERCENTILE);
+    assertEquals(100, policy.getDelayMillis());
+    assertEquals(HedgingPolicy.DEFAULT_PERCENTILE, policy.getPercentile());
+    assertEquals(0, new HedgingPolicy(100).getPercentile());
+  }
+
+  public void testGetEndpoint() {
+    assertEquals(URL, HedgingPolicy.getEndpoint(URL));
+    assertEquals(URL, HedgingPolicy.getEndpoint(URL + "?a=b#c"));
+    assertEquals(URL, HedgingPolicy.getEndpoint(URL + "#c?d"));
+  }
+
+  public void testGetDelayMillis() {
+    HedgingPolicy policy = new HedgingPolicy(10, 95);
+    for (int i = 1; i < HedgingPolicy.MIN_SAMPLES; i++) {
+      policy.addLatency(URL + "?id=" + i, i * 5);
+    }
+    // too few samples
+    assertEquals(10, policy.getDelayMillis(URL));
+
+    for (int i = HedgingPolicy.MIN_SAMPLES; i <= 100; i++) {
+      policy.addLatency(URL + "?id=" + i, i * 5);
+    }
+    assertEquals(475, policy.getDelayMillis(URL));
+    assertEquals(10, policy.getDelayMillis("http://example.com/bar"));
+
+    // only the most recent latencies count
+    for (int i = 0; i < HedgingPolicy.MAX_SAMPLES; i++) {
+      policy.addLatency(URL, 1);
+    }
+    assertEquals(10, policy.getDelayMillis(URL));
+
+    // a fixed delay
+    policy = new HedgingPolicy(10);
+    for (int i = 1; i <= 100; i++) {
+      policy.addLatency(URL, 1000);
+    }
+    assertEquals(10, policy.getDelayMillis(URL));
+  }
+
+  public void testHedge() throws RequestException {
+    HedgingPolicy policy = new HedgingPolicy(100);
+    Exchange exchange = policy.wrap(transport).send(request(), callback);
+    assertEquals(1, transport.callbacks.size());
+    assertTrue(exchange.isPending());
+
+    scheduler.runAll();
+    assertEquals(2, transport.callbacks.size());
+
+    // the duplicate wins, and the first call is aborted
+    Response response = new CachedResponse(200, "OK", "", "second");
+    transport.callbacks.get(1).onResponse(response);
+    assertSame(response, callback.response);
+    assertTrue(transport.aborted.get(0));
+    assertFalse(transport.aborted.get(1));
+    assertFalse(exchange.isPending());
+
+    // the loser is ignored
+    transport.callbacks.get(0).onResponse(new CachedResponse(200, "OK", "", "first"));
+    assertSame(response, callback.response);
+  }
+
+  public void testHedge_fast() throws RequestException {
+    HedgingPolicy policy = new HedgingPolicy(100);
+    policy.wrap(transport).send(request(), callback);
+
+    Response response = new CachedResponse(200, "OK", "", "first");
+    transport.callbacks.get(0).onResponse(response);
+    assertSame(response, callback.response);
+    assertTrue(scheduler.tasks.isEmpty());
+    assertEquals(1, transport.callbacks.size());
+  }
+
+  public void testHedge_latency() throws RequestException {
+    HedgingPolicy policy =
+        new HedgingPolicy(100, 95) {
+          @Override
+          long currentTimeMillis() {
+            return now;
+          }
+        };
+    Transport hedging = policy.wrap(transport);
+
+    // the first calls are answered after 500 ms
+    for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+      now = 0;
+      hedging.send(request(), new RecordingCallback());
+      now = 500;
+      transport.callbacks.get(transport.callbacks.size() - 1).onResponse(response("first"));
+    }
+    assertEquals(500, policy.getDelayMillis(URL));
+
+    // duplicates keep winning 10 ms after being sent: the time the first calls had been waiting is
+    // recorded, so that the delay doesn't shrink
+    for (int i = 0; i < HedgingPolicy.MAX_SAMPLES; i++) {
+      now = 0;
+      hedging.send(request(), new RecordingCallback());
+      now = 500;
+      scheduler.runAll();
+      now = 510;
+      transport.callbacks.get(transport.callbacks.size() - 1).onResponse(response("second"));
+    }
+    assertEquals(510, policy.getDelayMillis(URL));
+  }
+
+  public void testHedge_error() throws RequestException {
+    HedgingPolicy policy = new HedgingPolicy(100);
+    policy.wrap(transport).send(request(), callback);
+    scheduler.runAll();
+
+    // an error is only reported once both calls failed
+    transport.callbacks.get(0).onError(new RequestException("first"));
+    assertNull(callback.exception);
+    transport.callbacks.get(1).onError(new RequestException("second"));
+    assertEquals("second", callback.exception.getMessage());
+  }
+
+  public void testHedge_errorBeforeHedging() throws RequestException {
+    HedgingPolicy policy = new HedgingPolicy(100);
+    policy.wrap(transport).send(request(), callback);
+
+    transport.callbacks.get(0).onError(new RequestException("first"));
+    assertEquals("first", callback.exception.getMessage());
+    assertTrue(scheduler.tasks.isEmpty());
+  }
+
+  public void testHedge_abort() throws RequestException {
+    HedgingPolicy policy = new HedgingPolicy(100);
+    Exchange exchange = policy.wrap(transport).send(request(), callback);
+    scheduler.runAll();
+
+    exchange.abort();
+    assertTrue(transport.aborted.get(0));
+    assertTrue(transport.aborted.get(1));
+    transport.callbacks.get(0).onResponse(new CachedResponse(200, "OK", "", "first"));
+    assertNull(callback.response);
+  }
+}
@@ -20,10 +20,14 @@ import static org.gwtproject.http.shared.RequestBuilderTestConstants.SERVLET_GET
 import static org.gwtproject.http.shared.RequestBuilderTestConstants.SERVLET_HEAD_RESPONSE;
 import static org.gwtproject.http.shared.RequestBuilderTestConstants.SERVLET_POST_RESPONSE;
 import static org.gwtproject.http.shared.RequestBuilderTestConstants.SERVLET_PUT_RESPONSE;
+import static org.gwtproject.http.shared.RequestBuilderTestConstants.SERVLET_STREAMING_CHUNKS;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.junit.DoNotRunWith;
 import com.google.gwt.junit.Platform;
+import elemental2.core.ArrayBufferView;
+import elemental2.core.Uint8Array;
+import jsinterop.base.JsPropertyMap;
 
 /** Test cases for the {@link RequestBuilder} class. */
 public class RequestBuilderTest extends RequestTestBase {
@@ -144,6 +148,76 @@ public class RequestBuilderTest extends RequestTestBase {
     testSendRequest(builder, "<html><body>Put Me</body></html>", SERVLET_PUT_RESPONSE);
   }
 
+  /** Test method for {@link RequestBuilder#sendBinaryRequest(ArrayBufferView, RequestCallback)}. */
+  public void testSendBinaryRequest() throws RequestException {
+    delayTestFinishForRequest();
+
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.POST, getTestBaseURL() + "sendBinaryRequest");
+    builder.setResponseType(RequestBuilder.ResponseType.ARRAY_BUFFER);
+    Uint8Array requestData = new Uint8Array(4);
+    requestData.setAt(0, 0d);
+    requestData.setAt(1, 1d);
+    requestData.setAt(2, 128d);
+    requestData.setAt(3, 255d);
+    builder.sendBinaryRequest(
+        requestData,
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(200, response.getStatusCode());
+            assertNull(response.getText());
+            Uint8Array bytes = new Uint8Array(response.getArrayBuffer());
+            assertEquals(4, bytes.byteLength, 0);
+            assertEquals(0, bytes.getAt(0), 0);
+            assertEquals(1, bytes.getAt(1), 0);
+            assertEquals(128, bytes.getAt(2), 0);
+            assertEquals(255, bytes.getAt(3), 0);
+            finishTest();
+          }
+        });
+  }
+
+  /** Test method for {@link StreamingRequestCallback}. */
+  public void testSendRequest_streaming() throws RequestException {
+    delayTestFinishForRequest();
+
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "sendRequest_streaming");
+    builder.sendRequest(
+        null,
+        new StreamingRequestCallback() {
+          private final StringBuilder text = new StringBuilder();
+
+          @Override
+          public void onChunk(Request request, String chunk) {
+            assertTrue(chunk.length() > 0);
+            text.append(chunk);
+          }
+
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(response.getText(), text.toString());
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < SERVLET_STREAMING_CHUNKS; i++) {
+              expected.append(SERVLET_GET_RESPONSE);
+            }
+            assertEquals(expected.toString(), text.toString());
+            finishTest();
+          }
+        });
+  }
+
   public void testSetCallback() {
     RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL());
     try {
@@ -153,6 +227,369 @@ public class RequestBuilderTest extends RequestTestBase {
     }
   }
 
+  /** Test method for {@link RequestBuilder#setCache(ResponseCache)}. */
+  public void testSetCache() throws RequestException {
+    delayTestFinishForRequest();
+
+    final ResponseCache cache = new ResponseCache();
+    final RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setCache");
+    builder.setCache(cache);
+    assertSame(cache, builder.getCache());
+
+    builder.sendRequest(
+        null,
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, final Response first) {
+            assertEquals(200, first.getStatusCode());
+            assertEquals(1, cache.getEntryCount());
+            try {
+              Request second =
+                  builder.sendRequest(
+                      null,
+                      new RequestCallback() {
+                        @Override
+                        public void onError(Request request, Throwable exception) {
+                          fail(exception.getMessage());
+                        }
+
+                        @Override
+                        public void onResponseReceived(Request request, Response response) {
+                          assertEquals(first.getText(), response.getText());
+                          finishTest();
+                        }
+                      });
+              assertTrue(second.isPending());
+            } catch (RequestException e) {
+              fail(e.getMessage());
+            }
+          }
+        });
+  }
+
+  /** Test method for {@link RequestBuilder#setCache(ResponseCache)}. */
+  public void testSetCache_revalidate() throws RequestException {
+    delayTestFinishForRequest();
+
+    final ResponseCache cache = new ResponseCache();
+    final RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setCache/revalidate");
+    builder.setCache(cache);
+
+    builder.sendRequest(
+        null,
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response first) {
+            assertEquals(200, first.getStatusCode());
+            assertNull(first.getHeader("header1"));
+            try {
+              builder.sendRequest(
+                  null,
+                  new RequestCallback() {
+                    @Override
+                    public void onError(Request request, Throwable exception) {
+                      fail(exception.getMessage());
+                    }
+
+                    @Override
+                    public void onResponseReceived(Request request, Response response) {
+                      // the 304 response was turned into the cached one
+                      assertEquals(200, response.getStatusCode());
+                      assertEquals(SERVLET_GET_RESPONSE, response.getText());
+                      assertEquals("revalidated", response.getHeader("header1"));
+                      finishTest();
+                    }
+                  });
+            } catch (RequestException e) {
+              fail(e.getMessage());
+            }
+          }
+        });
+  }
+
+  /** Test method for {@link RequestBuilder#setRefreshCallback(RequestCallback)}. */
+  public void testSetRefreshCallback() throws RequestException {
+    delayTestFinishForRequest();
+
+    final RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setCache/staleWhileRevalidate");
+    builder.setCache(new ResponseCache());
+    final String[] text = new String[1];
+    RequestCallback refreshCallback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertNotNull(text[0]);
+            assertFalse(text[0].equals(response.getText()));
+            finishTest();
+          }
+        };
+    builder.setRefreshCallback(refreshCallback);
+    assertSame(refreshCallback, builder.getRefreshCallback());
+
+    builder.sendRequest(
+        null,
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response first) {
+            text[0] = first.getText();
+            try {
+              // the stale response is served right away, and refreshed in the background
+              builder.sendRequest(
+                  null,
+                  new RequestCallback() {
+                    @Override
+                    public void onError(Request request, Throwable exception) {
+                      fail(exception.getMessage());
+                    }
+
+                    @Override
+                    public void onResponseReceived(Request request, Response response) {
+                      assertEquals(text[0], response.getText());
+                    }
+                  });
+            } catch (RequestException e) {
+              fail(e.getMessage());
+            }
+          }
+        });
+  }
+
+  /** Test method for {@link RequestBuilder#setCircuitBreaker(CircuitBreaker)}. */
+  public void testSetCircuitBreaker() throws RequestException {
+    String url = getTestBaseURL() + "send_GET";
+    CircuitBreaker breaker = new CircuitBreaker(1, 60000);
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, url);
+    builder.setCircuitBreaker(breaker);
+    assertSame(breaker, builder.getCircuitBreaker());
+
+    // once the endpoint failed, requests fail without being sent
+    breaker.onError(url);
+    try {
+      builder.sendRequest(
+          null,
+          new RequestCallback() {
+            @Override
+            public void onError(Request request, Throwable exception) {
+              fail(exception.getMessage());
+            }
+
+            @Override
+            public void onResponseReceived(Request request, Response response) {
+              fail("The request should not have been sent");
+            }
+          });
+      fail("Expected CircuitOpenException");
+    } catch (CircuitOpenException expected) {
+      assertTrue(expected.getRetryAfterMillis() > 0);
+    }
+  }
+
+  /** Test method for {@link RequestBuilder#setCoalescer(RequestCoalescer)}. */
+  public void testSetCoalescer() throws RequestException {
+    delayTestFinishForRequest();
+
+    RequestCoalescer coalescer = new RequestCoalescer();
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    builder.setCoalescer(coalescer);
+    assertSame(coalescer, builder.getCoalescer());
+
+    final Response[] responses = new Response[2];
+    for (int i = 0; i < responses.length; i++) {
+      final int index = i;
+      builder.sendRequest(
+          null,
+          new RequestCallback() {
+            @Override
+            public void onError(Request request, Throwable exception) {
+              fail(exception.getMessage());
+            }
+
+            @Override
+            public void onResponseReceived(Request request, Response response) {
+              assertEquals(SERVLET_GET_RESPONSE, response.getText());
+              responses[index] = response;
+              if (responses[0] != null && responses[1] != null) {
+                assertSame(responses[0], responses[1]);
+                finishTest();
+              }
+            }
+          });
+    }
+    assertEquals(1, coalescer.getInFlightCount());
+
+    // a request with another priority makes its own call
+    RequestBuilder critical = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    critical.setCoalescer(coalescer);
+    critical.setPriority(RequestBuilder.Priority.CRITICAL);
+    Request request =
+        critical.sendRequest(
+            null,
+            new RequestCallback() {
+              @Override
+              public void onError(Request request, Throwable exception) {
+                fail("The request should have been canceled");
+              }
+
+              @Override
+              public void onResponseReceived(Request request, Response response) {
+                fail("The request should have been canceled");
+              }
+            });
+    assertEquals(2, coalescer.getInFlightCount());
+    request.cancel();
+    assertEquals(1, coalescer.getInFlightCount());
+  }
+
+  /** Test method for {@link RequestBuilder#setDispatcher(RequestDispatcher)}. */
+  public void testSetDispatcher() throws RequestException {
+    delayTestFinishForRequest();
+
+    final String url = getTestBaseURL() + "send_GET";
+    final RequestDispatcher dispatcher = new RequestDispatcher(1);
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, url);
+    builder.setDispatcher(dispatcher);
+    assertSame(dispatcher, builder.getDispatcher());
+
+    final int[] remaining = {2};
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(SERVLET_GET_RESPONSE, response.getText());
+            // the slot has been handed to the next request, if any
+            remaining[0]--;
+            assertEquals(remaining[0], dispatcher.getInFlightCount(url));
+            assertEquals(0, dispatcher.getQueuedCount(url));
+            if (remaining[0] == 0) {
+              finishTest();
+            }
+          }
+        };
+    builder.sendRequest(null, callback);
+    builder.sendRequest(null, callback);
+  }
+
+  /** Test method for {@link RequestBuilder#setGroup(RequestGroup)}. */
+  public void testSetGroup() throws RequestException {
+    RequestGroup group = new RequestGroup();
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    builder.setGroup(group);
+    assertSame(group, builder.getGroup());
+
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail("The request should have been canceled");
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            fail("The request should have been canceled");
+          }
+        };
+    Request first = builder.sendRequest(null, callback);
+    Request second = builder.sendRequest(null, callback);
+    assertEquals(2, group.getPendingCount());
+
+    group.cancelAll();
+    assertEquals(0, group.getPendingCount());
+    assertFalse(first.isPending());
+    assertFalse(second.isPending());
+  }
+
+  /** Test method for {@link RequestBuilder#setHeadersTimeoutMillis(int)}. */
+  public void testSetHeadersTimeoutMillis() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setTimeout/noTimeout");
+    try {
+      builder.setHeadersTimeoutMillis(-1);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    builder.setHeadersTimeoutMillis(10000);
+    assertEquals(10000, builder.getHeadersTimeoutMillis());
+    testSendRequest(builder, null, SERVLET_GET_RESPONSE);
+  }
+
+  /** Test method for {@link RequestBuilder#setHedgingPolicy(HedgingPolicy)}. */
+  public void testSetHedgingPolicy() throws RequestException {
+    delayTestFinishForRequest();
+
+    HedgingPolicy policy = new HedgingPolicy(0);
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    builder.setHedgingPolicy(policy);
+    assertSame(policy, builder.getHedgingPolicy());
+    // the request is duplicated right away, but only one response is passed to the callback
+    builder.sendRequest(
+        null,
+        new RequestCallback() {
+          private boolean received;
+
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertFalse(received);
+            received = true;
+            assertEquals(SERVLET_GET_RESPONSE, response.getText());
+            finishTest();
+          }
+        });
+  }
+
+  /** Test method for {@link RequestBuilder#setIdleTimeoutMillis(int)}. */
+  public void testSetIdleTimeoutMillis() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "sendRequest_streaming");
+    try {
+      builder.setIdleTimeoutMillis(-1);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    // the servlet pauses between the pieces of the response, but never for that long
+    builder.setIdleTimeoutMillis(1000);
+    assertEquals(1000, builder.getIdleTimeoutMillis());
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < SERVLET_STREAMING_CHUNKS; i++) {
+      expected.append(SERVLET_GET_RESPONSE);
+    }
+    testSendRequest(builder, null, expected.toString());
+  }
+
   public void testSetPassword() {
     RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL());
     try {
@@ -168,6 +605,170 @@ public class RequestBuilderTest extends RequestTestBase {
     }
   }
 
+  public void testSetPriority() {
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL());
+    assertEquals(RequestBuilder.Priority.NORMAL, builder.getPriority());
+
+    try {
+      builder.setPriority(null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+
+    builder.setPriority(RequestBuilder.Priority.CRITICAL);
+    assertEquals(RequestBuilder.Priority.CRITICAL, builder.getPriority());
+  }
+
+  public void testSetResponseType() {
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL());
+    assertEquals(RequestBuilder.ResponseType.TEXT, builder.getResponseType());
+
+    try {
+      builder.setResponseType(null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+
+    builder.setResponseType(RequestBuilder.ResponseType.ARRAY_BUFFER);
+    assertEquals(RequestBuilder.ResponseType.ARRAY_BUFFER, builder.getResponseType());
+  }
+
+  /** Test method for {@link RequestBuilder#setRateLimiter(RateLimiter)}. */
+  public void testSetRateLimiter() throws RequestException {
+    RateLimiter limiter = new RateLimiter(0.001, 1, 1);
+    RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    builder.setRateLimiter(limiter);
+    assertSame(limiter, builder.getRateLimiter());
+
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            fail("The request should not have been sent");
+          }
+        };
+
+    // once the budget is spent, requests wait in the queue without being sent
+    assertTrue(limiter.tryAcquire());
+    Request request = builder.sendRequest(null, callback);
+    assertTrue(request.isPending());
+    assertEquals(1, limiter.getQueuedCount());
+
+    // and are rejected once the queue is full
+    try {
+      builder.sendRequest(null, callback);
+      fail("Expected RateLimitExceededException");
+    } catch (RateLimitExceededException expected) {
+      assertTrue(expected.getRetryAfterMillis() > 0);
+    }
+
+    request.cancel();
+    assertFalse(request.isPending());
+    assertEquals(0, limiter.getQueuedCount());
+  }
+
+  /** Test method for {@link RequestBuilder#setRequestSwitch(RequestSwitch, String)}. */
+  public void testSetRequestSwitch() throws RequestException {
+    RequestSwitch requestSwitch = new RequestSwitch();
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET?q=a");
+    try {
+      builder.setRequestSwitch(requestSwitch, null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+    try {
+      builder.setRequestSwitch(requestSwitch, "");
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+    builder.setRequestSwitch(requestSwitch, "search");
+    assertSame(requestSwitch, builder.getRequestSwitch());
+    assertEquals("search", builder.getRequestSwitchKey());
+
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail("The request should have been canceled");
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            fail("The request should have been canceled");
+          }
+        };
+    Request first = builder.sendRequest(null, callback);
+    assertTrue(first.isPending());
+
+    // the request under the same key replaces the first one, whatever its URL
+    builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET/other?q=ab");
+    builder.setRequestSwitch(requestSwitch, "search");
+    Request second = builder.sendRequest(null, callback);
+    assertFalse(first.isPending());
+    assertTrue(second.isPending());
+    second.cancel();
+  }
+
+  /** Test method for {@link RequestBuilder#setResponseType(RequestBuilder.ResponseType)}. */
+  public void testSetResponseType_json() throws RequestException {
+    delayTestFinishForRequest();
+
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setResponseType/json");
+    builder.setResponseType(RequestBuilder.ResponseType.JSON);
+    builder.sendRequest(
+        null,
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(200, response.getStatusCode());
+            assertNull(response.getText());
+            JsPropertyMap<Object> json = response.getJson().asPropertyMap();
+            assertEquals("bar", json.getAsAny("foo").asString());
+            assertEquals(2, json.getAsAny("baz").asArray().length);
+            finishTest();
+          }
+        });
+  }
+
+  /** Test method for {@link RequestBuilder#setRetryPolicy(RetryPolicy)}. */
+  public void testSetRetryPolicy() throws RequestException {
+    delayTestFinishForRequest();
+
+    RetryPolicy policy = new RetryPolicy(2, 0, 0);
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "setRetryPolicy");
+    builder.setRetryPolicy(policy);
+    assertSame(policy, builder.getRetryPolicy());
+    // every other response is an error, so one of two attempts succeeds
+    builder.sendRequest(
+        null,
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(200, response.getStatusCode());
+            assertEquals(SERVLET_GET_RESPONSE, response.getText());
+            finishTest();
+          }
+        });
+  }
+
   public void testSetRequestData() {
     RequestBuilder builder = new RequestBuilder(RequestBuilder.GET, getTestBaseURL());
     // Legal.
@@ -322,6 +923,162 @@ public class RequestBuilderTest extends RequestTestBase {
     }
   }
 
+  /** Test method for {@link RequestBuilder#setTransport(Transport)}. */
+  public void testSetTransport() throws RequestException {
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.POST, getTestBaseURL() + "sendRequest_POST");
+    assertTrue(builder.getTransport() instanceof XhrTransport);
+    try {
+      builder.setTransport(null);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+    Transport transport = new FetchTransport();
+    builder.setTransport(transport);
+    assertSame(transport, builder.getTransport());
+    builder.setHeader("Content-Type", "application/x-www-form-urlencoded");
+    testSendRequest(builder, "data", SERVLET_POST_RESPONSE);
+  }
+
+  /**
+   * Test method for {@link RequestBuilder#setTransport(Transport)} with a {@link BatchTransport}.
+   */
+  public void testSetTransport_batch() throws RequestException {
+    delayTestFinishForRequest();
+
+    final int[] calls = {0};
+    final Transport xhrTransport = new XhrTransport();
+    Transport transport =
+        new BatchTransport(
+            getTestBaseURL() + "batch",
+            0,
+            BatchTransport.DEFAULT_MAX_BATCH_SIZE,
+            (request, callback) -> {
+              calls[0]++;
+              return xhrTransport.send(request, callback);
+            });
+    RequestBuilder getBuilder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "send_GET");
+    getBuilder.setTransport(transport);
+    RequestBuilder postBuilder =
+        new RequestBuilder(RequestBuilder.POST, getTestBaseURL() + "sendRequest_POST");
+    postBuilder.setTransport(transport);
+
+    // the responses are passed on in the order of the requests in the batch
+    final String[] expected = {SERVLET_GET_RESPONSE, SERVLET_POST_RESPONSE};
+    final int[] received = {0};
+    RequestCallback callback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(200, response.getStatusCode());
+            assertEquals(expected[received[0]++], response.getText());
+            if (received[0] == expected.length) {
+              // both requests were sent in a single batch call
+              assertEquals(1, calls[0]);
+              finishTest();
+            }
+          }
+        };
+    getBuilder.sendRequest(null, callback);
+    postBuilder.sendRequest("data", callback);
+  }
+
+  /**
+   * Test method for {@link RequestBuilder#setTransport(Transport)} with a request failing with a
+   * network error, which both transports report as a response with the status code 0.
+   */
+  public void testSetTransport_networkError() throws RequestException {
+    delayTestFinishForRequest();
+
+    // nothing listens on port 1
+    final RequestBuilder fetchBuilder =
+        new RequestBuilder(RequestBuilder.GET, "http://localhost:1/");
+    fetchBuilder.setTransport(new FetchTransport());
+    final RequestCallback fetchCallback =
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(0, response.getStatusCode());
+            finishTest();
+          }
+        };
+    RequestBuilder xhrBuilder = new RequestBuilder(RequestBuilder.GET, "http://localhost:1/");
+    xhrBuilder.setTransport(new XhrTransport());
+    xhrBuilder.sendRequest(
+        null,
+        new RequestCallback() {
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            assertEquals(0, response.getStatusCode());
+            try {
+              fetchBuilder.sendRequest(null, fetchCallback);
+            } catch (RequestException e) {
+              fail(e.getMessage());
+            }
+          }
+        });
+  }
+
+  /**
+   * Test method for {@link RequestBuilder#setTransport(Transport)} with a {@link FetchTransport}
+   * and a {@link StreamingRequestCallback}.
+   */
+  public void testSetTransport_fetchStreaming() throws RequestException {
+    delayTestFinishForRequest();
+
+    RequestBuilder builder =
+        new RequestBuilder(RequestBuilder.GET, getTestBaseURL() + "sendRequest_streaming");
+    builder.setTransport(new FetchTransport());
+    builder.sendRequest(
+        null,
+        new StreamingRequestCallback() {
+          private final StringBuilder text = new StringBuilder();
+
+          @Override
+          public void onChunk(Request request, String chunk) {
+            assertTrue(chunk.length() > 0);
+            text.append(chunk);
+          }
+
+          @Override
+          public void onError(Request request, Throwable exception) {
+            fail(exception.getMessage());
+          }
+
+          @Override
+          public void onResponseReceived(Request request, Response response) {
+            // the streamed body is not retained, unless the browser lacks the Fetch API
+            if (FetchTransport.isSupported()) {
+              assertNull(response.getText());
+            } else {
+              assertEquals(response.getText(), text.toString());
+            }
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < SERVLET_STREAMING_CHUNKS; i++) {
+              expected.append(SERVLET_GET_RESPONSE);
+            }
+            assertEquals(expected.toString(), text.toString());
+            finishTest();
+          }
+        });
+  }
+
   /**
    * Helper method to test {@link RequestBuilder#send()}.
    *
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import elemental2.dom.XMLHttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import org.gwtproject.http.client.RequestBuilder.Priority;
+
+/** Test cases for the {@link RequestDispatcher} class. */
+public class RequestDispatcherTest extends GWTTestCase {
+
+  private static final String URL = "http://example.com/foo";
+
+  private static final RequestCallback NOOP_CALLBACK =
+      new RequestCallback() {
+        @Override
+        public void onResponseReceived(Request request, Response response) {}
+
+        @Override
+        public void onError(Request request, Throwable exception) {}
+      };
+
+  /** A scheduler running its tasks only when told to. */
+  private static final class ManualScheduler extends Scheduler {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public Timer schedule(final Runnable task, int delayMillis) {
+      tasks.add(task);
+      return () -> tasks.remove(task);
+    }
+
+    void runAll() {
+      List<Runnable> due = new ArrayList<>(tasks);
+      tasks.clear();
+      for (Runnable task : due) {
+        task.run();
+      }
+    }
+  }
+
+  /** An exchange pending until it is aborted. */
+  private static final class PendingExchange implements Exchange {
+    private boolean aborted;
+
+    @Override
+    public boolean isPending() {
+      return !aborted;
+    }
+
+    @Override
+    public void abort() {
+      aborted = true;
+    }
+  }
+
+  private final List<String> started = new ArrayList<>();
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private Scheduler previous;
+
+  @Override
+  public String getModuleName() {
+    return "org.gwtproject.http.RequestTest";
+  }
+
+  @Override
+  protected void gwtSetUp() {
+    previous = Scheduler.get();
+    Scheduler.set(scheduler);
+  }
+
+  @Override
+  protected void gwtTearDown() {
+    Scheduler.set(previous);
+  }
+
+  public void testGetOrigin() {
+    assertEquals("http://example.com", RequestDispatcher.getOrigin("http://example.com"));
+    assertEquals(
+        "https://example.com:8443", RequestDispatcher.getOrigin("HTTPS://Example.com:8443/"));
+    assertEquals("http://example.com", RequestDispatcher.getOrigin("http://u:p@example.com?q#f"));
+    assertEquals("", RequestDispatcher.getOrigin("/foo/bar"));
+    assertEquals("", RequestDispatcher.getOrigin("foo?url=http://example.com"));
+  }
+
+  public void testRequestDispatcher() {
+    try {
+      new RequestDispatcher(0);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    assertEquals(
+        RequestDispatcher.DEFAULT_MAX_REQUESTS_PER_ORIGIN,
+        new RequestDispatcher().getMaxRequestsPerOrigin());
+  }
+
+  public void testDispatch() {
+    RequestDispatcher dispatcher = new RequestDispatcher(2);
+
+    Request first = dispatch(dispatcher, URL, Priority.NORMAL, "first");
+    dispatch(dispatcher, URL, Priority.NORMAL, "second");
+    Request third = dispatch(dispatcher, URL, Priority.NORMAL, "third");
+    dispatch(dispatcher, URL, Priority.NORMAL, "fourth");
+    dispatch(dispatcher, "/relative", Priority.NORMAL, "other origin");
+
+    assertEquals(2, dispatcher.getInFlightCount(URL));
+    assertEquals(2, dispatcher.getQueuedCount(URL));
+    assertEquals(1, dispatcher.getInFlightCount("/"));
+
+    // canceling a queued request frees nothing
+    third.cancel();
+    assertEquals(1, dispatcher.getQueuedCount(URL));
+    assertEquals(3, started.size());
+
+    first.cancel();
+    // canceling twice has no effect
+    first.cancel();
+    assertEquals(2, dispatcher.getInFlightCount(URL));
+    assertEquals(0, dispatcher.getQueuedCount(URL));
+    assertEquals(4, started.size());
+    assertEquals("fourth", started.get(3));
+  }
+
+  public void testDispatch_relative() {
+    RequestDispatcher dispatcher =
+        new RequestDispatcher(2) {
+          @Override
+          protected String getBaseUrl() {
+            return "http://example.com/app/";
+          }
+        };
+
+    // relative URLs share the slots of the absolute URLs of the origin of the document
+    for (String url : new String[] {"/api/x", URL, "foo", "//example.com/bar"}) {
+      dispatch(dispatcher, url, Priority.NORMAL, url);
+    }
+    dispatch(dispatcher, "https://example.com/", Priority.NORMAL, "other origin");
+    assertEquals(3, started.size());
+    assertEquals(2, dispatcher.getInFlightCount("foo"));
+    assertEquals(2, dispatcher.getQueuedCount(URL));
+    assertEquals(1, dispatcher.getInFlightCount("https://example.com/bar"));
+  }
+
+  public void testDispatch_priority() {
+    RequestDispatcher dispatcher = new RequestDispatcher(1);
+
+    Request first = dispatch(dispatcher, URL, Priority.NORMAL, "first");
+    dispatch(dispatcher, URL, Priority.BACKGROUND, "background");
+    dispatch(dispatcher, URL, Priority.NORMAL, "normal");
+    dispatch(dispatcher, URL, Priority.CRITICAL, "critical");
+    assertEquals(1, started.size());
+
+    first.cancel();
+    assertEquals("critical", started.get(1));
+  }
+
+  public void testAdaptive() {
+    RequestDispatcher dispatcher = new RequestDispatcher(4);
+    String origin = RequestDispatcher.getOrigin(URL);
+    assertFalse(dispatcher.isAdaptive());
+    dispatcher.addSample(origin, 0, 100, true);
+    assertEquals(4, dispatcher.getLimit(URL));
+
+    dispatcher.setAdaptive(true);
+    assertTrue(dispatcher.isAdaptive());
+    assertEquals(4, dispatcher.getLimit(URL));
+
+    // a failure halves the window, once per round trip
+    dispatcher.addSample(origin, 0, 100, true);
+    assertEquals(2, dispatcher.getLimit(URL));
+    dispatcher.addSample(origin, 50, 150, true);
+    assertEquals(2, dispatcher.getLimit(URL));
+
+    // an inflated round trip time shrinks the window by a tenth
+    dispatcher.addSample(origin, 200, 300, false);
+    assertEquals(2, dispatcher.getLimit(URL));
+    dispatcher.addSample(origin, 400, 700, false);
+    assertEquals(1, dispatcher.getLimit(URL));
+    assertEquals(4, dispatcher.getLimit("/relative"));
+
+    // the window grows while it is in use
+    Request first = dispatch(dispatcher, URL, Priority.NORMAL, "first");
+    dispatch(dispatcher, URL, Priority.NORMAL, "second");
+    dispatch(dispatcher, URL, Priority.NORMAL, "third");
+    assertEquals(1, dispatcher.getInFlightCount(URL));
+    dispatcher.addSample(origin, 800, 900, false);
+    assertEquals(2, dispatcher.getLimit(URL));
+    first.cancel();
+    assertEquals(2, dispatcher.getInFlightCount(URL));
+    assertEquals(3, started.size());
+  }
+
+  public void testAdaptive_timeout() {
+    RequestDispatcher dispatcher = new RequestDispatcher(4);
+    dispatcher.setAdaptive(true);
+    Request request = new Request(1000, NOOP_CALLBACK, new PendingExchange());
+    RequestDispatcher.Slot slot = dispatcher.createSlot(URL, Priority.NORMAL, () -> {});
+    request.setSlot(slot);
+    slot.enqueue();
+
+    // a timeout halves the window, like a failure
+    scheduler.runAll();
+    assertFalse(request.isPending());
+    assertEquals(0, dispatcher.getInFlightCount(URL));
+    assertEquals(2, dispatcher.getLimit(URL));
+
+    // canceling a request leaves the window alone
+    request = new Request(1000, NOOP_CALLBACK, new PendingExchange());
+    slot = dispatcher.createSlot(URL, Priority.NORMAL, () -> {});
+    request.setSlot(slot);
+    slot.enqueue();
+    request.cancel();
+    assertEquals(2, dispatcher.getLimit(URL));
+  }
+
+  public void testAdaptive_coalescedTimeout() {
+    RequestDispatcher dispatcher = new RequestDispatcher(4);
+    dispatcher.setAdaptive(true);
+    RequestCoalescer.Call call = new RequestCoalescer().start(URL, new PendingExchange());
+    Request first = call.join(1000, NOOP_CALLBACK);
+    call.join(2000, NOOP_CALLBACK);
+    RequestDispatcher.Slot slot = dispatcher.createSlot(URL, Priority.NORMAL, () -> {});
+    call.setSlot(slot);
+    slot.enqueue();
+
+    // the shared call times out once its last subscriber does
+    first.cancel();
+    assertEquals(1, dispatcher.getInFlightCount(URL));
+    scheduler.runAll();
+    assertEquals(0, dispatcher.getInFlightCount(URL));
+    assertEquals(2, dispatcher.getLimit(URL));
+  }
+
+  public void testAdaptive_forget() {
+    RequestDispatcher dispatcher = new RequestDispatcher(2);
+    dispatcher.setAdaptive(true);
+    String origin = RequestDispatcher.getOrigin(URL);
+    RequestDispatcher.Slot slot = dispatcher.createSlot(URL, Priority.NORMAL, () -> {});
+    slot.enqueue();
+    dispatcher.addSample(origin, 0, 100, true);
+    slot.release();
+
+    // a shrunk window is kept while the origin is idle
+    assertEquals(1, dispatcher.getLimit(URL));
+    assertEquals(1, dispatcher.getWindowCount());
+
+    RequestDispatcher.Slot first = dispatcher.createSlot(URL, Priority.NORMAL, () -> {});
+    RequestDispatcher.Slot second = dispatcher.createSlot(URL, Priority.NORMAL, () -> {});
+    first.enqueue();
+    second.enqueue();
+    dispatcher.addSample(origin, 200, 300, false);
+    assertEquals(2, dispatcher.getLimit(URL));
+    first.release();
+    assertEquals(1, dispatcher.getWindowCount());
+
+    // a window back to the maximum is dropped once its origin is idle
+    second.release();
+    assertEquals(0, dispatcher.getWindowCount());
+    assertEquals(2, dispatcher.getLimit(URL));
+  }
+
+  public void testAdaptive_idle() {
+    final long[] now = {0};
+    RequestDispatcher dispatcher =
+        new RequestDispatcher(4) {
+          @Override
+          long currentTimeMillis() {
+            return now[0];
+          }
+        };
+    dispatcher.setAdaptive(true);
+    String origin = RequestDispatcher.getOrigin(URL);
+    String otherUrl = "https://example.com/";
+    String other = RequestDispatcher.getOrigin(otherUrl);
+    RequestDispatcher.Slot slot = dispatcher.createSlot(URL, Priority.NORMAL, () -> {});
+    slot.enqueue();
+    dispatcher.addSample(origin, 0, 100, true);
+    slot.release();
+    slot = dispatcher.createSlot(otherUrl, Priority.NORMAL, () -> {});
+    slot.enqueue();
+    dispatcher.addSample(other, 0, 100, true);
+    slot.release();
+    assertEquals(2, dispatcher.getWindowCount());
+
+    // a shrunk window is kept while its origin is briefly idle
+    now[0] = RequestDispatcher.WINDOW_IDLE_MILLIS - 1;
+    slot = dispatcher.createSlot(URL, Priority.NORMAL, () -> {});
+    slot.enqueue();
+    assertEquals(2, dispatcher.getLimit(URL));
+    slot.release();
+
+    // and dropped once its origin has been idle for too long, as are the other idle windows
+    now[0] += RequestDispatcher.WINDOW_IDLE_MILLIS;
+    slot = dispatcher.createSlot(URL, Priority.NORMAL, () -> {});
+    slot.enqueue();
+    assertEquals(4, dispatcher.getLimit(URL));
+    assertEquals(0, dispatcher.getWindowCount());
+    slot.release();
+  }
+
+  private Request dispatch(
+      RequestDispatcher dispatcher, String url, Priority priority, final String name) {
+    final Request request = new Request(new XMLHttpRequest(), 0, NOOP_CALLBACK);
+    RequestDispatcher.Slot slot = dispatcher.createSlot(url, priority, () -> started.add(name));
+    request.setSlot(slot);
+    slot.enqueue();
+    return request;
+  }
+}
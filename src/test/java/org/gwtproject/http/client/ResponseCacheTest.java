@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Test cases for the {@link ResponseCache} class. */
+public class ResponseCacheTest extends GWTTestCase {
+
+  private static final String URL = "http://example.com/foo";
+
+  /** Ten seconds after the epoch, as an HTTP date. */
+  private static final String DATE = "Thu, 01 Jan 1970 00:00:10 GMT";
+
+  private static final long NOW = 10000;
+
+  private static Response response(String headers) {
+    return new CachedResponse(200, "OK", headers, "body");
+  }
+
+  private final Map<String, String> requestHeaders = new HashMap<>();
+
+  /** Returns the response cached for a request if it is fresh, as {@link RequestBuilder} does. */
+  private Response getFresh(ResponseCache cache, String url, long now) {
+    ResponseCache.Entry entry = cache.getEntry(url, requestHeaders);
+    return entry != null && entry.isFresh(now) ? entry.response : null;
+  }
+
+  @Override
+  public String getModuleName() {
+    return "org.gwtproject.http.RequestTest";
+  }
+
+  public void testParseDate() {
+    assertEquals(784111777000L, HttpDates.parse("Sun, 06 Nov 1994 08:49:37 GMT"));
+    assertEquals(784111777000L, HttpDates.parse("Sunday, 06-Nov-94 08:49:37 GMT"));
+    assertEquals(784111777000L, HttpDates.parse("Sun Nov  6 08:49:37 1994"));
+    assertEquals(-1, HttpDates.parse("0"));
+    assertEquals(-1, HttpDates.parse(null));
+  }
+
+  public void testResponseCache() {
+    try {
+      new ResponseCache(0, 1);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new ResponseCache(1, 0);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testPut_maxAge() {
+    ResponseCache cache = new ResponseCache();
+    cache.put(URL, requestHeaders, NOW, NOW, response("Cache-Control: public, max-age=60"));
+    assertEquals(1, cache.getEntryCount());
+
+    Response cached = getFresh(cache, URL, NOW + 59999);
+    assertNotNull(cached);
+    assertEquals("body", cached.getText());
+    assertEquals("public, max-age=60", cached.getHeader("cache-control"));
+    assertNull(getFresh(cache, URL, NOW + 60000));
+    assertNull(getFresh(cache, URL + "/bar", NOW));
+  }
+
+  public void testPut_expires() {
+    ResponseCache cache = new ResponseCache();
+    cache.put(
+        URL,
+        requestHeaders,
+        NOW,
+        NOW,
+        response("Date: " + DATE + "\r\nExpires: Thu, 01 Jan 1970 00:01:10 GMT"));
+
+    assertNotNull(getFresh(cache, URL, NOW + 59999));
+    assertNull(getFresh(cache, URL, NOW + 60000));
+  }
+
+  public void testPut_age() {
+    ResponseCache cache = new ResponseCache();
+    cache.put(URL, requestHeaders, NOW, NOW, response("Cache-Control: max-age=60\r\nAge: 30"));
+
+    assertNotNull(getFresh(cache, URL, NOW + 29999));
+    assertNull(getFresh(cache, URL, NOW + 30000));
+  }
+
+  public void testPut_notCacheable() {
+    ResponseCache cache = new ResponseCache();
+    cache.put(URL, requestHeaders, NOW, NOW, response("Cache-Control: no-store, max-age=60"));
+    cache.put(URL, requestHeaders, NOW, NOW, response("Cache-Control: no-cache, max-age=60"));
+    cache.put(URL, requestHeaders, NOW, NOW, response("Content-Type: text/plain"));
+    cache.put(URL, requestHeaders, NOW, NOW, response("Expires: 0"));
+    cache.put(URL, requestHeaders, NOW, NOW, response("Cache-Control: max-age=60\r\nVary: *"));
+    cache.put(
+        URL,
+        requestHeaders,
+        NOW,
+        NOW,
+        new CachedResponse(500, "Internal Server Error", "Cache-Control: max-age=60", ""));
+    assertEquals(0, cache.getEntryCount());
+    assertEquals(0, cache.getSize());
+  }
+
+  public void testPut_validators() {
+    ResponseCache cache = new ResponseCache();
+    cache.put(URL, requestHeaders, NOW, NOW, response("Cache-Control: no-cache\r\nETag: \"1\""));
+    assertEquals(1, cache.getEntryCount());
+    assertNull(getFresh(cache, URL, NOW));
+    assertTrue(cache.getEntry(URL, requestHeaders).hasValidators());
+
+    cache.put(URL, requestHeaders, NOW, NOW, response("Last-Modified: " + DATE));
+    assertNull(getFresh(cache, URL, NOW));
+    assertTrue(cache.getEntry(URL, requestHeaders).hasValidators());
+
+    // a response that can't be stored still replaces the stored one
+    cache.put(URL, requestHeaders, NOW, NOW, response("Cache-Control: no-store"));
+    assertEquals(0, cache.getEntryCount());
+  }
+
+  public void testPut_staleWhileRevalidate() {
+    ResponseCache cache = new ResponseCache();
+    cache.put(
+        URL,
+        requestHeaders,
+        NOW,
+        NOW,
+        response("Cache-Control: max-age=60, stale-while-revalidate=30"));
+    ResponseCache.Entry entry = cache.getEntry(URL, requestHeaders);
+    assertFalse(entry.isStaleWhileRevalidate(NOW + 59999));
+    assertTrue(entry.isStaleWhileRevalidate(NOW + 60000));
+    assertTrue(entry.isStaleWhileRevalidate(NOW + 89999));
+    assertFalse(entry.isStaleWhileRevalidate(NOW + 90000));
+
+    cache.put(
+        URL,
+        requestHeaders,
+        NOW,
+        NOW,
+        response("Cache-Control: no-cache, stale-while-revalidate=30"));
+    assertEquals(0, cache.getEntryCount());
+  }
+
+  public void testRevalidate() {
+    ResponseCache cache = new ResponseCache();
+    cache.put(
+        URL,
+        requestHeaders,
+        NOW,
+        NOW,
+        response("Cache-Control: no-cache\r\nETag: \"1\"\r\nAge: 100\r\nFoo: bar"));
+    ResponseCache.Entry entry = cache.getEntry(URL, requestHeaders);
+
+    Response response =
+        cache.revalidate(
+            URL,
+            entry,
+            requestHeaders,
+            NOW,
+            NOW,
+            new CachedResponse(304, "Not Modified", "Cache-Control: max-age=60", ""));
+    assertEquals(200, response.getStatusCode());
+    assertEquals("body", response.getText());
+    assertEquals("max-age=60", response.getHeader("Cache-Control"));
+    assertEquals("\"1\"", response.getHeader("ETag"));
+    assertEquals("bar", response.getHeader("Foo"));
+    assertNull(response.getHeader("Age"));
+
+    assertEquals(1, cache.getEntryCount());
+    assertNotNull(getFresh(cache, URL, NOW + 59999));
+  }
+
+  public void testPut_vary() {
+    ResponseCache cache = new ResponseCache();
+    requestHeaders.put("accept", "text/plain");
+    cache.put(URL, requestHeaders, NOW, NOW, response("Cache-Control: max-age=60\r\nVary: Accept"));
+
+    assertNotNull(getFresh(cache, URL, NOW));
+    requestHeaders.put("accept", "application/json");
+    assertNull(getFresh(cache, URL, NOW));
+    requestHeaders.remove("accept");
+    assertNull(getFresh(cache, URL, NOW));
+  }
+
+  public void testEviction() {
+    ResponseCache cache = new ResponseCache(2, ResponseCache.DEFAULT_MAX_SIZE);
+    cache.put(URL + 1, requestHeaders, NOW, NOW, response("Cache-Control: max-age=60"));
+    cache.put(URL + 2, requestHeaders, NOW, NOW, response("Cache-Control: max-age=60"));
+    // makes the first entry the most recently used
+    assertNotNull(getFresh(cache, URL + 1, NOW));
+    cache.put(URL + 3, requestHeaders, NOW, NOW, response("Cache-Control: max-age=60"));
+
+    assertEquals(2, cache.getEntryCount());
+    assertNotNull(getFresh(cache, URL + 1, NOW));
+    assertNull(getFresh(cache, URL + 2, NOW));
+    assertNotNull(getFresh(cache, URL + 3, NOW));
+
+    Response response = response("Cache-Control: max-age=60");
+    int size = new CachedResponse(response).getSize();
+    cache = new ResponseCache(ResponseCache.DEFAULT_MAX_ENTRIES, 2 * size);
+    cache.put(URL + 1, requestHeaders, NOW, NOW, response);
+    cache.put(URL + 2, requestHeaders, NOW, NOW, response);
+    assertEquals(2 * size, cache.getSize());
+    cache.put(URL + 3, requestHeaders, NOW, NOW, response);
+    assertEquals(2, cache.getEntryCount());
+    assertEquals(2 * size, cache.getSize());
+    assertNull(getFresh(cache, URL + 1, NOW));
+  }
+
+  public void testInvalidate() {
+    ResponseCache cache = new ResponseCache();
+    cache.put(URL, requestHeaders, NOW, NOW, response("Cache-Control: max-age=60"));
+    cache.invalidate(URL);
+    assertNull(getFresh(cache, URL, NOW));
+    assertEquals(0, cache.getSize());
+
+    cache.put(URL, requestHeaders, NOW, NOW, response("Cache-Control: max-age=60"));
+    cache.clear();
+    assertEquals(0, cache.getEntryCount());
+    assertEquals(0, cache.getSize());
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Test cases for the {@link TimerWheel} class. */
+public class TimerWheelTest extends GWTTestCase {
+
+  /** A scheduler running its tasks only when told to. */
+  private static final class ManualScheduler extends Scheduler {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public Timer schedule(final Runnable task, int delayMillis) {
+      tasks.add(task);
+      return () -> tasks.remove(task);
+    }
+  }
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final List<String> ran = new ArrayList<>();
+
+  @Override
+  public String getModuleName() {
+    return "org.gwtproject.http.RequestTest";
+  }
+
+  public void testTimerWheel() {
+    try {
+      new TimerWheel(scheduler, 0);
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    try {
+      new TimerWheel(null, 100);
+      fail("Expected NullPointerException");
+    } catch (NullPointerException expected) {
+    }
+
+    assertEquals(100, new TimerWheel(scheduler, 100).getTickMillis());
+  }
+
+  public void testSchedule() {
+    TimerWheel wheel = new TimerWheel(scheduler, 100);
+    wheel.schedule(task("a"), 100, 1000);
+    wheel.schedule(task("b"), 150, 1000);
+    wheel.schedule(task("c"), 1000, 1000);
+    assertEquals(3, wheel.getPendingCount());
+    // a single timer for all the tasks
+    assertEquals(1, scheduler.tasks.size());
+
+    wheel.tick(1099);
+    assertEquals("", String.join(",", ran));
+    wheel.tick(1100);
+    assertEquals("a", String.join(",", ran));
+    // tasks never run early
+    wheel.tick(1199);
+    assertEquals("a", String.join(",", ran));
+    wheel.tick(1200);
+    assertEquals("a,b", String.join(",", ran));
+    assertEquals(1, wheel.getPendingCount());
+
+    wheel.tick(2000);
+    assertEquals("a,b,c", String.join(",", ran));
+    assertEquals(0, wheel.getPendingCount());
+  }
+
+  public void testSchedule_noDelay() {
+    TimerWheel wheel = new TimerWheel(scheduler, 100);
+    wheel.schedule(task("a"), 0);
+    assertEquals(0, wheel.getPendingCount());
+    assertEquals(1, scheduler.tasks.size());
+    scheduler.tasks.get(0).run();
+    assertEquals("a", String.join(",", ran));
+  }
+
+  public void testSchedule_moreThanOneTurn() {
+    TimerWheel wheel = new TimerWheel(scheduler, 10);
+    int delay = TimerWheel.WHEEL_SIZE * 10 + 50;
+    wheel.schedule(task("a"), delay, 0);
+
+    // the slot of the task comes round before its deadline
+    for (long now = 10; now < delay; now += 10) {
+      wheel.tick(now);
+    }
+    assertEquals("", String.join(",", ran));
+    wheel.tick(delay);
+    assertEquals("a", String.join(",", ran));
+  }
+
+  public void testTick_late() {
+    TimerWheel wheel = new TimerWheel(scheduler, 10);
+    wheel.schedule(task("a"), 20, 0);
+    wheel.schedule(task("b"), 500, 0);
+    wheel.schedule(task("c"), 50_000, 0);
+
+    // way past a whole turn of the wheel, e.g. in a background tab
+    wheel.tick(10_000);
+    assertEquals("a,b", String.join(",", ran));
+    assertEquals(1, wheel.getPendingCount());
+  }
+
+  public void testCancel() {
+    TimerWheel wheel = new TimerWheel(scheduler, 100);
+    Scheduler.Timer a = wheel.schedule(task("a"), 100, 0);
+    Scheduler.Timer b = wheel.schedule(task("b"), 200, 0);
+    a.cancel();
+    assertEquals(1, wheel.getPendingCount());
+    assertEquals(1, scheduler.tasks.size());
+
+    // canceling the last pending task stops the timer
+    b.cancel();
+    b.cancel();
+    assertEquals(0, wheel.getPendingCount());
+    assertEquals(0, scheduler.tasks.size());
+
+    wheel.schedule(task("c"), 100, 1000);
+    assertEquals(1, scheduler.tasks.size());
+    // the timer fires
+    scheduler.tasks.clear();
+    wheel.tick(1100);
+    assertEquals("c", String.join(",", ran));
+    // no timer is left once all tasks have run
+    assertEquals(0, scheduler.tasks.size());
+  }
+
+  public void testTick_reentrant() {
+    final TimerWheel wheel = new TimerWheel(scheduler, 100);
+    wheel.schedule(
+        () -> {
+          ran.add("a");
+          wheel.schedule(task("b"), 100, 1100);
+        },
+        100,
+        1000);
+    // the timer fires
+    scheduler.tasks.clear();
+
+    wheel.tick(1100);
+    assertEquals("a", String.join(",", ran));
+    // the task scheduled while ticking started a single timer
+    assertEquals(1, scheduler.tasks.size());
+    wheel.tick(1200);
+    assertEquals("a,b", String.join(",", ran));
+  }
+
+  private Runnable task(final String name) {
+    return () -> ran.add(name);
+  }
+}
@@ -0,0 +1,588 @@
+/*
+ * Copyright 2026 The GWT Project Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gwtproject.http.server;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import javax.servlet.ReadListener;
+import javax.servlet.Servlet;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import org.gwtproject.http.client.BatchTransport;
+
+/**
+ * A reference decoder of the batches sent by a {@link BatchTransport}: each part of a <code>
+ * multipart/mixed</code> batch is served by the {@link RequestBuilderTestServlet}, mapped to the
+ * parent path of this servlet, and the responses are sent back as the parts of a <code>
+ * multipart/mixed</code> response. Bodies are read and written as UTF-8 text.
+ */
+@SuppressWarnings("serial")
+@WebServlet("/testRequestBuilder/batch")
+public class BatchTestServlet extends HttpServlet {
+
+  private static final String CRLF = "\r\n";
+
+  /** A request of a batch, as seen by the servlet serving it. */
+  private static final class PartRequest extends HttpServletRequestWrapper {
+    private final String method;
+    private final String requestUri;
+    private final String pathInfo;
+    private final String queryString;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final Map<String, String[]> parameters = new LinkedHashMap<>();
+
+    PartRequest(
+        HttpServletRequest batch,
+        String method,
+        String target,
+        String prefix,
+        Map<String, List<String>> headers,
+        byte[] body)
+        throws UnsupportedEncodingException {
+      super(batch);
+      this.method = method;
+      int query = target.indexOf('?');
+      this.requestUri = query >= 0 ? target.substring(0, query) : target;
+      this.queryString = query >= 0 ? target.substring(query + 1) : null;
+      this.pathInfo =
+          requestUri.startsWith(prefix + "/") ? requestUri.substring(prefix.length()) : null;
+      this.headers = headers;
+      this.body = body;
+
+      if (queryString != null) {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (String parameter : queryString.split("&")) {
+          if (parameter.isEmpty()) {
+            continue;
+          }
+          int equals = parameter.indexOf('=');
+          String name = equals >= 0 ? parameter.substring(0, equals) : parameter;
+          String value = equals >= 0 ? parameter.substring(equals + 1) : "";
+          values
+              .computeIfAbsent(URLDecoder.decode(name, "UTF-8"), key -> new ArrayList<>())
+              .add(URLDecoder.decode(value, "UTF-8"));
+        }
+        for (Map.Entry<String, List<String>> entry : values.entrySet()) {
+          parameters.put(entry.getKey(), entry.getValue().toArray(new String[0]));
+        }
+      }
+    }
+
+    @Override
+    public String getMethod() {
+      return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+      return requestUri;
+    }
+
+    @Override
+    public String getPathInfo() {
+      return pathInfo;
+    }
+
+    @Override
+    public String getQueryString() {
+      return queryString;
+    }
+
+    @Override
+    public String getHeader(String name) {
+      List<String> values = headers.get(name);
+      return values != null ? values.get(0) : null;
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+      List<String> values = headers.get(name);
+      return Collections.enumeration(values != null ? values : Collections.<String>emptyList());
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+      return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+      String value = getHeader(name);
+      if (value == null) {
+        return -1;
+      }
+      try {
+        return Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(value)).toEpochMilli();
+      } catch (DateTimeParseException e) {
+        throw new IllegalArgumentException(value, e);
+      }
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+      String value = getHeader(name);
+      return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    @Override
+    public String getContentType() {
+      return getHeader("Content-Type");
+    }
+
+    @Override
+    public int getContentLength() {
+      return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+      return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+      return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      final InputStream in = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public int read() throws IOException {
+          return in.read();
+        }
+
+        @Override
+        public boolean isFinished() {
+          try {
+            return in.available() == 0;
+          } catch (IOException e) {
+            return true;
+          }
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          throw new IllegalStateException("Not an asynchronous request");
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      return new BufferedReader(
+          new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String getParameter(String name) {
+      String[] values = parameters.get(name);
+      return values != null ? values[0] : null;
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+      return parameters.get(name);
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+      return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+      return Collections.enumeration(parameters.keySet());
+    }
+  }
+
+  /** The response to a request of a batch, buffered until the whole batch has been served. */
+  private static final class PartResponse extends HttpServletResponseWrapper {
+    private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private int status = SC_OK;
+    private PrintWriter writer;
+
+    PartResponse(HttpServletResponse batch) {
+      super(batch);
+    }
+
+    String getText() {
+      if (writer != null) {
+        writer.flush();
+      }
+      return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void setStatus(int status) {
+      this.status = status;
+    }
+
+    @Override
+    public int getStatus() {
+      return status;
+    }
+
+    @Override
+    public void sendError(int status) {
+      this.status = status;
+    }
+
+    @Override
+    public void sendError(int status, String message) {
+      this.status = status;
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+      status = SC_FOUND;
+      setHeader("Location", location);
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+      return headers.containsKey(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+      List<String> values = headers.get(name);
+      return values != null ? values.get(0) : null;
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+      List<String> values = headers.get(name);
+      return values != null ? values : Collections.<String>emptyList();
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+      return headers.keySet();
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+      List<String> values = new ArrayList<>();
+      values.add(value);
+      headers.put(name, values);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+      headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+      setHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+      addHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+      setHeader(name, formatDate(date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+      addHeader(name, formatDate(date));
+    }
+
+    @Override
+    public void setContentType(String contentType) {
+      setHeader("Content-Type", contentType);
+    }
+
+    @Override
+    public String getContentType() {
+      return getHeader("Content-Type");
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+      // the body is always written as UTF-8
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+      return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public void setContentLength(int length) {}
+
+    @Override
+    public void setContentLengthLong(long length) {}
+
+    @Override
+    public void setLocale(Locale locale) {}
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+      return new ServletOutputStream() {
+        @Override
+        public void write(int b) {
+          body.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+          throw new IllegalStateException("Not an asynchronous request");
+        }
+      };
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+      if (writer == null) {
+        writer = new PrintWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8));
+      }
+      return writer;
+    }
+
+    @Override
+    public void flushBuffer() {
+      if (writer != null) {
+        writer.flush();
+      }
+    }
+
+    @Override
+    public boolean isCommitted() {
+      return false;
+    }
+
+    @Override
+    public void reset() {
+      headers.clear();
+      status = SC_OK;
+      resetBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+      flushBuffer();
+      body.reset();
+    }
+  }
+
+  private static String formatDate(long date) {
+    return DateTimeFormatter.RFC_1123_DATE_TIME.format(
+        Instant.ofEpochMilli(date).atOffset(ZoneOffset.UTC));
+  }
+
+  /** Returns the boundary of a multipart content type, or null. */
+  private static String getBoundary(String contentType) {
+    if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+      return null;
+    }
+    for (String parameter : contentType.split(";")) {
+      int equals = parameter.indexOf('=');
+      if (equals > 0 && parameter.substring(0, equals).trim().equalsIgnoreCase("boundary")) {
+        return parameter.substring(equals + 1).trim().replace("\"", "");
+      }
+    }
+    return null;
+  }
+
+  private static String getReasonPhrase(int status) {
+    switch (status) {
+      case HttpServletResponse.SC_OK:
+        return "OK";
+      case HttpServletResponse.SC_CREATED:
+        return "Created";
+      case HttpServletResponse.SC_NO_CONTENT:
+        return "No Content";
+      case HttpServletResponse.SC_NOT_MODIFIED:
+        return "Not Modified";
+      case HttpServletResponse.SC_BAD_REQUEST:
+        return "Bad Request";
+      case HttpServletResponse.SC_NOT_FOUND:
+        return "Not Found";
+      case HttpServletResponse.SC_METHOD_NOT_ALLOWED:
+        return "Method Not Allowed";
+      case HttpServletResponse.SC_INTERNAL_SERVER_ERROR:
+        return "Internal Server Error";
+      case HttpServletResponse.SC_SERVICE_UNAVAILABLE:
+        return "Service Unavailable";
+      default:
+        return "";
+    }
+  }
+
+  private final Servlet delegate = new RequestBuilderTestServlet();
+
+  @Override
+  public void init(ServletConfig config) throws ServletException {
+    super.init(config);
+    delegate.init(config);
+  }
+
+  @Override
+  public void destroy() {
+    delegate.destroy();
+    super.destroy();
+  }
+
+  @Override
+  protected void doPost(HttpServletRequest request, HttpServletResponse response)
+      throws IOException, ServletException {
+    String boundary = getBoundary(request.getContentType());
+    if (boundary == null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+      return;
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    InputStream in = request.getInputStream();
+    byte[] buffer = new byte[4096];
+    for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+      bytes.write(buffer, 0, read);
+    }
+    String text = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+
+    // the requests are served by the servlet mapped to the parent path
+    String path = request.getContextPath() + request.getServletPath();
+    String prefix = path.substring(0, path.lastIndexOf('/'));
+
+    String responseBoundary = "batch_" + UUID.randomUUID();
+    StringBuilder out = new StringBuilder();
+    String delimiter = "--" + boundary;
+    int start = text.indexOf(delimiter);
+    for (int index = 0; start >= 0; index++) {
+      start += delimiter.length();
+      int end = text.indexOf(CRLF + delimiter, start);
+      if (text.startsWith("--", start) || end < 0) {
+        break;
+      }
+      int partStart = text.indexOf(CRLF, start);
+      if (partStart < 0 || partStart >= end) {
+        response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+        return;
+      }
+      String part = text.substring(partStart + CRLF.length(), end);
+      start = end + CRLF.length();
+
+      int mimeEnd = part.indexOf(CRLF + CRLF);
+      int headEnd = mimeEnd < 0 ? -1 : part.indexOf(CRLF + CRLF, mimeEnd + 2 * CRLF.length());
+      if (headEnd < 0) {
+        response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+        return;
+      }
+      String contentId = Integer.toString(index);
+      for (String line : part.substring(0, mimeEnd).split(CRLF)) {
+        if (line.toLowerCase(Locale.ROOT).startsWith("content-id:")) {
+          contentId = line.substring(line.indexOf(':') + 1).trim().replaceAll("[<>]", "");
+        }
+      }
+
+      // GET /path?query HTTP/1.1
+      String[] head = part.substring(mimeEnd + 2 * CRLF.length(), headEnd).split(CRLF);
+      String[] requestLine = head[0].split(" ");
+      if (requestLine.length < 2) {
+        response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+        return;
+      }
+      Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+      for (int i = 1; i < head.length; i++) {
+        int colon = head[i].indexOf(':');
+        if (colon > 0) {
+          headers
+              .computeIfAbsent(head[i].substring(0, colon).trim(), key -> new ArrayList<>())
+              .add(head[i].substring(colon + 1).trim());
+        }
+      }
+      byte[] body = part.substring(headEnd + 2 * CRLF.length()).getBytes(StandardCharsets.UTF_8);
+
+      PartResponse partResponse = new PartResponse(response);
+      delegate.service(
+          new PartRequest(request, requestLine[0], requestLine[1], prefix, headers, body),
+          partResponse);
+
+      out.append("--").append(responseBoundary).append(CRLF);
+      out.append("Content-Type: application/http").append(CRLF);
+      out.append("Content-ID: <response-").append(contentId).append('>').append(CRLF);
+      out.append(CRLF);
+      out.append("HTTP/1.1 ")
+          .append(partResponse.getStatus())
+          .append(' ')
+          .append(getReasonPhrase(partResponse.getStatus()))
+          .append(CRLF);
+      for (String name : partResponse.getHeaderNames()) {
+        for (String value : partResponse.getHeaders(name)) {
+          out.append(name).append(": ").append(value).append(CRLF);
+        }
+      }
+      out.append(CRLF);
+      out.append(partResponse.getText()).append(CRLF);
+    }
+    out.append("--").append(responseBoundary).append("--").append(CRLF);
+
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setContentType("multipart/mixed; boundary=" + responseBoundary);
+    response.getWriter().write(out.toString());
+  }
+}
@@ -16,7 +16,10 @@
 package org.gwtproject.http.server;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -29,6 +32,10 @@ import org.gwtproject.http.shared.RequestBuilderTestConstants;
 @WebServlet("/testRequestBuilder/*")
 public class RequestBuilderTestServlet extends HttpServlet {
 
+  private final AtomicInteger cacheableResponses = new AtomicInteger();
+
+  private final AtomicInteger retriedRequests = new AtomicInteger();
+
   @Override
   protected void doDelete(HttpServletRequest request, HttpServletResponse response) {
     try {
@@ -61,6 +68,55 @@ public class RequestBuilderTestServlet extends HttpServlet {
         response.setStatus(HttpServletResponse.SC_OK);
         response.getWriter().write(RequestBuilderTestConstants.SERVLET_GET_RESPONSE);
         break;
+      case "/setCache":
+        // every response is different, so that cache hits can be told apart
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setHeader("Cache-Control", "max-age=60");
+        response.getWriter().print(cacheableResponses.incrementAndGet());
+        break;
+      case "/setCache/staleWhileRevalidate":
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setHeader("Cache-Control", "max-age=0, stale-while-revalidate=60");
+        response.getWriter().print(cacheableResponses.incrementAndGet());
+        break;
+      case "/setCache/revalidate":
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("ETag", "\"1\"");
+        if ("\"1\"".equals(request.getHeader("If-None-Match"))) {
+          response.setHeader("header1", "revalidated");
+          response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        } else {
+          response.setStatus(HttpServletResponse.SC_OK);
+          response.getWriter().print(RequestBuilderTestConstants.SERVLET_GET_RESPONSE);
+        }
+        break;
+      case "/setRetryPolicy":
+        // every other request fails, as if a gateway could not reach the server
+        if (retriedRequests.incrementAndGet() % 2 == 1) {
+          response.setHeader("Retry-After", "0");
+          response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        } else {
+          response.setStatus(HttpServletResponse.SC_OK);
+          response.getWriter().print(RequestBuilderTestConstants.SERVLET_GET_RESPONSE);
+        }
+        break;
+      case "/setResponseType/json":
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json");
+        response.getWriter().print("{\"foo\": \"bar\", \"baz\": [1, 2]}");
+        break;
+      case "/sendRequest_streaming":
+        response.setStatus(HttpServletResponse.SC_OK);
+        for (int i = 0; i < RequestBuilderTestConstants.SERVLET_STREAMING_CHUNKS; i++) {
+          response.getWriter().print(RequestBuilderTestConstants.SERVLET_GET_RESPONSE);
+          response.flushBuffer();
+          try {
+            Thread.sleep(100);
+          } catch (InterruptedException e) {
+            throw new AssertionError(e);
+          }
+        }
+        break;
       case "/setTimeout/timeout":
         // cause a timeout on the client
         try {
@@ -108,6 +164,17 @@ public class RequestBuilderTestServlet extends HttpServlet {
       if (request.getPathInfo().equals("/sendRequest_POST")) {
         response.getWriter().print(RequestBuilderTestConstants.SERVLET_POST_RESPONSE);
         response.setStatus(HttpServletResponse.SC_OK);
+      } else if (request.getPathInfo().equals("/sendBinaryRequest")) {
+        // echoes the request body
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        InputStream in = request.getInputStream();
+        byte[] buffer = new byte[1024];
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+          body.write(buffer, 0, read);
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/octet-stream");
+        response.getOutputStream().write(body.toByteArray());
       } else {
         response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
       }
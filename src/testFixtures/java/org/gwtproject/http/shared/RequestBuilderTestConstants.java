@@ -22,4 +22,6 @@ public interface RequestBuilderTestConstants {
   // W3C's XMLHttpRequest requires it be the empty string
   String SERVLET_HEAD_RESPONSE = "";
   String SERVLET_PUT_RESPONSE = "put";
+  // number of times SERVLET_GET_RESPONSE is sent, one at a time, by the streaming servlet
+  int SERVLET_STREAMING_CHUNKS = 5;
 }